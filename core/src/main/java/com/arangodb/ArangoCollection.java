@@ -887,6 +887,16 @@ public interface ArangoCollection extends ArangoSerdeAccessor {
      */
     ShardEntity getResponsibleShard(final Object value);
 
+    /**
+     * Returns the ids of the shards of the collection.
+     * Please note that this API is only meaningful and available on a cluster coordinator.
+     *
+     * @return the shard ids
+     * @see <a href="https://docs.arangodb.com/stable/develop/http-api/collections/#get-the-shard-ids-of-a-collection">
+     * API Documentation</a>
+     */
+    Collection<String> getShards();
+
     /**
      * Retrieve the collections revision
      *
@@ -407,6 +407,11 @@ public interface ArangoCollectionAsync extends ArangoSerdeAccessor {
      */
     CompletableFuture<ShardEntity> getResponsibleShard(final Object value);
 
+    /**
+     * Asynchronous version of {@link ArangoCollection#getShards()}
+     */
+    CompletableFuture<Collection<String>> getShards();
+
     /**
      * Asynchronous version of {@link ArangoCollection#getRevision()}
      */
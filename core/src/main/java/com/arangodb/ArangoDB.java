@@ -553,7 +553,8 @@ public interface ArangoDB extends ArangoSerdeAccessor {
         /**
          * Set the keep-alive interval for VST connections. If set, every VST connection will perform a no-op request
          * every {@code keepAliveInterval} seconds, to avoid to be closed due to inactivity by the server (or by the
-         * external environment, eg. firewall, intermediate routers, operating system).
+         * external environment, eg. firewall, intermediate routers, operating system). Connections that carried other
+         * traffic during the last interval skip the keep-alive request.
          *
          * @param keepAliveInterval interval in seconds
          * @return {@link ArangoDB.Builder}
@@ -563,6 +564,33 @@ public interface ArangoDB extends ArangoSerdeAccessor {
             return this;
         }
 
+        /**
+         * Sets the maximum number of in-flight messages per connection when {@link Protocol#VST} is used. Requests are
+         * preferably sent over connections below this limit; when all the connections are full, requests wait in a
+         * bounded queue (see {@link #maxQueuedMessages(Integer)}) or are rejected with
+         * {@link ArangoDBBackpressureException}.
+         *
+         * @param maxInFlightMessages max number of in-flight messages per connection (default: unlimited)
+         * @return {@link ArangoDB.Builder}
+         */
+        public Builder maxInFlightMessages(final Integer maxInFlightMessages) {
+            config.setMaxInFlightMessages(maxInFlightMessages);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests per connection waiting for an in-flight slot when
+         * {@link Protocol#VST} is used and {@link #maxInFlightMessages(Integer)} is reached. Requests exceeding this
+         * limit are rejected with {@link ArangoDBBackpressureException}.
+         *
+         * @param maxQueuedMessages max number of queued requests per connection (default: {@code 0})
+         * @return {@link ArangoDB.Builder}
+         */
+        public Builder maxQueuedMessages(final Integer maxQueuedMessages) {
+            config.setMaxQueuedMessages(maxQueuedMessages);
+            return this;
+        }
+
         /**
          * Whether the driver should acquire a list of available coordinators in an ArangoDB cluster or a single
          * server with active failover. In case of Active-Failover deployment set to {@code true} to enable automatic
@@ -649,6 +677,23 @@ public interface ArangoDB extends ArangoSerdeAccessor {
             return this;
         }
 
+        /**
+         * Registers the Jackson Blackbird module, which binds POJO properties through generated lambdas instead of
+         * reflection, on the mapper of the internal serde and on the mapper of the user data serde, if it is Jackson
+         * based and created by a serde provider (i.e. not set with {@link Builder#serde(ArangoSerde)}).
+         * <p>
+         * The module ({@code com.fasterxml.jackson.module:jackson-module-blackbird}) must be available in the
+         * classpath. If it is not or it cannot be registered (e.g. in GraalVM native images or with the shaded driver),
+         * the default reflective databinding is used.
+         *
+         * @param jacksonBlackbird whether to register the Blackbird module (default: {@code false})
+         * @return {@link ArangoDB.Builder}
+         */
+        public Builder jacksonBlackbird(final Boolean jacksonBlackbird) {
+            config.setJacksonBlackbird(jacksonBlackbird);
+            return this;
+        }
+
         /**
          * Sets the downstream async executor that will be used to consume the responses of the async API, that are returned
          * as {@link java.util.concurrent.CompletableFuture}
@@ -701,6 +746,59 @@ public interface ArangoDB extends ArangoSerdeAccessor {
             return this;
         }
 
+        /**
+         * Sets the maximum number of bytes of the cursor batches that can be buffered, i.e. received and not
+         * consumed yet, by all the {@link ArangoCursor}s of this instance. Once the limit is reached, cursors stop
+         * requesting batches in advance (see {@link com.arangodb.model.AqlQueryOptions#prefetchBatches(Integer)})
+         * and fetch them only when needed. Receiving a batch larger than the limit fails with
+         * {@link ArangoDBException}. The size of a batch is the size of its response body. (default: {@code 0}, no
+         * limit)
+         * <p>
+         * The buffered bytes are exposed by {@link ArangoMetrics#getCursorBufferedBytes()}.
+         *
+         * @param maxBufferedBytes maximum number of buffered bytes
+         * @return {@link ArangoDB.Builder}
+         * @see com.arangodb.model.AqlQueryOptions#maxBufferedBytes(Long)
+         */
+        public Builder cursorMaxBufferedBytes(final Long maxBufferedBytes) {
+            config.setCursorMaxBufferedBytes(maxBufferedBytes);
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the client-side cache of query results, i.e. the total size of the cached response
+         * bodies. Once the limit is reached, the least recently used results are evicted. Only the queries enabling
+         * it with {@link com.arangodb.model.AqlQueryOptions#clientCacheTtl(Long)} are cached. (default: {@code 0},
+         * i.e. the cache is disabled)
+         * <p>
+         * The hits and misses of the cache are exposed by {@link ArangoMetrics#getClientCacheHits()} and
+         * {@link ArangoMetrics#getClientCacheMisses()}.
+         *
+         * @param maxBytes maximum size of the cached results
+         * @return {@link ArangoDB.Builder}
+         */
+        public Builder clientCacheMaxBytes(final Long maxBytes) {
+            config.setClientCacheMaxBytes(maxBytes);
+            return this;
+        }
+
+        /**
+         * Sets whether the creation site of the {@link ArangoCursor}s is captured. Cursors becoming unreachable
+         * without having been closed, while their server-side counterpart is open, are closed in the background and
+         * logged with a warning, which then includes the stack trace of their creation. Capturing it has a cost for
+         * every cursor, thus it should only be enabled to find the cursors that are not closed. (default:
+         * {@code false})
+         * <p>
+         * The cursors that are open are exposed by {@link ArangoMetrics#getOpenCursors()}.
+         *
+         * @param cursorStackTraces whether the creation site of the cursors is captured
+         * @return {@link ArangoDB.Builder}
+         */
+        public Builder cursorStackTraces(final Boolean cursorStackTraces) {
+            config.setCursorStackTraces(cursorStackTraces);
+            return this;
+        }
+
         /**
          * Configuration specific for {@link com.arangodb.internal.net.ProtocolProvider}.
          * @return {@link ArangoDB.Builder}
@@ -0,0 +1,19 @@
+package com.arangodb;
+
+/**
+ * Thrown when a request is rejected by the driver because all the connections to the target host reached the
+ * maximum number of in-flight messages and the queue of waiting requests is full. The request has not been sent to
+ * the server, so it is safe to retry it.
+ *
+ * @see ArangoDB.Builder#maxInFlightMessages(Integer)
+ * @see ArangoDB.Builder#maxQueuedMessages(Integer)
+ */
+public class ArangoDBBackpressureException extends ArangoDBException {
+
+    private static final long serialVersionUID = -2539467519312735372L;
+
+    public ArangoDBBackpressureException(final String message) {
+        super(message);
+    }
+
+}
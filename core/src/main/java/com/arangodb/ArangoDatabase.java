@@ -28,6 +28,8 @@ import com.arangodb.model.arangosearch.ArangoSearchCreateOptions;
 import com.arangodb.model.arangosearch.SearchAliasCreateOptions;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collection;
 import java.util.Map;
 
@@ -302,6 +304,58 @@ public interface ArangoDatabase extends ArangoSerdeAccessor {
      */
     <T> ArangoCursor<T> query(String query, Class<T> type);
 
+    /**
+     * Performs a database query using the given {@code query} and {@code bindVars}, then writes all its results to
+     * the output stream as a single JSON array, fetching the batches one after the other. The result documents are
+     * never deserialized: with {@link ContentType#JSON} the results of each batch are copied as they are received, with
+     * {@link ContentType#VPACK} they are converted to JSON one by one.
+     * <p>
+     * The cursor is closed once all its batches have been written or if writing fails.
+     *
+     * @param query    An AQL query string
+     * @param bindVars key/value pairs defining the variables to bind the query to
+     * @param options  Additional options that will be passed to the query API, can be null
+     * @param out      output stream to write the results to, neither flushed nor closed
+     * @return number of results written
+     * @see
+     * <a href="https://docs.arangodb.com/stable/develop/http-api/queries/aql-queries/#create-a-cursor">API
+     * Documentation</a>
+     */
+    long queryTo(String query, Map<String, Object> bindVars, AqlQueryOptions options, OutputStream out);
+
+    /**
+     * Performs a database query using the given {@code query} and {@code bindVars}, then writes all its results to
+     * the channel as a single JSON array, see {@link #queryTo(String, Map, AqlQueryOptions, OutputStream)}.
+     *
+     * @param query    An AQL query string
+     * @param bindVars key/value pairs defining the variables to bind the query to
+     * @param options  Additional options that will be passed to the query API, can be null
+     * @param channel  channel to write the results to, not closed
+     * @return number of results written
+     */
+    long queryTo(String query, Map<String, Object> bindVars, AqlQueryOptions options, WritableByteChannel channel);
+
+    /**
+     * Runs a read-only query once per shard of a collection, concurrently, and returns a cursor of all the results, in
+     * no particular order. Each run is restricted to a shard with {@link AqlQueryOptions#shardIds(String...)}, so that
+     * e.g. exporting a collection with {@code FOR d IN @@collection RETURN d} is spread across the DB servers.
+     * <p>
+     * At most {@code parallelism} queries are open at the same time. While a batch is being returned, the next batch
+     * of each open query is fetched in the background. The returned cursor has no id, count nor stats.
+     *
+     * @param collection  name of the collection whose shards are queried
+     * @param query       An AQL query string, reading only the shards of {@code collection} it is restricted to
+     * @param type        The type of the result (POJO or {@link com.arangodb.util.RawData})
+     * @param bindVars    key/value pairs defining the variables to bind the query to
+     * @param options     Additional options that will be passed to the query API, can be null
+     * @param parallelism maximum number of queries open at the same time
+     * @return cursor of the results
+     * @see <a href="https://docs.arangodb.com/stable/develop/http-api/collections/#get-the-shard-ids-of-a-collection">
+     * API Documentation</a>
+     */
+    <T> ArangoCursor<T> queryShards(String collection, String query, Class<T> type, Map<String, Object> bindVars,
+                                    AqlQueryOptions options, int parallelism);
+
     /**
      * Return an cursor from the given cursor-ID if still existing
      *
@@ -21,6 +21,8 @@
 package com.arangodb;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Interface for accessing metrics.
@@ -34,4 +36,35 @@ public interface ArangoMetrics {
      * @return queue time metrics
      */
     QueueTimeMetrics getQueueTime();
+
+    /**
+     * @return latency metrics of the currently pooled connections, across all the hosts
+     * @see ConnectionMetrics#getHost()
+     */
+    Collection<ConnectionMetrics> getConnections();
+
+    /**
+     * @return number of bytes of the batches received and not consumed yet by the {@link ArangoCursor}s
+     * @see ArangoDB.Builder#cursorMaxBufferedBytes(Long)
+     */
+    long getCursorBufferedBytes();
+
+    /**
+     * @return number of queries whose result has been returned from the client-side cache
+     * @see com.arangodb.model.AqlQueryOptions#clientCacheTtl(Long)
+     */
+    long getClientCacheHits();
+
+    /**
+     * @return number of queries enabling the client-side cache whose result has not been found in it
+     * @see com.arangodb.model.AqlQueryOptions#clientCacheTtl(Long)
+     */
+    long getClientCacheMisses();
+
+    /**
+     * @return number of {@link ArangoCursor}s per database whose server-side counterpart is open, i.e. that have been
+     * neither closed nor exhausted, nor closed in the background once unreachable
+     * @see ArangoDB.Builder#cursorStackTraces(Boolean)
+     */
+    Map<String, Long> getOpenCursors();
 }
@@ -0,0 +1,49 @@
+package com.arangodb;
+
+import com.arangodb.config.HostDescription;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Interface for accessing the latency metrics of a single connection. Currently only reported for
+ * {@link Protocol#VST} connections.
+ */
+@ThreadSafe
+public interface ConnectionMetrics {
+
+    /**
+     * @return the host of the connection
+     */
+    HostDescription getHost();
+
+    /**
+     * @return the name of the connection, unique within the driver instance
+     */
+    String getConnectionName();
+
+    /**
+     * @return time spent writing the request messages to the socket
+     */
+    LatencyHistogram getWriteLatency();
+
+    /**
+     * @return time from the beginning of the request write to the receipt of the first response chunk
+     */
+    LatencyHistogram getFirstChunkLatency();
+
+    /**
+     * @return time from the beginning of the request write to the complete reassembly of the response
+     */
+    LatencyHistogram getResponseLatency();
+
+    /**
+     * @return number of messages sent over the connection and still waiting for a response
+     */
+    int getInFlightMessages();
+
+    /**
+     * @return number of requests waiting for the number of in-flight messages to drop below the configured maximum
+     * @see ArangoDB.Builder#maxInFlightMessages(Integer)
+     */
+    int getQueuedMessages();
+}
@@ -0,0 +1,33 @@
+package com.arangodb;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Histogram of latency values, recorded with a relative error of at most 12.5%.
+ * All the values are expressed in seconds.
+ */
+@ThreadSafe
+public interface LatencyHistogram {
+
+    /**
+     * @return the number of recorded values
+     */
+    long getCount();
+
+    /**
+     * @return the average of the recorded values, 0.0 if no value has been recorded
+     */
+    double getAvg();
+
+    /**
+     * @return the maximum recorded value, 0.0 if no value has been recorded
+     */
+    double getMax();
+
+    /**
+     * @param percentile percentile between 0.0 and 100.0
+     * @return the value below which the given percentage of the recorded values fall, 0.0 if no value has been
+     * recorded
+     */
+    double getPercentile(double percentile);
+}
@@ -82,6 +82,14 @@ public interface ArangoConfigProperties {
         return Optional.empty();
     }
 
+    default Optional<Integer> getMaxInFlightMessages() {
+        return Optional.empty();
+    }
+
+    default Optional<Integer> getMaxQueuedMessages() {
+        return Optional.empty();
+    }
+
     default Optional<Boolean> getAcquireHostList() {
         return Optional.empty();
     }
@@ -110,8 +118,24 @@ public interface ArangoConfigProperties {
         return Optional.empty();
     }
 
+    default Optional<Long> getCursorMaxBufferedBytes() {
+        return Optional.empty();
+    }
+
+    default Optional<Long> getClientCacheMaxBytes() {
+        return Optional.empty();
+    }
+
+    default Optional<Boolean> getCursorStackTraces() {
+        return Optional.empty();
+    }
+
     default Optional<String> getSerdeProviderClass() {
         return Optional.empty();
     }
 
+    default Optional<Boolean> getJacksonBlackbird() {
+        return Optional.empty();
+    }
+
 }
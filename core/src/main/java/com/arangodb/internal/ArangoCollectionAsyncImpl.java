@@ -488,6 +488,11 @@ public class ArangoCollectionAsyncImpl extends InternalArangoCollection implemen
         return executorAsync().execute(() -> responsibleShardRequest(value), ShardEntity.class);
     }
 
+    @Override
+    public CompletableFuture<Collection<String>> getShards() {
+        return executorAsync().execute(this::getShardsRequest, getShardsResponseDeserializer());
+    }
+
     @Override
     public CompletableFuture<CollectionRevisionEntity> getRevision() {
         return executorAsync().execute(this::getRevisionRequest, CollectionRevisionEntity.class);
@@ -476,6 +476,11 @@ public class ArangoCollectionImpl extends InternalArangoCollection implements Ar
         return executorSync().execute(responsibleShardRequest(value), ShardEntity.class);
     }
 
+    @Override
+    public Collection<String> getShards() {
+        return executorSync().execute(getShardsRequest(), getShardsResponseDeserializer());
+    }
+
     @Override
     public CollectionRevisionEntity getRevision() {
         return executorSync().execute(getRevisionRequest(), CollectionRevisionEntity.class);
@@ -22,6 +22,8 @@ package com.arangodb.internal;
 
 import com.arangodb.entity.CursorEntity;
 
+import java.util.concurrent.CompletableFuture;
+
 
 /**
  * @author Mark Vollmary
@@ -30,6 +32,44 @@ public interface ArangoCursorExecute<T> {
 
     CursorEntity<T> next(String id, String nextBatchId);
 
+    /**
+     * Requests the next batch without waiting for it, used to prefetch batches. The default implementation fetches
+     * the batch synchronously.
+     */
+    default CompletableFuture<CursorEntity<T>> nextAsync(String id, String nextBatchId) {
+        final CompletableFuture<CursorEntity<T>> future = new CompletableFuture<>();
+        try {
+            future.complete(next(id, nextBatchId));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     void close(String id);
 
+    /**
+     * Invoked once all the documents of a batch have been returned. The default implementation does nothing.
+     *
+     * @param batch the consumed batch
+     * @param nanos time elapsed between receiving the batch and consuming its last document
+     */
+    default void consumed(CursorEntity<T> batch, long nanos) {
+    }
+
+    /**
+     * @param pending number of batches already requested in advance, including the received ones
+     * @return whether another batch can be requested in advance, {@code true} by default
+     */
+    default boolean mayPrefetch(int pending) {
+        return true;
+    }
+
+    /**
+     * Invoked when the cursor is closed, once the pending requests have completed. The default implementation does
+     * nothing.
+     */
+    default void closed() {
+    }
+
 }
@@ -35,7 +35,7 @@ import java.util.concurrent.CompletableFuture;
  */
 public class ArangoDBAsyncImpl extends InternalArangoDB implements ArangoDBAsync {
 
-    private final ArangoDB arangoDB;
+    private final ArangoDBImpl arangoDB;
 
     public ArangoDBAsyncImpl(final ArangoDBImpl arangoDB) {
         super(arangoDB);
@@ -64,7 +64,8 @@ public class ArangoDBAsyncImpl extends InternalArangoDB implements ArangoDBAsync
 
     @Override
     public ArangoMetrics metrics() {
-        return new ArangoMetricsImpl(executorAsync().getQueueTimeMetrics());
+        return new ArangoMetricsImpl(executorAsync().getQueueTimeMetrics(), executorAsync().getConnectionMetrics(),
+                arangoDB.cursorMemory(), arangoDB.clientCache(), arangoDB.cursorTracker());
     }
 
     @Override
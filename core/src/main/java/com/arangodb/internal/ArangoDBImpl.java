@@ -23,6 +23,10 @@ package com.arangodb.internal;
 import com.arangodb.*;
 import com.arangodb.entity.*;
 import com.arangodb.internal.config.ArangoConfig;
+import com.arangodb.internal.cursor.BatchSizeTuner;
+import com.arangodb.internal.cursor.ClientQueryCache;
+import com.arangodb.internal.cursor.CursorMemory;
+import com.arangodb.internal.cursor.CursorTracker;
 import com.arangodb.internal.net.CommunicationProtocol;
 import com.arangodb.internal.net.HostHandler;
 import com.arangodb.internal.serde.SerdeUtils;
@@ -41,12 +45,21 @@ public class ArangoDBImpl extends InternalArangoDB implements ArangoDB {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ArangoDBImpl.class);
     private final HostHandler hostHandler;
+    private final BatchSizeTuner batchSizeTuner = new BatchSizeTuner();
+    private final CursorMemory cursorMemory;
+    private final ClientQueryCache clientCache;
+    private final CursorTracker cursorTracker;
 
     public ArangoDBImpl(final ArangoConfig config,
                         final CommunicationProtocol protocol,
                         final HostHandler hostHandler) {
         super(protocol, config);
         this.hostHandler = hostHandler;
+        cursorMemory = CursorMemory.global(config.getCursorMaxBufferedBytes());
+        clientCache = new ClientQueryCache(config.getClientCacheMaxBytes());
+        executorSync().setClientCache(clientCache);
+        executorAsync().setClientCache(clientCache);
+        cursorTracker = new CursorTracker(config.getCursorStackTraces());
         LOGGER.debug("ArangoDB Client is ready to use");
     }
 
@@ -57,6 +70,7 @@ public class ArangoDBImpl extends InternalArangoDB implements ArangoDB {
 
     @Override
     public void shutdown() {
+        cursorTracker.shutdown();
         executorSync().disconnect();
     }
 
@@ -66,6 +80,22 @@ public class ArangoDBImpl extends InternalArangoDB implements ArangoDB {
         executorSync().setJwt(jwt);
     }
 
+    BatchSizeTuner batchSizeTuner() {
+        return batchSizeTuner;
+    }
+
+    CursorMemory cursorMemory() {
+        return cursorMemory;
+    }
+
+    ClientQueryCache clientCache() {
+        return clientCache;
+    }
+
+    CursorTracker cursorTracker() {
+        return cursorTracker;
+    }
+
     @Override
     public ArangoDatabase db() {
         return db(ArangoRequestParam.SYSTEM);
@@ -78,7 +108,8 @@ public class ArangoDBImpl extends InternalArangoDB implements ArangoDB {
 
     @Override
     public ArangoMetrics metrics() {
-        return new ArangoMetricsImpl(executorSync().getQueueTimeMetrics());
+        return new ArangoMetricsImpl(executorSync().getQueueTimeMetrics(), executorSync().getConnectionMetrics(),
+                cursorMemory, clientCache, cursorTracker);
     }
 
     @Override
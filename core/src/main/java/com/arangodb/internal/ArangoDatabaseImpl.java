@@ -23,15 +23,30 @@ package com.arangodb.internal;
 import com.arangodb.*;
 import com.arangodb.entity.*;
 import com.arangodb.entity.arangosearch.analyzer.SearchAnalyzer;
+import com.arangodb.internal.ArangoExecutor.ResponseDeserializer;
 import com.arangodb.internal.cursor.ArangoCursorImpl;
+import com.arangodb.internal.cursor.BatchSizeTuner;
+import com.arangodb.internal.cursor.ClientQueryCache;
+import com.arangodb.internal.cursor.CursorMemory;
+import com.arangodb.internal.cursor.CursorRetry;
+import com.arangodb.internal.cursor.MergedCursor;
 import com.arangodb.internal.net.HostHandle;
 import com.arangodb.model.*;
 import com.arangodb.model.arangosearch.AnalyzerDeleteOptions;
 import com.arangodb.model.arangosearch.ArangoSearchCreateOptions;
 import com.arangodb.model.arangosearch.SearchAliasCreateOptions;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.arangodb.internal.ArangoErrors.*;
 import static com.arangodb.internal.serde.SerdeUtils.constructListType;
@@ -42,7 +57,7 @@ import static com.arangodb.internal.serde.SerdeUtils.constructListType;
  */
 public class ArangoDatabaseImpl extends InternalArangoDatabase implements ArangoDatabase {
 
-    private final ArangoDB arangoDB;
+    private final ArangoDBImpl arangoDB;
 
     protected ArangoDatabaseImpl(final ArangoDBImpl arangoDB, final String name) {
         super(arangoDB, name);
@@ -163,10 +178,44 @@ public class ArangoDatabaseImpl extends InternalArangoDatabase implements Arango
     @Override
     public <T> ArangoCursor<T> query(
             final String query, final Class<T> type, final Map<String, Object> bindVars, final AqlQueryOptions options) {
-        final InternalRequest request = queryRequest(query, bindVars, options);
+        final BatchSizeTuner.Samples samples = options != null && Boolean.TRUE.equals(options.getAdaptiveBatchSize())
+                ? arangoDB.batchSizeTuner().samples(query) : null;
+        final Integer batchSize = samples != null ? samples.batchSize() : null;
+        final AqlQueryOptions opts = batchSize != null ? options.clone().batchSize(batchSize) : options;
+        final CursorMemory memory = cursorMemory(opts);
+        final InternalRequest request = queryRequest(query, bindVars, opts);
         final HostHandle hostHandle = new HostHandle();
-        final CursorEntity<T> result = executorSync().execute(request, cursorEntityDeserializer(type), hostHandle);
-        return createCursor(result, type, options, hostHandle);
+        final ResponseDeserializer<CursorEntity<T>> deserializer =
+                received(cursorEntityDeserializer(type, isLazy(opts)), samples, memory, -1L,
+                        id -> closeCursor(id, opts, hostHandle));
+        final ClientQueryCache.Lookup lookup = opts != null
+                ? arangoDB.clientCache().lookup(request, opts.getClientCacheTtl(), opts.getClientCacheCollections())
+                : null;
+        final InternalResponse cached = lookup != null ? lookup.get() : null;
+        final CursorEntity<T> result;
+        if (cached != null) {
+            result = RequestContextHolder.INSTANCE.runWithCtx(new RequestContextImpl(request), () ->
+                    deserializer.deserialize(cached));
+        } else {
+            result = executorSync().execute(request, lookup != null ? caching(deserializer, lookup) : deserializer,
+                    hostHandle);
+        }
+        return createCursor(result, type, opts, hostHandle, samples, memory);
+    }
+
+    /**
+     * Caches the response of the query if its result is complete.
+     */
+    private static <T> ResponseDeserializer<CursorEntity<T>> caching(
+            final ResponseDeserializer<CursorEntity<T>> deserializer,
+            final ClientQueryCache.Lookup lookup) {
+        return response -> {
+            final CursorEntity<T> result = deserializer.deserialize(response);
+            if (!Boolean.TRUE.equals(result.getHasMore()) && result.getId() == null) {
+                lookup.put(response);
+            }
+            return result;
+        };
     }
 
     @Override
@@ -202,40 +251,249 @@ public class ArangoDatabaseImpl extends InternalArangoDatabase implements Arango
     @Override
     public <T> ArangoCursor<T> cursor(final String cursorId, final Class<T> type, final String nextBatchId, final AqlQueryOptions options) {
         options.allowRetry(nextBatchId != null);
+        final CursorMemory memory = cursorMemory(options);
         HostHandle hostHandle = new HostHandle();
         CursorEntity<T> result = executorSync().execute(
                 queryNextRequest(cursorId, options, nextBatchId),
-                cursorEntityDeserializer(type),
+                received(cursorEntityDeserializer(type, isLazy(options)), null, memory, -1L, null),
                 hostHandle);
-        return createCursor(result, type, options, hostHandle);
+        return createCursor(result, type, options, hostHandle, null, memory);
     }
 
     private <T> ArangoCursor<T> createCursor(
             final CursorEntity<T> result,
             final Class<T> type,
             final AqlQueryOptions opts,
-            final HostHandle hostHandle) {
+            final HostHandle hostHandle,
+            final BatchSizeTuner.Samples samples,
+            final CursorMemory memory) {
         AqlQueryOptions options = opts != null ? opts : new AqlQueryOptions();
+        final ArangoCursorImpl<T> cursor = new ArangoCursorImpl<>(
+                cursorExecute(type, options, hostHandle, samples, memory), type, result,
+                options.getAllowRetry(), options.getPrefetchBatches());
+        cursor.track(arangoDB.cursorTracker(), name());
+        return cursor;
+    }
 
-        final ArangoCursorExecute<T> execute = new ArangoCursorExecute<T>() {
+    private CursorMemory cursorMemory(final AqlQueryOptions options) {
+        return arangoDB.cursorMemory().cursor(options != null ? options.getMaxBufferedBytes() : null);
+    }
+
+    /**
+     * @param samples measurements of the batches, updated if not {@code null}
+     * @param memory  accounting of the buffered batches, updated if not {@code null}
+     */
+    private <T> ArangoCursorExecute<T> cursorExecute(
+            final Class<T> type,
+            final AqlQueryOptions options,
+            final HostHandle hostHandle,
+            final BatchSizeTuner.Samples samples,
+            final CursorMemory memory) {
+        final CursorRetry retry = options != null
+                ? CursorRetry.of(options.getAllowRetry(), options.getRetryTimeout())
+                : null;
+        return new ArangoCursorExecute<T>() {
             @Override
             public CursorEntity<T> next(final String id, final String nextBatchId) {
-                return executorSync().execute(queryNextRequest(id, options, nextBatchId), cursorEntityDeserializer(type), hostHandle);
+                if (retry == null) {
+                    return fetch(id, nextBatchId);
+                }
+                return retry.execute(hostHandle, () -> fetch(id, nextBatchId));
+            }
+
+            private CursorEntity<T> fetch(final String id, final String nextBatchId) {
+                return executorSync().execute(queryNextRequest(id, options, nextBatchId),
+                        received(cursorEntityDeserializer(type, isLazy(options)), samples, memory,
+                                System.nanoTime(), null), hostHandle);
+            }
+
+            @Override
+            public CompletableFuture<CursorEntity<T>> nextAsync(final String id, final String nextBatchId) {
+                if (retry == null) {
+                    return fetchAsync(id, nextBatchId);
+                }
+                return retry.executeAsync(hostHandle, () -> fetchAsync(id, nextBatchId));
+            }
+
+            private CompletableFuture<CursorEntity<T>> fetchAsync(final String id, final String nextBatchId) {
+                return executorAsync().execute(() -> queryNextRequest(id, options, nextBatchId),
+                        received(cursorEntityDeserializer(type, isLazy(options)), samples, memory,
+                                System.nanoTime(), null), hostHandle);
+            }
+
+            @Override
+            public void consumed(final CursorEntity<T> batch, final long nanos) {
+                if (samples != null) {
+                    samples.consumed(batch.getResult().size(), nanos);
+                }
+                if (memory != null) {
+                    memory.consumed();
+                }
+            }
+
+            @Override
+            public boolean mayPrefetch(final int pending) {
+                return memory == null || memory.hasRoom(pending);
+            }
+
+            @Override
+            public void closed() {
+                if (memory != null) {
+                    memory.closed();
+                }
             }
 
             @Override
             public void close(final String id) {
+                closeCursor(id, options, hostHandle);
+            }
+        };
+    }
+
+    private void closeCursor(final String id, final AqlQueryOptions options, final HostHandle hostHandle) {
+        try {
+            executorSync().execute(queryCloseRequest(id, options), Void.class, hostHandle);
+        } catch (final ArangoDBException e) {
+            // ignore errors Response: 404, Error: 1600 - cursor not found
+            if (!matches(e, 404, 1600)) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public long queryTo(final String query, final Map<String, Object> bindVars, final AqlQueryOptions options,
+                        final OutputStream out) {
+        final AqlQueryOptions opts = options != null ? options : new AqlQueryOptions();
+        final HostHandle hostHandle = new HostHandle();
+        final CursorRetry retry = CursorRetry.of(opts.getAllowRetry(), opts.getRetryTimeout());
+        final ResponseDeserializer<InternalResponse> raw = response -> response;
+        InternalResponse response = executorSync().execute(queryRequest(query, bindVars, opts), raw, hostHandle);
+        long count = 0;
+        String id = null;
+        boolean hasMore = true;
+        RuntimeException failure = null;
+        try {
+            out.write('[');
+            while (hasMore) {
+                final byte[] body = response.getBody();
+                // read before writing the elements, which the server sends first, so that the cursor can be closed
+                // if writing them fails
+                id = getSerde().deserialize(body, "/id", String.class);
+                hasMore = Boolean.TRUE.equals(getSerde().deserialize(body, "/hasMore", Boolean.class));
+                final String nextBatchId = getSerde().deserialize(body, "/nextBatchId", String.class);
+                count += getSerde().writeJsonElements(body, "result", out, count > 0,
+                        JsonNodeFactory.instance.objectNode());
+                if (hasMore) {
+                    final InternalRequest next = queryNextRequest(id, opts, nextBatchId);
+                    response = retry != null
+                            ? retry.execute(hostHandle, () -> executorSync().execute(next, raw, hostHandle))
+                            : executorSync().execute(next, raw, hostHandle);
+                }
+            }
+            out.write(']');
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof RuntimeException ? (RuntimeException) e : ArangoDBException.of(e);
+            throw failure;
+        } finally {
+            // cursors of retryable queries are kept by the server until closed
+            if (id != null && (hasMore || Boolean.TRUE.equals(opts.getAllowRetry()))) {
                 try {
-                    executorSync().execute(queryCloseRequest(id, options), Void.class, hostHandle);
-                } catch (final ArangoDBException e) {
-                    // ignore errors Response: 404, Error: 1600 - cursor not found
-                    if (!matches(e, 404, 1600)) {
-                        throw e;
+                    closeCursor(id, opts, hostHandle);
+                } catch (ArangoDBException closeFailure) {
+                    if (failure == null) {
+                        throw closeFailure;
                     }
+                    failure.addSuppressed(closeFailure);
                 }
             }
+        }
+        return count;
+    }
+
+    @Override
+    public long queryTo(final String query, final Map<String, Object> bindVars, final AqlQueryOptions options,
+                        final WritableByteChannel channel) {
+        return queryTo(query, bindVars, options, Channels.newOutputStream(channel));
+    }
+
+    @Override
+    public <T> ArangoCursor<T> queryShards(
+            final String collection, final String query, final Class<T> type, final Map<String, Object> bindVars,
+            final AqlQueryOptions options, final int parallelism) {
+        final AqlQueryOptions opts = options != null ? options : new AqlQueryOptions();
+        final List<MergedCursor.Source<T>> sources = new ArrayList<>();
+        for (String shard : collection(collection).getShards()) {
+            final AqlQueryOptions shardOptions = opts.clone().shardIds(shard);
+            final HostHandle hostHandle = new HostHandle();
+            sources.add(new MergedCursor.Source<>(
+                    () -> executorAsync().execute(() -> queryRequest(query, bindVars, shardOptions),
+                            cursorEntityDeserializer(type, isLazy(shardOptions)), hostHandle),
+                    cursorExecute(type, shardOptions, hostHandle, null, null)));
+        }
+        return new MergedCursor<>(type, sources, parallelism, opts.getAllowRetry());
+    }
+
+    /**
+     * @param start time the request was sent at, or a negative value if the fetch time should not be measured
+     * @param close closes the cursor of the response if its batch exceeds the memory limit, when the cursor would
+     *              not be returned to anyone able to close it, or {@code null}
+     */
+    private <T> ResponseDeserializer<CursorEntity<T>> received(
+            final ResponseDeserializer<CursorEntity<T>> deserializer,
+            final BatchSizeTuner.Samples samples,
+            final CursorMemory memory,
+            final long start,
+            final Consumer<String> close) {
+        if (samples == null && memory == null) {
+            return deserializer;
+        }
+        return response -> {
+            final byte[] body = response.getBody();
+            final int bytes = body != null ? body.length : 0;
+            if (memory != null) {
+                try {
+                    // accounted before deserializing, so that a batch over the limit is never materialized
+                    memory.received(bytes);
+                } catch (ArangoDBException e) {
+                    if (close != null && body != null) {
+                        closeOverLimit(body, close, e);
+                    }
+                    throw e;
+                }
+            }
+            final CursorEntity<T> result;
+            try {
+                result = deserializer.deserialize(response);
+            } catch (RuntimeException e) {
+                if (memory != null) {
+                    memory.consumed();
+                }
+                throw e;
+            }
+            if (samples != null) {
+                samples.fetched(result.getResult().size(), bytes, start >= 0 ? System.nanoTime() - start : -1L);
+            }
+            return result;
         };
-        return new ArangoCursorImpl<>(execute, type, result, options.getAllowRetry());
+    }
+
+    /**
+     * Closes the cursor of a batch rejected by the memory limit, reading only its id from the response body.
+     */
+    private void closeOverLimit(final byte[] body, final Consumer<String> close, final ArangoDBException failure) {
+        try {
+            final String id = getSerde().deserialize(body, "/id", String.class);
+            if (id != null) {
+                close.accept(id);
+            }
+        } catch (ArangoDBException closeFailure) {
+            failure.addSuppressed(closeFailure);
+        }
+    }
+
+    private static boolean isLazy(final AqlQueryOptions options) {
+        return options != null && Boolean.TRUE.equals(options.getLazyBatches());
     }
 
     @Override
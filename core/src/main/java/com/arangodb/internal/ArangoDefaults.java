@@ -50,10 +50,12 @@ public final class ArangoDefaults {
     public static final Boolean DEFAULT_USE_SSL = false;
     public static final Boolean DEFAULT_VERIFY_HOST = true;
     public static final Integer DEFAULT_CHUNK_SIZE = 30_000;
+    public static final Integer DEFAULT_MAX_QUEUED_MESSAGES = 0;
     public static final Boolean DEFAULT_ACQUIRE_HOST_LIST = false;
     public static final Integer DEFAULT_ACQUIRE_HOST_LIST_INTERVAL = 60 * 60 * 1000; // hour
     public static final LoadBalancingStrategy DEFAULT_LOAD_BALANCING_STRATEGY = LoadBalancingStrategy.NONE;
     public static final Integer DEFAULT_RESPONSE_QUEUE_TIME_SAMPLES = 10;
+    public static final Boolean DEFAULT_JACKSON_BLACKBIRD = false;
 
     // region compression
     public static final Compression DEFAULT_COMPRESSION = Compression.NONE;
@@ -61,6 +63,12 @@ public final class ArangoDefaults {
     public static final Integer DEFAULT_COMPRESSION_LEVEL = 6;
     // endregion
 
+    // region cursors
+    public static final Long DEFAULT_CURSOR_MAX_BUFFERED_BYTES = 0L;
+    public static final Long DEFAULT_CLIENT_CACHE_MAX_BYTES = 0L;
+    public static final Boolean DEFAULT_CURSOR_STACK_TRACES = false;
+    // endregion
+
     private ArangoDefaults() {
         super();
     }
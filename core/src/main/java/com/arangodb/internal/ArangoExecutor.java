@@ -23,6 +23,7 @@ package com.arangodb.internal;
 import com.arangodb.ArangoDBException;
 import com.arangodb.QueueTimeMetrics;
 import com.arangodb.internal.config.ArangoConfig;
+import com.arangodb.internal.cursor.ClientQueryCache;
 import com.arangodb.internal.net.CommunicationProtocol;
 import com.arangodb.internal.serde.InternalSerde;
 
@@ -36,12 +37,15 @@ public abstract class ArangoExecutor {
 
     protected final CommunicationProtocol protocol;
     private final QueueTimeMetricsImpl qtMetrics;
+    private final ConnectionMetricsRegistry connectionMetrics;
     private final InternalSerde serde;
     private final String timeoutS;
+    private volatile ClientQueryCache clientCache;
 
     protected ArangoExecutor(final CommunicationProtocol protocol, final ArangoConfig config ) {
         this.protocol = protocol;
         qtMetrics = new QueueTimeMetricsImpl(config.getResponseQueueTimeSamples());
+        connectionMetrics = config.getConnectionMetrics();
         serde = config.getInternalSerde();
         timeoutS = config.getTimeout() >= 1000 ? Integer.toString(config.getTimeout() / 1000) : null;
     }
@@ -71,13 +75,33 @@ public abstract class ArangoExecutor {
 
     protected final InternalRequest interceptRequest(InternalRequest request) {
         request.putHeaderParam("x-arango-queue-time-seconds", timeoutS);
+        interceptWrite(request);
         return request;
     }
 
+    /**
+     * Invalidates the cached query results depending on the collection written by the request, if any. Called both
+     * when the request is sent and when it is completed.
+     */
+    protected final void interceptWrite(InternalRequest request) {
+        final ClientQueryCache cache = clientCache;
+        if (cache != null) {
+            cache.written(request);
+        }
+    }
+
+    public void setClientCache(ClientQueryCache clientCache) {
+        this.clientCache = clientCache;
+    }
+
     public QueueTimeMetrics getQueueTimeMetrics() {
         return qtMetrics;
     }
 
+    public ConnectionMetricsRegistry getConnectionMetrics() {
+        return connectionMetrics;
+    }
+
     public interface ResponseDeserializer<T> {
         T deserialize(InternalResponse response);
     }
@@ -65,6 +65,7 @@ public class ArangoExecutorAsync extends ArangoExecutor {
                 .thenApply(Supplier::get)
                 .thenCompose(request -> protocol
                         .executeAsync(interceptRequest(request), hostHandle)
+                        .whenComplete((resp, e) -> interceptWrite(request))
                         .thenApply(resp -> new ResponseWithRequest(resp, new RequestContextImpl(request)))
                 )
                 .handle((r, e) -> {
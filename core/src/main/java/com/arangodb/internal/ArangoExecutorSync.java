@@ -52,7 +52,12 @@ public class ArangoExecutorSync extends ArangoExecutor {
             final ResponseDeserializer<T> responseDeserializer,
             final HostHandle hostHandle) {
 
-        final InternalResponse response = protocol.execute(interceptRequest(request), hostHandle);
+        final InternalResponse response;
+        try {
+            response = protocol.execute(interceptRequest(request), hostHandle);
+        } finally {
+            interceptWrite(request);
+        }
         interceptResponse(response);
         return RequestContextHolder.INSTANCE.runWithCtx(new RequestContextImpl(request), () ->
                 responseDeserializer.deserialize(response));
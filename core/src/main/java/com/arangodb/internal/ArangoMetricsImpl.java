@@ -21,7 +21,14 @@
 package com.arangodb.internal;
 
 import com.arangodb.ArangoMetrics;
+import com.arangodb.ConnectionMetrics;
 import com.arangodb.QueueTimeMetrics;
+import com.arangodb.internal.cursor.ClientQueryCache;
+import com.arangodb.internal.cursor.CursorMemory;
+import com.arangodb.internal.cursor.CursorTracker;
+
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * @author Michele Rastelli
@@ -29,9 +36,18 @@ import com.arangodb.QueueTimeMetrics;
 public class ArangoMetricsImpl implements ArangoMetrics {
 
     private final QueueTimeMetrics queueTimeMetrics;
+    private final ConnectionMetricsRegistry connectionMetrics;
+    private final CursorMemory cursorMemory;
+    private final ClientQueryCache clientCache;
+    private final CursorTracker cursorTracker;
 
-    public ArangoMetricsImpl(QueueTimeMetrics queueTimeMetrics) {
+    public ArangoMetricsImpl(QueueTimeMetrics queueTimeMetrics, ConnectionMetricsRegistry connectionMetrics,
+                             CursorMemory cursorMemory, ClientQueryCache clientCache, CursorTracker cursorTracker) {
         this.queueTimeMetrics = queueTimeMetrics;
+        this.connectionMetrics = connectionMetrics;
+        this.cursorMemory = cursorMemory;
+        this.clientCache = clientCache;
+        this.cursorTracker = cursorTracker;
     }
 
     @Override
@@ -39,4 +55,29 @@ public class ArangoMetricsImpl implements ArangoMetrics {
         return queueTimeMetrics;
     }
 
+    @Override
+    public Collection<ConnectionMetrics> getConnections() {
+        return connectionMetrics.getConnections();
+    }
+
+    @Override
+    public long getCursorBufferedBytes() {
+        return cursorMemory.getBuffered();
+    }
+
+    @Override
+    public long getClientCacheHits() {
+        return clientCache.getHits();
+    }
+
+    @Override
+    public long getClientCacheMisses() {
+        return clientCache.getMisses();
+    }
+
+    @Override
+    public Map<String, Long> getOpenCursors() {
+        return cursorTracker.getOpenCursors();
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.arangodb.internal;
+
+import com.arangodb.ConnectionMetrics;
+import com.arangodb.LatencyHistogram;
+import com.arangodb.config.HostDescription;
+
+import java.util.function.IntSupplier;
+
+public class ConnectionMetricsImpl implements ConnectionMetrics {
+    private final HostDescription host;
+    private final String connectionName;
+    private final LatencyHistogramImpl writeLatency = new LatencyHistogramImpl();
+    private final LatencyHistogramImpl firstChunkLatency = new LatencyHistogramImpl();
+    private final LatencyHistogramImpl responseLatency = new LatencyHistogramImpl();
+    private volatile IntSupplier inFlightMessages = () -> 0;
+    private volatile IntSupplier queuedMessages = () -> 0;
+
+    public ConnectionMetricsImpl(final HostDescription host, final String connectionName) {
+        this.host = host;
+        this.connectionName = connectionName;
+    }
+
+    @Override
+    public HostDescription getHost() {
+        return host;
+    }
+
+    @Override
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    @Override
+    public LatencyHistogram getWriteLatency() {
+        return writeLatency;
+    }
+
+    @Override
+    public LatencyHistogram getFirstChunkLatency() {
+        return firstChunkLatency;
+    }
+
+    @Override
+    public LatencyHistogram getResponseLatency() {
+        return responseLatency;
+    }
+
+    @Override
+    public int getInFlightMessages() {
+        return inFlightMessages.getAsInt();
+    }
+
+    @Override
+    public int getQueuedMessages() {
+        return queuedMessages.getAsInt();
+    }
+
+    public void setInFlightMessages(final IntSupplier inFlightMessages) {
+        this.inFlightMessages = inFlightMessages;
+    }
+
+    public void setQueuedMessages(final IntSupplier queuedMessages) {
+        this.queuedMessages = queuedMessages;
+    }
+
+    public void recordWrite(final long nanos) {
+        writeLatency.record(nanos);
+    }
+
+    public void recordFirstChunk(final long nanos) {
+        firstChunkLatency.record(nanos);
+    }
+
+    public void recordResponse(final long nanos) {
+        responseLatency.record(nanos);
+    }
+}
@@ -0,0 +1,34 @@
+package com.arangodb.internal;
+
+import com.arangodb.ConnectionMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of the open connections of a driver instance.
+ */
+public class ConnectionMetricsRegistry {
+    private final Map<String, ConnectionMetricsImpl> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the metrics of a connection, once opened.
+     */
+    public void register(final ConnectionMetricsImpl metrics) {
+        connections.put(metrics.getConnectionName(), metrics);
+    }
+
+    /**
+     * Unregisters the metrics of a connection, once closed.
+     */
+    public void unregister(final ConnectionMetricsImpl metrics) {
+        connections.remove(metrics.getConnectionName(), metrics);
+    }
+
+    public Collection<ConnectionMetrics> getConnections() {
+        return Collections.unmodifiableCollection(new ArrayList<>(connections.values()));
+    }
+}
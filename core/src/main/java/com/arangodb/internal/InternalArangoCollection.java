@@ -29,11 +29,10 @@ import com.arangodb.model.*;
 import com.arangodb.util.RawData;
 import com.fasterxml.jackson.databind.JsonNode;
 
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
+import static com.arangodb.internal.serde.SerdeUtils.constructListType;
 import static com.arangodb.internal.serde.SerdeUtils.constructParametricType;
 
 /**
@@ -110,30 +109,8 @@ public abstract class InternalArangoCollection extends ArangoExecuteable {
     }
 
     protected <T> ResponseDeserializer<MultiDocumentEntity<DocumentCreateEntity<T>>> insertDocumentsResponseDeserializer(Class<T> userDataClass) {
-        return (response) -> {
-            final MultiDocumentEntity<DocumentCreateEntity<T>> multiDocument = new MultiDocumentEntity<>();
-            final List<DocumentCreateEntity<T>> docs = new ArrayList<>();
-            final List<ErrorEntity> errors = new ArrayList<>();
-            final List<Object> documentsAndErrors = new ArrayList<>();
-            final JsonNode body = getSerde().parse(response.getBody());
-            for (final JsonNode next : body) {
-                JsonNode isError = next.get(ArangoResponseField.ERROR_FIELD_NAME);
-                if (isError != null && isError.booleanValue()) {
-                    final ErrorEntity error = getSerde().deserialize(next, ErrorEntity.class);
-                    errors.add(error);
-                    documentsAndErrors.add(error);
-                } else {
-                    Type type = constructParametricType(DocumentCreateEntity.class, userDataClass);
-                    final DocumentCreateEntity<T> doc = getSerde().deserialize(next, type);
-                    docs.add(doc);
-                    documentsAndErrors.add(doc);
-                }
-            }
-            multiDocument.setDocuments(docs);
-            multiDocument.setErrors(errors);
-            multiDocument.setDocumentsAndErrors(documentsAndErrors);
-            return multiDocument;
-        };
+        return (response) -> getSerde().deserializeMultiDocument(response.getBody(),
+                constructParametricType(DocumentCreateEntity.class, userDataClass), false);
     }
 
     protected InternalRequest importDocumentsRequest(final RawData values, final DocumentImportOptions options) {
@@ -187,28 +164,10 @@ public abstract class InternalArangoCollection extends ArangoExecuteable {
     protected <T> ResponseDeserializer<MultiDocumentEntity<T>> getDocumentsResponseDeserializer(
             final Class<T> type) {
         return (response) -> {
-            final MultiDocumentEntity<T> multiDocument = new MultiDocumentEntity<>();
+            final MultiDocumentEntity<T> multiDocument =
+                    getSerde().deserializeMultiDocument(response.getBody(), type, true);
             boolean potentialDirtyRead = Boolean.parseBoolean(response.getMeta("X-Arango-Potential-Dirty-Read"));
             multiDocument.setPotentialDirtyRead(potentialDirtyRead);
-            final List<T> docs = new ArrayList<>();
-            final List<ErrorEntity> errors = new ArrayList<>();
-            final List<Object> documentsAndErrors = new ArrayList<>();
-            final JsonNode body = getSerde().parse(response.getBody());
-            for (final JsonNode next : body) {
-                JsonNode isError = next.get(ArangoResponseField.ERROR_FIELD_NAME);
-                if (isError != null && isError.booleanValue()) {
-                    final ErrorEntity error = getSerde().deserialize(next, ErrorEntity.class);
-                    errors.add(error);
-                    documentsAndErrors.add(error);
-                } else {
-                    final T doc = getSerde().deserializeUserData(getSerde().serialize(next), type);
-                    docs.add(doc);
-                    documentsAndErrors.add(doc);
-                }
-            }
-            multiDocument.setDocuments(docs);
-            multiDocument.setErrors(errors);
-            multiDocument.setDocumentsAndErrors(documentsAndErrors);
             return multiDocument;
         };
     }
@@ -249,30 +208,8 @@ public abstract class InternalArangoCollection extends ArangoExecuteable {
 
     protected <T> ResponseDeserializer<MultiDocumentEntity<DocumentUpdateEntity<T>>> replaceDocumentsResponseDeserializer(
             final Class<T> returnType) {
-        return (response) -> {
-            final MultiDocumentEntity<DocumentUpdateEntity<T>> multiDocument = new MultiDocumentEntity<>();
-            final List<DocumentUpdateEntity<T>> docs = new ArrayList<>();
-            final List<ErrorEntity> errors = new ArrayList<>();
-            final List<Object> documentsAndErrors = new ArrayList<>();
-            final JsonNode body = getSerde().parse(response.getBody());
-            for (final JsonNode next : body) {
-                JsonNode isError = next.get(ArangoResponseField.ERROR_FIELD_NAME);
-                if (isError != null && isError.booleanValue()) {
-                    final ErrorEntity error = getSerde().deserialize(next, ErrorEntity.class);
-                    errors.add(error);
-                    documentsAndErrors.add(error);
-                } else {
-                    Type type = constructParametricType(DocumentUpdateEntity.class, returnType);
-                    final DocumentUpdateEntity<T> doc = getSerde().deserialize(next, type);
-                    docs.add(doc);
-                    documentsAndErrors.add(doc);
-                }
-            }
-            multiDocument.setDocuments(docs);
-            multiDocument.setErrors(errors);
-            multiDocument.setDocumentsAndErrors(documentsAndErrors);
-            return multiDocument;
-        };
+        return (response) -> getSerde().deserializeMultiDocument(response.getBody(),
+                constructParametricType(DocumentUpdateEntity.class, returnType), false);
     }
 
     protected <T> InternalRequest updateDocumentRequest(final String key, final T value, final DocumentUpdateOptions options) {
@@ -312,30 +249,8 @@ public abstract class InternalArangoCollection extends ArangoExecuteable {
 
     protected <T> ResponseDeserializer<MultiDocumentEntity<DocumentUpdateEntity<T>>> updateDocumentsResponseDeserializer(
             final Class<T> returnType) {
-        return (response) -> {
-            final MultiDocumentEntity<DocumentUpdateEntity<T>> multiDocument = new MultiDocumentEntity<>();
-            final List<DocumentUpdateEntity<T>> docs = new ArrayList<>();
-            final List<ErrorEntity> errors = new ArrayList<>();
-            final List<Object> documentsAndErrors = new ArrayList<>();
-            final JsonNode body = getSerde().parse(response.getBody());
-            for (final JsonNode next : body) {
-                JsonNode isError = next.get(ArangoResponseField.ERROR_FIELD_NAME);
-                if (isError != null && isError.booleanValue()) {
-                    final ErrorEntity error = getSerde().deserialize(next, ErrorEntity.class);
-                    errors.add(error);
-                    documentsAndErrors.add(error);
-                } else {
-                    Type type = constructParametricType(DocumentUpdateEntity.class, returnType);
-                    final DocumentUpdateEntity<T> doc = getSerde().deserialize(next, type);
-                    docs.add(doc);
-                    documentsAndErrors.add(doc);
-                }
-            }
-            multiDocument.setDocuments(docs);
-            multiDocument.setErrors(errors);
-            multiDocument.setDocumentsAndErrors(documentsAndErrors);
-            return multiDocument;
-        };
+        return (response) -> getSerde().deserializeMultiDocument(response.getBody(),
+                constructParametricType(DocumentUpdateEntity.class, returnType), false);
     }
 
     protected InternalRequest deleteDocumentRequest(final String key, final DocumentDeleteOptions options) {
@@ -369,30 +284,8 @@ public abstract class InternalArangoCollection extends ArangoExecuteable {
 
     protected <T> ResponseDeserializer<MultiDocumentEntity<DocumentDeleteEntity<T>>> deleteDocumentsResponseDeserializer(
             final Class<T> userDataClass) {
-        return (response) -> {
-            final MultiDocumentEntity<DocumentDeleteEntity<T>> multiDocument = new MultiDocumentEntity<>();
-            final List<DocumentDeleteEntity<T>> docs = new ArrayList<>();
-            final List<ErrorEntity> errors = new ArrayList<>();
-            final List<Object> documentsAndErrors = new ArrayList<>();
-            final JsonNode body = getSerde().parse(response.getBody());
-            for (final JsonNode next : body) {
-                JsonNode isError = next.get(ArangoResponseField.ERROR_FIELD_NAME);
-                if (isError != null && isError.booleanValue()) {
-                    final ErrorEntity error = getSerde().deserialize(next, ErrorEntity.class);
-                    errors.add(error);
-                    documentsAndErrors.add(error);
-                } else {
-                    Type type = constructParametricType(DocumentDeleteEntity.class, userDataClass);
-                    final DocumentDeleteEntity<T> doc = getSerde().deserialize(next, type);
-                    docs.add(doc);
-                    documentsAndErrors.add(doc);
-                }
-            }
-            multiDocument.setDocuments(docs);
-            multiDocument.setErrors(errors);
-            multiDocument.setDocumentsAndErrors(documentsAndErrors);
-            return multiDocument;
-        };
+        return (response) -> getSerde().deserializeMultiDocument(response.getBody(),
+                constructParametricType(DocumentDeleteEntity.class, userDataClass), false);
     }
 
     protected InternalRequest documentExistsRequest(final String key, final DocumentExistsOptions options) {
@@ -563,6 +456,15 @@ public abstract class InternalArangoCollection extends ArangoExecuteable {
         return request;
     }
 
+    protected InternalRequest getShardsRequest() {
+        return request(dbName, RequestType.GET, PATH_API_COLLECTION, name, "shards");
+    }
+
+    protected ResponseDeserializer<Collection<String>> getShardsResponseDeserializer() {
+        return response -> getSerde().deserialize(response.getBody(), "/shards",
+                constructListType(String.class));
+    }
+
     protected InternalRequest getRevisionRequest() {
         return request(dbName, RequestType.GET, PATH_API_COLLECTION, name, "revision");
     }
@@ -27,6 +27,7 @@ import com.arangodb.internal.util.RequestUtils;
 import com.arangodb.model.*;
 import com.arangodb.model.arangosearch.*;
 
+import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.Map;
 
@@ -232,8 +233,18 @@ public abstract class InternalArangoDatabase extends ArangoExecuteable {
     }
 
     public <T> ResponseDeserializer<CursorEntity<T>> cursorEntityDeserializer(final Class<T> type) {
+        return cursorEntityDeserializer(type, false);
+    }
+
+    /**
+     * @param lazy whether the result documents should be deserialized only when accessed, see
+     *             {@link AqlQueryOptions#lazyBatches(Boolean)}
+     */
+    public <T> ResponseDeserializer<CursorEntity<T>> cursorEntityDeserializer(final Class<T> type, final boolean lazy) {
         return (response) -> {
-            CursorEntity<T> e = getSerde().deserialize(response.getBody(), constructParametricType(CursorEntity.class, type));
+            Type entityType = constructParametricType(CursorEntity.class, type);
+            CursorEntity<T> e = lazy ? getSerde().deserializeWithLazyUserData(response.getBody(), entityType) :
+                    getSerde().deserialize(response.getBody(), entityType);
             boolean potentialDirtyRead = Boolean.parseBoolean(response.getMeta("X-Arango-Potential-Dirty-Read"));
             e.setPotentialDirtyRead(potentialDirtyRead);
             return e;
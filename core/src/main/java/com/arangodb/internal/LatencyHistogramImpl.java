@@ -0,0 +1,91 @@
+package com.arangodb.internal;
+
+import com.arangodb.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram: every power of two is split into {@link #SUB_BUCKETS} linear sub-buckets, so that
+ * recording is a single atomic increment and the relative error is bounded by {@code 1 / SUB_BUCKETS}.
+ */
+public class LatencyHistogramImpl implements LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos value to record, in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        buckets.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getAvg() {
+        final long c = count.sum();
+        return c == 0 ? 0.0 : sum.sum() / NANOS_PER_SECOND / c;
+    }
+
+    @Override
+    public double getMax() {
+        return max.get() / NANOS_PER_SECOND;
+    }
+
+    @Override
+    public double getPercentile(final double percentile) {
+        final long total = count.sum();
+        if (total == 0) {
+            return 0.0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get()) / NANOS_PER_SECOND;
+            }
+        }
+        return getMax();
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int msb = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) ((value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return the highest value mapped to the bucket with the given index
+     */
+    static long upperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int msb = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long sub = index % SUB_BUCKETS;
+        final long lower = (1L << msb) | (sub << (msb - SUB_BUCKET_BITS));
+        return lower + (1L << (msb - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -8,6 +8,8 @@ import com.arangodb.config.HostDescription;
 import com.arangodb.config.ProtocolConfig;
 import com.arangodb.entity.LoadBalancingStrategy;
 import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.ConnectionMetricsRegistry;
+import com.arangodb.internal.serde.BlackbirdAwareSerde;
 import com.arangodb.internal.serde.ContentTypeFactory;
 import com.arangodb.internal.serde.InternalSerde;
 import com.arangodb.internal.serde.InternalSerdeProvider;
@@ -36,19 +38,26 @@ public class ArangoConfig {
     private Integer maxConnections;
     private Long connectionTtl;
     private Integer keepAliveInterval;
+    private Integer maxInFlightMessages;
+    private Integer maxQueuedMessages;
     private Boolean acquireHostList;
     private Integer acquireHostListInterval;
     private LoadBalancingStrategy loadBalancingStrategy;
     private InternalSerde internalSerde;
     private ArangoSerde userDataSerde;
     private Class<? extends ArangoSerdeProvider> serdeProviderClass;
+    private Boolean jacksonBlackbird;
     private Integer responseQueueTimeSamples;
     private Module protocolModule;
     private Executor asyncExecutor;
     private Compression compression;
     private Integer compressionThreshold;
     private Integer compressionLevel;
+    private Long cursorMaxBufferedBytes;
+    private Long clientCacheMaxBytes;
+    private Boolean cursorStackTraces;
     private ProtocolConfig protocolConfig;
+    private final ConnectionMetricsRegistry connectionMetrics = new ConnectionMetricsRegistry();
 
     public ArangoConfig() {
         // load default properties
@@ -76,6 +85,9 @@ public class ArangoConfig {
         connectionTtl = properties.getConnectionTtl().orElse(null);
         // FIXME: make keepAliveInterval field Optional
         keepAliveInterval = properties.getKeepAliveInterval().orElse(null);
+        // FIXME: make maxInFlightMessages field Optional
+        maxInFlightMessages = properties.getMaxInFlightMessages().orElse(null);
+        maxQueuedMessages = properties.getMaxQueuedMessages().orElse(ArangoDefaults.DEFAULT_MAX_QUEUED_MESSAGES);
         acquireHostList = properties.getAcquireHostList().orElse(ArangoDefaults.DEFAULT_ACQUIRE_HOST_LIST);
         acquireHostListInterval = properties.getAcquireHostListInterval().orElse(ArangoDefaults.DEFAULT_ACQUIRE_HOST_LIST_INTERVAL);
         loadBalancingStrategy = properties.getLoadBalancingStrategy().orElse(ArangoDefaults.DEFAULT_LOAD_BALANCING_STRATEGY);
@@ -83,6 +95,10 @@ public class ArangoConfig {
         compression = properties.getCompression().orElse(ArangoDefaults.DEFAULT_COMPRESSION);
         compressionThreshold = properties.getCompressionThreshold().orElse(ArangoDefaults.DEFAULT_COMPRESSION_THRESHOLD);
         compressionLevel = properties.getCompressionLevel().orElse(ArangoDefaults.DEFAULT_COMPRESSION_LEVEL);
+        cursorMaxBufferedBytes = properties.getCursorMaxBufferedBytes()
+                .orElse(ArangoDefaults.DEFAULT_CURSOR_MAX_BUFFERED_BYTES);
+        clientCacheMaxBytes = properties.getClientCacheMaxBytes().orElse(ArangoDefaults.DEFAULT_CLIENT_CACHE_MAX_BYTES);
+        cursorStackTraces = properties.getCursorStackTraces().orElse(ArangoDefaults.DEFAULT_CURSOR_STACK_TRACES);
         serdeProviderClass = properties.getSerdeProviderClass().map((String className) -> {
             try {
                 //noinspection unchecked
@@ -91,6 +107,7 @@ public class ArangoConfig {
                 throw new RuntimeException(e);
             }
         }).orElse(null);
+        jacksonBlackbird = properties.getJacksonBlackbird().orElse(ArangoDefaults.DEFAULT_JACKSON_BLACKBIRD);
     }
 
     public List<HostDescription> getHosts() {
@@ -223,6 +240,22 @@ public class ArangoConfig {
         this.keepAliveInterval = keepAliveInterval;
     }
 
+    public Integer getMaxInFlightMessages() {
+        return maxInFlightMessages;
+    }
+
+    public void setMaxInFlightMessages(Integer maxInFlightMessages) {
+        this.maxInFlightMessages = maxInFlightMessages;
+    }
+
+    public Integer getMaxQueuedMessages() {
+        return maxQueuedMessages;
+    }
+
+    public void setMaxQueuedMessages(Integer maxQueuedMessages) {
+        this.maxQueuedMessages = maxQueuedMessages;
+    }
+
     public Boolean getAcquireHostList() {
         return acquireHostList;
     }
@@ -254,21 +287,28 @@ public class ArangoConfig {
     public ArangoSerde getUserDataSerde() {
         if (userDataSerde != null) {
             return userDataSerde;
-        } else if (serdeProviderClass != null) {
+        }
+        final ArangoSerde serde;
+        if (serdeProviderClass != null) {
             try {
-                return serdeProviderClass.getDeclaredConstructor().newInstance().create();
+                serde = serdeProviderClass.getDeclaredConstructor().newInstance().create();
             } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
                      NoSuchMethodException e) {
                 throw new RuntimeException(e);
             }
         } else {
-            return ArangoSerdeProvider.of(ContentTypeFactory.of(getProtocol())).create();
+            serde = ArangoSerdeProvider.of(ContentTypeFactory.of(getProtocol())).create();
         }
+        if (Boolean.TRUE.equals(jacksonBlackbird) && serde instanceof BlackbirdAwareSerde) {
+            ((BlackbirdAwareSerde) serde).tryRegisterBlackbirdModule();
+        }
+        return serde;
     }
 
     public InternalSerde getInternalSerde() {
         if (internalSerde == null) {
-            internalSerde = new InternalSerdeProvider(ContentTypeFactory.of(getProtocol())).create(getUserDataSerde(), protocolModule);
+            internalSerde = new InternalSerdeProvider(ContentTypeFactory.of(getProtocol()))
+                    .create(getUserDataSerde(), protocolModule, Boolean.TRUE.equals(jacksonBlackbird));
         }
         return internalSerde;
     }
@@ -281,6 +321,14 @@ public class ArangoConfig {
         this.serdeProviderClass = serdeProviderClass;
     }
 
+    public Boolean getJacksonBlackbird() {
+        return jacksonBlackbird;
+    }
+
+    public void setJacksonBlackbird(Boolean jacksonBlackbird) {
+        this.jacksonBlackbird = jacksonBlackbird;
+    }
+
     public Integer getResponseQueueTimeSamples() {
         return responseQueueTimeSamples;
     }
@@ -325,6 +373,30 @@ public class ArangoConfig {
         this.compressionLevel = compressionLevel;
     }
 
+    public Long getCursorMaxBufferedBytes() {
+        return cursorMaxBufferedBytes;
+    }
+
+    public void setCursorMaxBufferedBytes(Long cursorMaxBufferedBytes) {
+        this.cursorMaxBufferedBytes = cursorMaxBufferedBytes;
+    }
+
+    public Long getClientCacheMaxBytes() {
+        return clientCacheMaxBytes;
+    }
+
+    public void setClientCacheMaxBytes(Long clientCacheMaxBytes) {
+        this.clientCacheMaxBytes = clientCacheMaxBytes;
+    }
+
+    public Boolean getCursorStackTraces() {
+        return cursorStackTraces;
+    }
+
+    public void setCursorStackTraces(Boolean cursorStackTraces) {
+        this.cursorStackTraces = cursorStackTraces;
+    }
+
     public ProtocolConfig getProtocolConfig() {
         return protocolConfig;
     }
@@ -332,4 +404,8 @@ public class ArangoConfig {
     public void setProtocolConfig(ProtocolConfig protocolConfig) {
         this.protocolConfig = protocolConfig;
     }
+
+    public ConnectionMetricsRegistry getConnectionMetrics() {
+        return connectionMetrics;
+    }
 }
@@ -126,6 +126,16 @@ public final class ArangoConfigPropertiesImpl implements ArangoConfigProperties
         return Optional.ofNullable(getProperty("keepAliveInterval")).map(Integer::valueOf);
     }
 
+    @Override
+    public Optional<Integer> getMaxInFlightMessages() {
+        return Optional.ofNullable(getProperty("maxInFlightMessages")).map(Integer::valueOf);
+    }
+
+    @Override
+    public Optional<Integer> getMaxQueuedMessages() {
+        return Optional.ofNullable(getProperty("maxQueuedMessages")).map(Integer::valueOf);
+    }
+
     @Override
     public Optional<Boolean> getAcquireHostList() {
         return Optional.ofNullable(getProperty("acquireHostList")).map(Boolean::valueOf);
@@ -161,9 +171,29 @@ public final class ArangoConfigPropertiesImpl implements ArangoConfigProperties
         return Optional.ofNullable(getProperty("compressionLevel")).map(Integer::valueOf);
     }
 
+    @Override
+    public Optional<Long> getCursorMaxBufferedBytes() {
+        return Optional.ofNullable(getProperty("cursorMaxBufferedBytes")).map(Long::valueOf);
+    }
+
+    @Override
+    public Optional<Long> getClientCacheMaxBytes() {
+        return Optional.ofNullable(getProperty("clientCacheMaxBytes")).map(Long::valueOf);
+    }
+
+    @Override
+    public Optional<Boolean> getCursorStackTraces() {
+        return Optional.ofNullable(getProperty("cursorStackTraces")).map(Boolean::valueOf);
+    }
+
     @Override
     public Optional<String> getSerdeProviderClass() {
         return Optional.ofNullable(getProperty("serdeProviderClass"));
     }
 
+    @Override
+    public Optional<Boolean> getJacksonBlackbird() {
+        return Optional.ofNullable(getProperty("jacksonBlackbird")).map(Boolean::valueOf);
+    }
+
 }
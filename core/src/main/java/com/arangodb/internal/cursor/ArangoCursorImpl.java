@@ -21,15 +21,24 @@
 package com.arangodb.internal.cursor;
 
 import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDBException;
 import com.arangodb.ArangoIterator;
 import com.arangodb.entity.CursorEntity;
 import com.arangodb.entity.CursorStats;
 import com.arangodb.entity.CursorWarning;
 import com.arangodb.internal.ArangoCursorExecute;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * @author Mark Vollmary
@@ -42,20 +51,66 @@ public class ArangoCursorImpl<T> implements ArangoCursor<T> {
     private final ArangoCursorExecute<T> execute;
     private final boolean pontentialDirtyRead;
     private final boolean allowRetry;
+    private volatile CursorTracker.Tracked tracked;
+    private volatile CursorTracker.Tracked resources;
 
     public ArangoCursorImpl(final ArangoCursorExecute<T> execute,
                             final Class<T> type, final CursorEntity<T> result, final Boolean allowRetry) {
+        this(execute, type, result, allowRetry, null);
+    }
+
+    /**
+     * @param prefetchBatches number of batches to request in advance, see
+     *                        {@link com.arangodb.model.AqlQueryOptions#prefetchBatches(Integer)}
+     */
+    public ArangoCursorImpl(final ArangoCursorExecute<T> execute,
+                            final Class<T> type, final CursorEntity<T> result, final Boolean allowRetry,
+                            final Integer prefetchBatches) {
         super();
         this.execute = execute;
         this.type = type;
         id = result.getId();
         pontentialDirtyRead = result.isPotentialDirtyRead();
-        iterator = new ArangoCursorIterator<>(id, execute, result);
+        iterator = new ArangoCursorIterator<>(id, execute, result, prefetchBatches != null ? prefetchBatches : 0);
         this.allowRetry = Boolean.TRUE.equals(allowRetry);
     }
 
+    /**
+     * Closes the server-side cursor if this cursor becomes unreachable while it is open, i.e. before having been
+     * closed and, unless it allows retries, before its last batch has been received. Releases the batches accounted
+     * by {@link ArangoCursorExecute#closed()} if this cursor becomes unreachable before having been closed.
+     *
+     * @param tracker  tracker of the cursors of the driver instance
+     * @param database name of the database of the cursor
+     */
+    public void track(final CursorTracker tracker, final String database) {
+        // the iterator is tracked rather than this cursor, since it can be used on its own, e.g. by streams; the
+        // close actions must not reference it
+        final ArangoCursorExecute<T> exec = execute;
+        resources = tracker.trackResources(iterator, exec::closed);
+        if (id == null || !(allowRetry || Boolean.TRUE.equals(iterator.result.getHasMore()))) {
+            return;
+        }
+        final String cursorId = id;
+        final CursorTracker.Tracked t = tracker.track(iterator, database, id, () -> exec.close(cursorId));
+        tracked = t;
+        if (!allowRetry) {
+            iterator.released = t::untrack;
+        }
+    }
+
     @Override
     public void close() {
+        final CursorTracker.Tracked t = tracked;
+        if (t != null) {
+            t.untrack();
+        }
+        final CursorTracker.Tracked r = resources;
+        if (r != null) {
+            r.untrack();
+        }
+        iterator.cancelPrefetch();
+        getExecute().closed();
         if (getId() != null && (allowRetry || iterator.result.getHasMore())) {
             getExecute().close(getId());
         }
@@ -114,6 +169,14 @@ public class ArangoCursorImpl<T> implements ArangoCursor<T> {
         return iterator;
     }
 
+    /**
+     * @return spliterator splitting at batch boundaries, see {@link CursorSpliterator}
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new CursorSpliterator<>(iterator, getCount());
+    }
+
     @Override
     public String getNextBatchId() {
         return iterator.result.getNextBatchId();
@@ -126,32 +189,177 @@ public class ArangoCursorImpl<T> implements ArangoCursor<T> {
     protected static class ArangoCursorIterator<T> implements ArangoIterator<T> {
         private final String cursorId;
         private final ArangoCursorExecute<T> execute;
+        private final int prefetchBatches;
+        // requests of the batches following the current one, each sent once the previous batch has been received
+        private final Deque<CompletableFuture<CursorEntity<T>>> prefetched = new ArrayDeque<>();
+        private CompletableFuture<CursorEntity<T>> lastRequested;
+        private volatile boolean cancelled;
         private CursorEntity<T> result;
         private Iterator<T> arrayIterator;
+        private long returned;
+        private long received = System.nanoTime();
+        private boolean consumed;
+        // run once the last batch has been received, i.e. once the server has released the cursor
+        private volatile Runnable released;
 
         protected ArangoCursorIterator(final String cursorId, final ArangoCursorExecute<T> execute,
                                        final CursorEntity<T> result) {
+            this(cursorId, execute, result, 0);
+        }
+
+        protected ArangoCursorIterator(final String cursorId, final ArangoCursorExecute<T> execute,
+                                       final CursorEntity<T> result, final int prefetchBatches) {
             this.cursorId = cursorId;
             this.execute = execute;
             this.result = result;
+            this.prefetchBatches = prefetchBatches;
             arrayIterator = result.getResult().iterator();
+            lastRequested = CompletableFuture.completedFuture(result);
+            prefetch();
         }
 
         @Override
         public boolean hasNext() {
-            return arrayIterator.hasNext() || result.getHasMore();
+            if (arrayIterator.hasNext() || result.getHasMore()) {
+                return true;
+            }
+            consumed();
+            return false;
         }
 
         @Override
         public T next() {
             if (!arrayIterator.hasNext() && Boolean.TRUE.equals(result.getHasMore())) {
-                result = execute.next(cursorId, result.getNextBatchId());
-                arrayIterator = result.getResult().iterator();
+                nextBatch();
             }
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            return arrayIterator.next();
+            returned++;
+            final T next = arrayIterator.next();
+            if (!arrayIterator.hasNext() && !Boolean.TRUE.equals(result.getHasMore())) {
+                consumed();
+            }
+            return next;
+        }
+
+        /**
+         * Returns the remaining elements of the current batch or, if none are left, of the next one. The batch after
+         * the returned one is requested in advance, so that it is fetched while the returned one is processed.
+         *
+         * @return the elements, or an empty list if the cursor is exhausted
+         */
+        List<T> takeBatch() {
+            while (!arrayIterator.hasNext() && Boolean.TRUE.equals(result.getHasMore())) {
+                nextBatch();
+            }
+            final List<T> batch = new ArrayList<>();
+            arrayIterator.forEachRemaining(batch::add);
+            returned += batch.size();
+            if (Boolean.TRUE.equals(result.getHasMore())) {
+                prefetch(Math.max(prefetchBatches, 1));
+            } else {
+                consumed();
+            }
+            return batch;
+        }
+
+        /**
+         * @return the number of elements returned so far
+         */
+        long returned() {
+            return returned;
+        }
+
+        private void nextBatch() {
+            consumed();
+            prefetch();
+            if (prefetched.isEmpty()) {
+                // prefetching could be paused by the limit of buffered bytes, it resumes after the fetched batch
+                result = execute.next(cursorId, result.getNextBatchId());
+                lastRequested = CompletableFuture.completedFuture(result);
+            } else {
+                result = nextPrefetched();
+            }
+            arrayIterator = result.getResult().iterator();
+            received = System.nanoTime();
+            consumed = false;
+            final Runnable r = released;
+            if (r != null && !Boolean.TRUE.equals(result.getHasMore())) {
+                r.run();
+            }
+        }
+
+        /**
+         * Notifies the consumption of the current batch, once.
+         */
+        private void consumed() {
+            if (!consumed) {
+                consumed = true;
+                execute.consumed(result, System.nanoTime() - received);
+            }
+        }
+
+        private CursorEntity<T> nextPrefetched() {
+            final CursorEntity<T> next;
+            try {
+                next = prefetched.peek().join();
+            } catch (CompletionException e) {
+                // the following requests depend on the failed one, restart from the current batch on next call
+                prefetched.clear();
+                lastRequested = CompletableFuture.completedFuture(result);
+                throw ArangoDBException.of(e);
+            }
+            prefetched.poll();
+            if (next == null) {
+                // prefetching cancelled by close()
+                throw new NoSuchElementException();
+            }
+            prefetch();
+            return next;
+        }
+
+        /**
+         * Requests the following batches, up to {@link #prefetchBatches} ahead of the current one.
+         */
+        private void prefetch() {
+            prefetch(prefetchBatches);
+        }
+
+        private void prefetch(final int depth) {
+            while (prefetched.size() < depth && !isLast(lastRequested) && execute.mayPrefetch(prefetched.size())) {
+                lastRequested = lastRequested.thenCompose(previous -> previous != null && !cancelled
+                        && Boolean.TRUE.equals(previous.getHasMore())
+                        ? execute.nextAsync(cursorId, previous.getNextBatchId())
+                        : CompletableFuture.completedFuture(null));
+                prefetched.add(lastRequested);
+            }
+        }
+
+        private static boolean isLast(final CompletableFuture<? extends CursorEntity<?>> batch) {
+            if (!batch.isDone()) {
+                return false;
+            }
+            if (batch.isCompletedExceptionally()) {
+                return true;
+            }
+            final CursorEntity<?> entity = batch.join();
+            return entity == null || !Boolean.TRUE.equals(entity.getHasMore());
+        }
+
+        /**
+         * Stops requesting further batches and waits for the pending requests, so that the cursor can be closed.
+         */
+        void cancelPrefetch() {
+            cancelled = true;
+            for (CompletableFuture<CursorEntity<T>> batch : prefetched) {
+                try {
+                    batch.join();
+                } catch (CompletionException | CancellationException e) {
+                    // ignored, the cursor is being closed
+                }
+            }
+            prefetched.clear();
         }
     }
 
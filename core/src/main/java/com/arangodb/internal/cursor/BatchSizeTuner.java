@@ -0,0 +1,100 @@
+package com.arangodb.internal.cursor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Chooses the batch size of queries from the batches of their previous executions, see
+ * {@link com.arangodb.model.AqlQueryOptions#adaptiveBatchSize(Boolean)}.
+ * <p>
+ * For each query string, exponential moving averages of the time taken to fetch a document, of its size and of the
+ * time taken to consume it are kept. The batch size is then chosen so that fetching or consuming a batch, whichever
+ * is slower, takes {@link #TARGET_BATCH_NANOS}, and that a batch is no larger than {@link #TARGET_BATCH_BYTES}.
+ */
+public final class BatchSizeTuner {
+
+    static final long TARGET_BATCH_NANOS = 100_000_000L;
+    static final long TARGET_BATCH_BYTES = 4L << 20;
+    static final int MIN_BATCH_SIZE = 10;
+    static final int MAX_BATCH_SIZE = 100_000;
+    private static final int MAX_QUERIES = 1_000;
+    private static final double WEIGHT = 0.3;
+
+    private final Map<String, Samples> queries = Collections.synchronizedMap(
+            new LinkedHashMap<String, Samples>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Samples> eldest) {
+                    return size() > MAX_QUERIES;
+                }
+            });
+
+    /**
+     * @return the samples of the given query, to be updated with its batches
+     */
+    public Samples samples(final String query) {
+        return queries.computeIfAbsent(query, q -> new Samples());
+    }
+
+    /**
+     * Measurements of the batches of a query.
+     */
+    public static final class Samples {
+        private double fetchNanos = Double.NaN;
+        private double bytes = Double.NaN;
+        private double consumeNanos = Double.NaN;
+
+        /**
+         * @param documents number of documents of the batch
+         * @param bytes     size of the response
+         * @param nanos     time elapsed between sending the request and receiving the response, or a negative value
+         *                  if not meaningful, e.g. for the first batch which includes the preparation of the query
+         */
+        public synchronized void fetched(final int documents, final long bytes, final long nanos) {
+            if (documents == 0) {
+                return;
+            }
+            this.bytes = average(this.bytes, (double) bytes / documents);
+            if (nanos >= 0) {
+                fetchNanos = average(fetchNanos, (double) nanos / documents);
+            }
+        }
+
+        /**
+         * @param documents number of documents of the batch
+         * @param nanos     time elapsed between receiving the batch and consuming its last document
+         */
+        public synchronized void consumed(final int documents, final long nanos) {
+            if (documents != 0) {
+                consumeNanos = average(consumeNanos, (double) nanos / documents);
+            }
+        }
+
+        /**
+         * @return the batch size to use for the query, or {@code null} if it has not been measured yet
+         */
+        public synchronized Integer batchSize() {
+            double size = Double.POSITIVE_INFINITY;
+            final double nanos = Double.isNaN(fetchNanos) ? consumeNanos
+                    : Double.isNaN(consumeNanos) ? fetchNanos
+                    : Math.max(fetchNanos, consumeNanos);
+            if (nanos > 0) {
+                size = TARGET_BATCH_NANOS / nanos;
+            }
+            if (bytes > 0) {
+                size = Math.min(size, TARGET_BATCH_BYTES / bytes);
+            }
+            if (Double.isInfinite(size)) {
+                return null;
+            }
+            return (int) Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, size));
+        }
+
+        private static double average(final double average, final double sample) {
+            return Double.isNaN(average) ? sample : average + WEIGHT * (sample - average);
+        }
+    }
+
+}
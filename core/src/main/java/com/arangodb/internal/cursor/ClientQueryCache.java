@@ -0,0 +1,296 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.internal.InternalRequest;
+import com.arangodb.internal.InternalResponse;
+import com.arangodb.internal.RequestType;
+import com.arangodb.internal.util.EncodeUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side cache of the responses of queries whose result fits in a single batch, see
+ * {@link com.arangodb.ArangoDB.Builder#clientCacheMaxBytes(Long)} and
+ * {@link com.arangodb.model.AqlQueryOptions#clientCacheTtl(Long)}.
+ * <p>
+ * Entries are keyed by database and request body, i.e. query, bind variables and options, and are evicted in least
+ * recently used order once their total size exceeds the limit. The size of an entry is the size of its response body.
+ * <p>
+ * The writes sent through the document, collection, import and graph APIs invalidate the entries of the queries
+ * declaring the written collection, see {@link com.arangodb.model.AqlQueryOptions#clientCacheCollections(Collection)}.
+ * Writes are counted both when sent and when completed, so that a query running concurrently to a write is not
+ * cached. Only the writes of collections declared by some query are counted, and entries are indexed by collection.
+ */
+public final class ClientQueryCache {
+
+    private static final String TRANSACTION_ID = "x-arango-trx-id";
+    private static final String ALLOW_DIRTY_READ = "x-arango-allow-dirty-read";
+
+    private final long maxBytes;
+    // guarded by itself, in access order
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // keys of the entries per declared database and collection, guarded by entries
+    private final Map<String, Set<Key>> byCollection = new HashMap<>();
+    private long bytes;
+    // number of writes per database and collection, for the collections declared by any query
+    private final Map<String, AtomicLong> writes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxBytes maximum size of the cached responses, {@code null} or 0 to disable the cache
+     */
+    public ClientQueryCache(final Long maxBytes) {
+        this.maxBytes = maxBytes != null ? maxBytes : 0L;
+    }
+
+    /**
+     * @param request     request creating the cursor
+     * @param ttl         time to live of the entry in milliseconds, {@code null} or 0 if the query is not cached
+     * @param collections collections whose writes invalidate the entry, can be {@code null}
+     * @return lookup of the request, or {@code null} if it must not be cached
+     */
+    public Lookup lookup(final InternalRequest request, final Long ttl, final Collection<String> collections) {
+        if (maxBytes <= 0 || ttl == null || ttl <= 0 || request.containsHeaderParam(TRANSACTION_ID)) {
+            return null;
+        }
+        final String[] names = collections != null ? new String[collections.size()] : new String[0];
+        final long[] counts = new long[names.length];
+        if (collections != null) {
+            int i = 0;
+            for (String collection : collections) {
+                names[i] = name(request.getDbName(), EncodeUtils.encodeURIComponent(collection));
+                counts[i] = writes(names[i]).get();
+                i++;
+            }
+        }
+        final Key key = new Key(request.getDbName(), request.containsHeaderParam(ALLOW_DIRTY_READ), request.getBody());
+        return new Lookup(key, TimeUnit.MILLISECONDS.toNanos(ttl), names, counts);
+    }
+
+    /**
+     * Invalidates the entries reading the collection written by the request, if any.
+     */
+    public void written(final InternalRequest request) {
+        if (maxBytes <= 0 || writes.isEmpty()) {
+            return;
+        }
+        final String collection = writtenCollection(request);
+        if (collection == null) {
+            return;
+        }
+        final String name = name(request.getDbName(), collection);
+        final AtomicLong count = writes.get(name);
+        if (count == null) {
+            // not declared by any query
+            return;
+        }
+        count.incrementAndGet();
+        synchronized (entries) {
+            final Set<Key> keys = byCollection.remove(name);
+            if (keys != null) {
+                for (Key key : keys) {
+                    remove(key, entries.get(key));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return name of the collection written by the request, URI encoded, or {@code null} if the request is not a
+     * write of the document, collection, import or graph APIs
+     */
+    static String writtenCollection(final InternalRequest request) {
+        final RequestType type = request.getRequestType();
+        if (type == RequestType.GET || type == RequestType.HEAD || type == RequestType.OPTIONS) {
+            return null;
+        }
+        // "/_api/document/{collection}/...", "/_api/gharial/{graph}/vertex/{collection}/..."
+        final String[] path = request.getPath().split("/");
+        if (path.length < 3 || !"_api".equals(path[1])) {
+            return null;
+        }
+        switch (path[2]) {
+            case "document":
+            case "collection":
+                return path.length > 3 ? path[3] : null;
+            case "import":
+                final String collection = request.getQueryParam().get("collection");
+                return collection != null ? EncodeUtils.encodeURIComponent(collection) : null;
+            case "gharial":
+                return path.length > 5 && ("vertex".equals(path[4]) || "edge".equals(path[4])) ? path[5] : null;
+            default:
+                return null;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return total size of the cached responses
+     */
+    public long getBytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    /**
+     * Removes the entry, if it is still cached.
+     */
+    private void remove(final Key key, final Entry entry) {
+        if (entry != null && entries.remove(key, entry)) {
+            unindex(key, entry);
+        }
+    }
+
+    /**
+     * Accounts the removal of an entry from the entries, and removes it from the index of its collections.
+     */
+    private void unindex(final Key key, final Entry entry) {
+        bytes -= entry.size();
+        for (String collection : entry.collections) {
+            final Set<Key> keys = byCollection.get(collection);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    byCollection.remove(collection);
+                }
+            }
+        }
+    }
+
+    private AtomicLong writes(final String name) {
+        return writes.computeIfAbsent(name, n -> new AtomicLong());
+    }
+
+    private static String name(final String db, final String collection) {
+        return db + "/" + collection;
+    }
+
+    /**
+     * Lookup of a query in the cache, to be stored once executed on a miss.
+     */
+    public final class Lookup {
+        private final Key key;
+        private final long ttlNanos;
+        private final String[] collections;
+        private final long[] writeCounts;
+
+        private Lookup(final Key key, final long ttlNanos, final String[] collections, final long[] writeCounts) {
+            this.key = key;
+            this.ttlNanos = ttlNanos;
+            this.collections = collections;
+            this.writeCounts = writeCounts;
+        }
+
+        /**
+         * @return the cached response, or {@code null} on a miss
+         */
+        public InternalResponse get() {
+            synchronized (entries) {
+                final Entry entry = entries.get(key);
+                if (entry != null && entry.expires - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.response;
+                }
+                remove(key, entry);
+            }
+            misses.increment();
+            return null;
+        }
+
+        /**
+         * Caches the response, unless the collections of the query have been written since the lookup.
+         *
+         * @param response complete result of the query
+         */
+        public void put(final InternalResponse response) {
+            final Entry entry = new Entry(response, System.nanoTime() + ttlNanos, collections);
+            if (entry.size() > maxBytes) {
+                return;
+            }
+            synchronized (entries) {
+                for (int i = 0; i < collections.length; i++) {
+                    if (writes(collections[i]).get() != writeCounts[i]) {
+                        return;
+                    }
+                }
+                remove(key, entries.get(key));
+                entries.put(key, entry);
+                bytes += entry.size();
+                for (String collection : collections) {
+                    byCollection.computeIfAbsent(collection, c -> new HashSet<>()).add(key);
+                }
+                final Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+                while (bytes > maxBytes && it.hasNext()) {
+                    final Map.Entry<Key, Entry> eldest = it.next();
+                    it.remove();
+                    unindex(eldest.getKey(), eldest.getValue());
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final InternalResponse response;
+        private final long expires;
+        private final String[] collections;
+
+        Entry(final InternalResponse response, final long expires, final String[] collections) {
+            this.response = response;
+            this.expires = expires;
+            this.collections = collections;
+        }
+
+        long size() {
+            return response.getBody() != null ? response.getBody().length : 0;
+        }
+    }
+
+    private static final class Key {
+        private final String db;
+        private final boolean allowDirtyRead;
+        private final byte[] body;
+        private final int hash;
+
+        Key(final String db, final boolean allowDirtyRead, final byte[] body) {
+            this.db = db;
+            this.allowDirtyRead = allowDirtyRead;
+            this.body = body;
+            hash = 31 * (31 * db.hashCode() + Boolean.hashCode(allowDirtyRead)) + Arrays.hashCode(body);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return hash == other.hash && allowDirtyRead == other.allowDirtyRead && db.equals(other.db)
+                    && Arrays.equals(body, other.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
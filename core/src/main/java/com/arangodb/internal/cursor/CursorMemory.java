@@ -0,0 +1,127 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoDBException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accounts the bytes of the cursor batches that have been received and not consumed yet, against an optional
+ * limit. A global instance is shared by the cursors of a driver instance, each cursor has a child instance, see
+ * {@link com.arangodb.ArangoDB.Builder#cursorMaxBufferedBytes(Long)} and
+ * {@link com.arangodb.model.AqlQueryOptions#maxBufferedBytes(Long)}.
+ * <p>
+ * The size of a batch is the size of its response body. Batches are released in the order they have been received.
+ */
+public final class CursorMemory {
+
+    private final CursorMemory parent;
+    private final long limit;
+    private final AtomicLong buffered = new AtomicLong();
+    // only used by the cursor instances
+    private final Deque<Long> batches = new ArrayDeque<>();
+    private volatile long lastBatch;
+
+    private CursorMemory(final CursorMemory parent, final Long limit) {
+        this.parent = parent;
+        this.limit = limit != null ? limit : 0L;
+    }
+
+    /**
+     * @param limit maximum number of bytes buffered by all the cursors, {@code null} or 0 for no limit
+     */
+    public static CursorMemory global(final Long limit) {
+        return new CursorMemory(null, limit);
+    }
+
+    /**
+     * @param limit maximum number of bytes buffered by the cursor, {@code null} or 0 for no limit
+     * @return instance accounting the batches of a cursor
+     */
+    public CursorMemory cursor(final Long limit) {
+        return new CursorMemory(this, limit);
+    }
+
+    /**
+     * @return number of bytes currently buffered
+     */
+    public long getBuffered() {
+        return buffered.get();
+    }
+
+    /**
+     * Accounts a received batch.
+     *
+     * @param bytes size of the batch
+     * @throws ArangoDBException if the batch alone exceeds the limit of the cursor or the global limit
+     */
+    public void received(final long bytes) {
+        checkBatch(bytes);
+        if (parent != null) {
+            parent.checkBatch(bytes);
+        }
+        synchronized (batches) {
+            batches.add(bytes);
+        }
+        lastBatch = bytes;
+        add(bytes);
+    }
+
+    private void checkBatch(final long bytes) {
+        if (limit > 0 && bytes > limit) {
+            throw new ArangoDBException("Cursor batch of " + bytes + " bytes exceeds the limit of " + limit
+                    + " buffered bytes" + (parent != null ? " of the cursor" : "")
+                    + ", consider reducing the batchSize of the query");
+        }
+    }
+
+    /**
+     * Releases the oldest batch that has not been released yet.
+     */
+    public void consumed() {
+        final Long bytes;
+        synchronized (batches) {
+            bytes = batches.poll();
+        }
+        if (bytes != null) {
+            add(-bytes);
+        }
+    }
+
+    /**
+     * Releases all the batches.
+     */
+    public void closed() {
+        long bytes = 0;
+        synchronized (batches) {
+            for (Long b : batches) {
+                bytes += b;
+            }
+            batches.clear();
+        }
+        add(-bytes);
+    }
+
+    /**
+     * @param pending number of batches already requested in advance, including the received ones
+     * @return whether another batch can be requested in advance, estimating the size of the pending batches from the
+     * last received one
+     */
+    public boolean hasRoom(final int pending) {
+        final long estimate = (pending + 1) * lastBatch;
+        return hasRoom(this, estimate) && (parent == null || hasRoom(parent, estimate));
+    }
+
+    private static boolean hasRoom(final CursorMemory memory, final long estimate) {
+        return memory.limit <= 0 || memory.buffered.get() + estimate <= memory.limit;
+    }
+
+    private void add(final long bytes) {
+        buffered.addAndGet(bytes);
+        if (parent != null) {
+            parent.buffered.addAndGet(bytes);
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.config.HostDescription;
+import com.arangodb.internal.net.HostHandle;
+import com.arangodb.internal.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Retries the requests fetching a cursor batch that failed with an I/O error or a timeout, with an exponential
+ * backoff, until a deadline. This is only safe for cursors created with
+ * {@link com.arangodb.model.AqlQueryOptions#allowRetry(Boolean)}, for which fetching a batch again by its
+ * {@code nextBatchId} is idempotent, see {@link com.arangodb.model.AqlQueryOptions#retryTimeout(Long)}.
+ * <p>
+ * Each attempt is sent to the host the cursor was pinned to before the first one. Asynchronous attempts are delayed
+ * on the {@linkplain HashedWheelTimer#shared() driver-wide timer}.
+ */
+public final class CursorRetry {
+
+    static final long INITIAL_DELAY_MILLIS = 100L;
+    static final long MAX_DELAY_MILLIS = 2_000L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CursorRetry.class);
+
+    private final long timeoutMillis;
+
+    /**
+     * @param timeoutMillis maximum time elapsed between the first attempt and the start of the last one
+     */
+    CursorRetry(final long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @param allowRetry   whether the cursor allows retries
+     * @param retryTimeout deadline of the retries in milliseconds, {@code null} or 0 for no retries
+     * @return instance retrying the batches of a cursor, or {@code null} if they must not be retried
+     */
+    public static CursorRetry of(final Boolean allowRetry, final Long retryTimeout) {
+        return Boolean.TRUE.equals(allowRetry) && retryTimeout != null && retryTimeout > 0
+                ? new CursorRetry(retryTimeout)
+                : null;
+    }
+
+    /**
+     * @param hostHandle pinning of the cursor, restored before each retry
+     * @param request    sends the request and returns its result
+     */
+    public <T> T execute(final HostHandle hostHandle, final Supplier<T> request) {
+        final HostDescription host = hostHandle.getHost();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long delay = INITIAL_DELAY_MILLIS;
+        while (true) {
+            try {
+                return request.get();
+            } catch (ArangoDBException e) {
+                if (!retry(e, deadline, delay)) {
+                    throw e;
+                }
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ArangoDBException.of(e);
+            }
+            hostHandle.setHost(host);
+            delay = Math.min(delay * 2, MAX_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * @param hostHandle pinning of the cursor, restored before each retry
+     * @param request    sends the request and returns its result
+     */
+    public <T> CompletableFuture<T> executeAsync(final HostHandle hostHandle,
+                                                 final Supplier<CompletableFuture<T>> request) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(hostHandle, hostHandle.getHost(), request,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), INITIAL_DELAY_MILLIS, result);
+        return result;
+    }
+
+    private <T> void attempt(final HostHandle hostHandle, final HostDescription host,
+                             final Supplier<CompletableFuture<T>> request, final long deadline, final long delay,
+                             final CompletableFuture<T> result) {
+        request.get().whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+            } else if (retry(e, deadline, delay)) {
+                // the attempt is sent off the timer thread, which must not block
+                HashedWheelTimer.shared().newTimeout(() -> CompletableFuture.runAsync(() -> {
+                    hostHandle.setHost(host);
+                    try {
+                        attempt(hostHandle, host, request, deadline, Math.min(delay * 2, MAX_DELAY_MILLIS), result);
+                    } catch (Exception ex) {
+                        result.completeExceptionally(ex);
+                    }
+                }), delay, TimeUnit.MILLISECONDS);
+            } else {
+                result.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+    }
+
+    private static boolean retry(final Throwable e, final long deadline, final long delay) {
+        if (!isRetryable(e) || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay) - deadline > 0) {
+            return false;
+        }
+        LOGGER.warn("Could not fetch cursor batch, retrying in {} ms", delay, e);
+        return true;
+    }
+
+    /**
+     * @return whether the error is caused by an I/O error or a timeout, after which the request can be sent again
+     */
+    static boolean isRetryable(final Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof IOException || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.arangodb.internal.cursor;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} of the remaining elements of a cursor, splitting at batch boundaries: {@link #trySplit()}
+ * returns the remaining elements of the current batch, while the next batch is requested in the background. Parallel
+ * streams can therefore process each batch in a different thread while the following one is being fetched.
+ * <p>
+ * The spliterator is {@link #SIZED} if the cursor was created with
+ * {@link com.arangodb.model.AqlQueryOptions#count(Boolean)}, otherwise the size is unknown.
+ *
+ * @param <T> type of the elements
+ */
+final class CursorSpliterator<T> implements Spliterator<T> {
+
+    private final ArangoCursorImpl.ArangoCursorIterator<T> iterator;
+    private final Integer count;
+
+    CursorSpliterator(final ArangoCursorImpl.ArangoCursorIterator<T> iterator, final Integer count) {
+        this.iterator = iterator;
+        this.count = count;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        iterator.forEachRemaining(action);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final List<T> batch = iterator.takeBatch();
+        return batch.isEmpty() ? null : batch.spliterator();
+    }
+
+    @Override
+    public long estimateSize() {
+        if (count == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(count - iterator.returned(), 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return count != null ? ORDERED | SIZED | SUBSIZED : ORDERED;
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.arangodb.internal.cursor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the cursors whose server-side counterpart is open, and closes the ones becoming unreachable without having
+ * been closed, so that the server does not keep them until their ttl expires. Cursors can also be tracked to release
+ * their client-side resources, e.g. the accounting of their buffered batches, once unreachable.
+ * <p>
+ * Each cursor is tracked by a phantom reference, enqueued by the garbage collector once the cursor is unreachable.
+ * The enqueued references are processed by a daemon thread, started with the first tracked cursor, which runs their
+ * close action. The creation site of the cursors can be captured, to be logged when they are closed that way, see
+ * {@link com.arangodb.ArangoDB.Builder#cursorStackTraces(Boolean)}.
+ */
+public final class CursorTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CursorTracker.class);
+
+    private final boolean captureStackTraces;
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    // keeps the references reachable until they are processed
+    private final Set<Tracked> tracked = ConcurrentHashMap.newKeySet();
+    // number of tracked cursors per database
+    private final Map<String, AtomicLong> open = new ConcurrentHashMap<>();
+    private Thread thread;
+    private boolean shutdown;
+
+    /**
+     * @param captureStackTraces whether the creation site of the cursors is captured
+     */
+    public CursorTracker(final Boolean captureStackTraces) {
+        this.captureStackTraces = Boolean.TRUE.equals(captureStackTraces);
+    }
+
+    /**
+     * @param cursor   cursor to track, which must not be referenced by {@code close}
+     * @param database name of the database of the cursor
+     * @param id       id of the cursor
+     * @param close    closes the cursor on the server, run if the cursor becomes unreachable without being closed
+     * @return handle to stop tracking the cursor once it has been closed or exhausted
+     */
+    public Tracked track(final Object cursor, final String database, final String id, final Runnable close) {
+        final Tracked t = new Tracked(cursor, database, id, close,
+                captureStackTraces ? new Throwable("Cursor " + id + " created here") : null);
+        tracked.add(t);
+        open.computeIfAbsent(database, db -> new AtomicLong()).incrementAndGet();
+        start();
+        return t;
+    }
+
+    /**
+     * Tracks a cursor to release its client-side resources if it becomes unreachable without being closed, which is
+     * not reported as leak since the cursor may have been exhausted.
+     *
+     * @param cursor  cursor to track, which must not be referenced by {@code release}
+     * @param release releases the resources of the cursor
+     * @return handle to stop tracking the cursor once it has been closed
+     */
+    public Tracked trackResources(final Object cursor, final Runnable release) {
+        final Tracked t = new Tracked(cursor, null, null, release, null);
+        tracked.add(t);
+        start();
+        return t;
+    }
+
+    /**
+     * @return number of tracked cursors per database, i.e. of the cursors with an open server-side counterpart that
+     * have been neither closed nor collected yet
+     */
+    public Map<String, Long> getOpenCursors() {
+        final Map<String, Long> result = new HashMap<>();
+        open.forEach((db, count) -> {
+            final long c = count.get();
+            if (c > 0) {
+                result.put(db, c);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Stops the thread closing the unreachable cursors.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private synchronized void start() {
+        if (thread != null || shutdown) {
+            return;
+        }
+        thread = new Thread(this::run, "adb-cursor-tracker");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ((Tracked) queue.remove()).leaked();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reference to a tracked cursor.
+     */
+    public final class Tracked extends PhantomReference<Object> {
+        private final String database;
+        private final String id;
+        private final Runnable close;
+        private final Throwable creation;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Tracked(final Object cursor, final String database, final String id, final Runnable close,
+                        final Throwable creation) {
+            super(cursor, queue);
+            this.database = database;
+            this.id = id;
+            this.close = close;
+            this.creation = creation;
+        }
+
+        /**
+         * Stops tracking the cursor, once it has been closed or its server-side counterpart has been released.
+         */
+        public void untrack() {
+            if (done()) {
+                clear();
+            }
+        }
+
+        private void leaked() {
+            if (!done()) {
+                return;
+            }
+            if (database == null) {
+                try {
+                    close.run();
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Could not release the resources of an unreachable cursor", e);
+                }
+                return;
+            }
+            if (creation != null) {
+                LOGGER.warn("Closing cursor {} of database {}, which has not been closed", id, database, creation);
+            } else {
+                LOGGER.warn("Closing cursor {} of database {}, which has not been closed, enable cursorStackTraces to "
+                        + "log where it was created", id, database);
+            }
+            try {
+                close.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not close cursor {} of database {}", id, database, e);
+            }
+        }
+
+        private boolean done() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            tracked.remove(this);
+            if (database != null) {
+                open.get(database).decrementAndGet();
+            }
+            return true;
+        }
+    }
+
+}
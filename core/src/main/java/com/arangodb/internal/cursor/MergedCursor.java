@@ -0,0 +1,322 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoIterator;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.entity.CursorStats;
+import com.arangodb.entity.CursorWarning;
+import com.arangodb.internal.ArangoCursorExecute;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Cursor returning the results of several queries, in the order their batches are received.
+ * <p>
+ * At most {@code parallelism} queries are open at the same time, the following ones are started as the open ones
+ * are exhausted. The next batch of a query is requested as soon as a batch is received, unless a previous batch of the
+ * same query is still waiting to be returned, in which case it is requested once that batch is being returned. So at
+ * most two batches per open query are held besides the one being returned.
+ *
+ * @param <T> type of the elements
+ */
+public class MergedCursor<T> implements ArangoCursor<T> {
+
+    private final Class<T> type;
+    private final Deque<Source<T>> pending;
+    private final int parallelism;
+    private final boolean allowRetry;
+    // filled by the completion of the requests, taken by the consumer thread
+    private final BlockingQueue<Batch<T>> received = new LinkedBlockingQueue<>();
+    // requests whose batch has not been taken yet, incremented before the completion of the batch requesting them
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Stream<T>> open = new ArrayList<>();
+    private final List<CursorWarning> warnings = new ArrayList<>();
+    private Iterator<T> current = Collections.emptyIterator();
+    private volatile boolean closed;
+    private boolean potentialDirtyRead;
+
+    /**
+     * @param sources     queries to run
+     * @param parallelism maximum number of queries open at the same time
+     * @param allowRetry  whether the queries allow retries, so that their cursors need to be closed once exhausted
+     */
+    public MergedCursor(final Class<T> type, final Collection<Source<T>> sources, final int parallelism,
+                        final Boolean allowRetry) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.type = type;
+        pending = new ArrayDeque<>(sources);
+        this.parallelism = parallelism;
+        this.allowRetry = Boolean.TRUE.equals(allowRetry);
+        openPending();
+    }
+
+    private void openPending() {
+        while (open.size() < parallelism && !pending.isEmpty()) {
+            final Stream<T> stream = new Stream<>(pending.poll());
+            open.add(stream);
+            request(stream, stream.source.query.get());
+        }
+    }
+
+    private void request(final Stream<T> stream, final CompletableFuture<CursorEntity<T>> request) {
+        inFlight.incrementAndGet();
+        request.whenComplete((result, e) -> received(stream, result, e));
+    }
+
+    /**
+     * Invoked by the completion of a request, prefetches the next batch if no other batch of the query is queued.
+     */
+    private void received(final Stream<T> stream, final CursorEntity<T> result, final Throwable e) {
+        boolean prefetch = false;
+        synchronized (stream) {
+            stream.received = true;
+            if (e == null) {
+                stream.id = result.getId();
+                stream.exhausted = !Boolean.TRUE.equals(result.getHasMore());
+                if (!stream.exhausted && !closed) {
+                    if (stream.queued == 0) {
+                        prefetch = true;
+                    } else {
+                        stream.deferred = result;
+                    }
+                }
+            }
+            stream.queued++;
+        }
+        if (prefetch) {
+            request(stream, stream.source.execute.nextAsync(result.getId(), result.getNextBatchId()));
+        }
+        received.add(new Batch<>(stream, result, e));
+    }
+
+    private Batch<T> take() {
+        final Batch<T> batch;
+        try {
+            batch = received.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ArangoDBException.of(e);
+        }
+        inFlight.decrementAndGet();
+        final Stream<T> stream = batch.stream;
+        final CursorEntity<T> deferred;
+        synchronized (stream) {
+            stream.queued--;
+            deferred = stream.queued == 0 && !closed ? stream.deferred : null;
+            stream.deferred = null;
+        }
+        if (deferred != null) {
+            request(stream, stream.source.execute.nextAsync(deferred.getId(), deferred.getNextBatchId()));
+        }
+        return batch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (closed || inFlight.get() == 0) {
+                return false;
+            }
+            final Batch<T> batch = take();
+            if (batch.error != null) {
+                close();
+                throw ArangoDBException.of(batch.error);
+            }
+            final CursorEntity<T> result = batch.result;
+            if (!Boolean.TRUE.equals(result.getHasMore())) {
+                open.remove(batch.stream);
+                if (allowRetry && result.getId() != null) {
+                    batch.stream.source.execute.close(result.getId());
+                }
+                openPending();
+            }
+            potentialDirtyRead |= Boolean.TRUE.equals(result.isPotentialDirtyRead());
+            final CursorEntity.Extras extra = result.getExtra();
+            if (extra != null && extra.getWarnings() != null) {
+                warnings.addAll(extra.getWarnings());
+            }
+            current = result.getResult().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops starting queries and closes the open ones, including the ones that failed, waiting for the first batch
+     * of the queries whose cursor id is not known yet. Pending requests for following batches are not waited for.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        pending.clear();
+        current = Collections.emptyIterator();
+        while (awaitingFirstBatch()) {
+            take();
+        }
+        ArangoDBException failure = null;
+        for (Stream<T> stream : open) {
+            final String id;
+            final boolean exhausted;
+            synchronized (stream) {
+                id = stream.id;
+                exhausted = stream.exhausted;
+            }
+            if (id != null && (allowRetry || !exhausted)) {
+                try {
+                    stream.source.execute.close(id);
+                } catch (ArangoDBException e) {
+                    failure = failure != null ? failure : e;
+                }
+            }
+        }
+        open.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean awaitingFirstBatch() {
+        for (Stream<T> stream : open) {
+            synchronized (stream) {
+                if (!stream.received) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code null}, the results come from several cursors
+     */
+    @Override
+    public String getId() {
+        return null;
+    }
+
+    @Override
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return {@code null}, the counts of the queries are not known until all of them have been started
+     */
+    @Override
+    public Integer getCount() {
+        return null;
+    }
+
+    /**
+     * @return {@code null}, the stats of the queries are not merged
+     */
+    @Override
+    public CursorStats getStats() {
+        return null;
+    }
+
+    /**
+     * @return warnings of the batches received so far
+     */
+    @Override
+    public Collection<CursorWarning> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    @Override
+    public boolean isCached() {
+        return false;
+    }
+
+    /**
+     * @return true if any of the batches received so far is a potential dirty read
+     */
+    @Override
+    public boolean isPotentialDirtyRead() {
+        return potentialDirtyRead;
+    }
+
+    /**
+     * @return {@code null}, the results come from several cursors
+     */
+    @Override
+    public String getNextBatchId() {
+        return null;
+    }
+
+    @Override
+    public ArangoIterator<T> iterator() {
+        return this;
+    }
+
+    /**
+     * Query merged into a {@link MergedCursor}.
+     */
+    public static final class Source<T> {
+        private final Supplier<CompletableFuture<CursorEntity<T>>> query;
+        private final ArangoCursorExecute<T> execute;
+
+        /**
+         * @param query   sends the query, returning its first batch
+         * @param execute fetches the following batches and closes the cursor
+         */
+        public Source(final Supplier<CompletableFuture<CursorEntity<T>>> query, final ArangoCursorExecute<T> execute) {
+            this.query = query;
+            this.execute = execute;
+        }
+    }
+
+    /**
+     * State of an open query, updated by the completion of its requests.
+     */
+    private static final class Stream<T> {
+        private final Source<T> source;
+        private String id;
+        // whether any batch, or failure, has been received
+        private boolean received;
+        private boolean exhausted;
+        // batches received and not taken yet
+        private int queued;
+        // last batch received while another one was queued, whose following batch has not been requested yet
+        private CursorEntity<T> deferred;
+
+        Stream(final Source<T> source) {
+            this.source = source;
+        }
+    }
+
+    private static final class Batch<T> {
+        private final Stream<T> stream;
+        private final CursorEntity<T> result;
+        private final Throwable error;
+
+        Batch(final Stream<T> stream, final CursorEntity<T> result, final Throwable error) {
+            this.stream = stream;
+            this.result = result;
+            this.error = error;
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.arangodb.internal.net;
 
+import com.arangodb.ArangoDBBackpressureException;
 import com.arangodb.ArangoDBException;
 import com.arangodb.arch.UsedInApi;
 import com.arangodb.config.HostDescription;
@@ -78,6 +79,9 @@ public abstract class Communication implements Closeable {
                             rfuture.completeExceptionally(ArangoDBException.of(te, reqId));
                         } else if (e instanceof TimeoutException) {
                             rfuture.completeExceptionally(ArangoDBException.of(e, reqId));
+                        } else if (e instanceof ArangoDBBackpressureException) {
+                            // the request was not sent, the host is healthy
+                            rfuture.completeExceptionally(e);
                         } else if (e instanceof ConnectException) {
                             handleException(true, e, hostHandle, request, host, reqId, attemptCount, rfuture);
                         } else if (e != null) {
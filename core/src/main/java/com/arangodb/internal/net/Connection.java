@@ -35,4 +35,11 @@ public interface Connection extends Closeable {
     void setJwt(String jwt);
 
     CompletableFuture<InternalResponse> executeAsync(InternalRequest request);
+
+    /**
+     * @return whether the connection can accept a new request without queueing or rejecting it
+     */
+    default boolean hasCapacity() {
+        return true;
+    }
 }
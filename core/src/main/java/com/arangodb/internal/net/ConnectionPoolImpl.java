@@ -72,13 +72,28 @@ public class ConnectionPoolImpl implements ConnectionPool {
             connections.add(connection);
             current++;
         } else {
-            final int index = Math.floorMod(current++, connections.size());
-            connection = connections.get(index);
+            connection = nextConnection();
         }
 
         return connection;
     }
 
+    /**
+     * Round-robin selection skipping the connections without capacity. If all the connections are full, the next one
+     * is returned anyway and will queue or reject the request.
+     */
+    private Connection nextConnection() {
+        final int size = connections.size();
+        for (int i = 0; i < size; i++) {
+            final Connection c = connections.get(Math.floorMod(current + i, size));
+            if (c.hasCapacity()) {
+                current += i + 1;
+                return c;
+            }
+        }
+        return connections.get(Math.floorMod(current++, size));
+    }
+
     @Override
     public synchronized void setJwt(String jwt) {
         if (jwt != null) {
@@ -0,0 +1,14 @@
+package com.arangodb.internal.serde;
+
+/**
+ * Implemented by Jackson based user data serdes, to let the driver register the Jackson Blackbird module on their
+ * mapper.
+ */
+public interface BlackbirdAwareSerde {
+
+    /**
+     * @return whether the module has been registered
+     * @see JacksonUtils#tryRegisterBlackbirdModule(Object)
+     */
+    boolean tryRegisterBlackbirdModule();
+}
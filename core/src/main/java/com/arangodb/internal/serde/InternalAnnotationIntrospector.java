@@ -6,18 +6,22 @@ import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.List;
 
 class InternalAnnotationIntrospector extends JacksonAnnotationIntrospector {
 
     private final transient UserDataSerializer userDataSerializer;
     private final transient UserDataDeserializer userDataDeserializer;
+    private final transient UserDataListDeserializer userDataListDeserializer;
 
     InternalAnnotationIntrospector(
             final UserDataSerializer userDataSerializer,
-            final UserDataDeserializer userDataDeserializer
+            final UserDataDeserializer userDataDeserializer,
+            final UserDataListDeserializer userDataListDeserializer
     ) {
         this.userDataSerializer = userDataSerializer;
         this.userDataDeserializer = userDataDeserializer;
+        this.userDataListDeserializer = userDataListDeserializer;
     }
 
     @Override
@@ -42,6 +46,8 @@ class InternalAnnotationIntrospector extends JacksonAnnotationIntrospector {
     public Object findDeserializer(Annotated a) {
         if (a.getAnnotation(UserData.class) != null) {
             return userDataDeserializer;
+        } else if (a.getAnnotation(UserDataInside.class) != null && List.class.equals(a.getRawType())) {
+            return userDataListDeserializer;
         } else {
             return super.findDeserializer(a);
         }
@@ -2,6 +2,7 @@ package com.arangodb.internal.serde;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 
 class InternalParameterizedType implements ParameterizedType {
 
@@ -28,4 +29,24 @@ class InternalParameterizedType implements ParameterizedType {
         return null;
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParameterizedType)) {
+            return false;
+        }
+        final ParameterizedType that = (ParameterizedType) o;
+        return that.getOwnerType() == null
+                && rawType.equals(that.getRawType())
+                && Arrays.equals(actualRawArguments, that.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        // consistent with the JDK implementation
+        return Arrays.hashCode(actualRawArguments) ^ rawType.hashCode();
+    }
+
 }
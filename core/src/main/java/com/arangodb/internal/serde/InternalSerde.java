@@ -1,11 +1,16 @@
 package com.arangodb.internal.serde;
 
 import com.arangodb.arch.UsedInApi;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
 import com.arangodb.serde.ArangoSerde;
 import com.arangodb.ContentType;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 
 @UsedInApi
 public interface InternalSerde extends ArangoSerde {
@@ -28,6 +33,21 @@ public interface InternalSerde extends ArangoSerde {
      */
     byte[] extract(byte[] content, String jsonPointer);
 
+    /**
+     * Writes the elements of the array at the top-level attribute {@code field} to the output stream as JSON,
+     * separated by commas and without the enclosing brackets, without deserializing them. The other top-level
+     * attributes are parsed into {@code attributes}.
+     * Used for relaying query results, see {@link com.arangodb.ArangoDatabase#queryTo}.
+     *
+     * @param content    byte array holding an object
+     * @param field      name of the array attribute
+     * @param out        output stream to write the elements to
+     * @param separator  whether to write a comma before the first element
+     * @param attributes object to add the other attributes to
+     * @return number of elements written
+     */
+    int writeJsonElements(byte[] content, String field, OutputStream out, boolean separator, ObjectNode attributes);
+
     /**
      * Deserializes the content and binds it to the target data type.
      * For data type {@link ContentType#JSON}, the byte array is the JSON string encoded using the UTF-8 charset.
@@ -38,6 +58,17 @@ public interface InternalSerde extends ArangoSerde {
      */
     <T> T deserialize(byte[] content, Type type);
 
+    /**
+     * Deserializes the content and binds it to the target data type, like {@link #deserialize(byte[], Type)}, but
+     * nested lists of user data ({@link UserDataInside}) are bound to {@link LazyUserDataList}, deserializing their
+     * elements only when accessed.
+     *
+     * @param content byte array to deserialize
+     * @param type    target data type
+     * @return deserialized object
+     */
+    <T> T deserializeWithLazyUserData(byte[] content, Type type);
+
     /**
      * Deserializes the parsed json node and binds it to the target data type.
      *
@@ -135,6 +166,16 @@ public interface InternalSerde extends ArangoSerde {
      */
     <T> T deserializeUserData(byte[] content, Type type);
 
+    /**
+     * Deserializes the remaining content of the buffer and binds it to the target data type, using the user serde.
+     * The buffer must be backed by an accessible array, which is passed to the user serde without copying it.
+     *
+     * @param content buffer to deserialize
+     * @param type    target data type
+     * @return deserialized object
+     */
+    <T> T deserializeUserData(ByteBuffer content, Type type);
+
     /**
      * Deserializes the parsed json node and binds it to the target data type, using the user serde.
      *
@@ -155,6 +196,18 @@ public interface InternalSerde extends ArangoSerde {
      */
     <T> T deserializeUserData(JsonNode node, Type type);
 
+    /**
+     * Deserializes the array of results of a multi-document operation, binding each element either to
+     * {@link ErrorEntity} or to the target data type, without building a tree. Each element is read twice: first as a
+     * stream of tokens, to find its end and its {@code error} attribute, then when bound from its serialized bytes.
+     *
+     * @param content  byte array to deserialize
+     * @param type     target data type of the documents
+     * @param userData whether the documents should be deserialized using the user serde
+     * @return deserialized documents and errors
+     */
+    <T> MultiDocumentEntity<T> deserializeMultiDocument(byte[] content, Type type, boolean userData);
+
     /**
      * @return the user serde
      */
@@ -1,24 +1,38 @@
 package com.arangodb.internal.serde;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ContentType;
 import com.arangodb.entity.BaseDocument;
 import com.arangodb.entity.BaseEdgeDocument;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.internal.ArangoResponseField;
 import com.arangodb.internal.RequestContextHolder;
+import com.arangodb.internal.util.LruCache;
 import com.arangodb.serde.ArangoSerde;
 import com.arangodb.util.RawBytes;
 import com.arangodb.util.RawJson;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import static com.arangodb.internal.serde.SerdeUtils.checkSupportedJacksonVersion;
 
@@ -28,10 +42,19 @@ final class InternalSerdeImpl implements InternalSerde {
         checkSupportedJacksonVersion();
     }
 
+    private static final int MAX_CACHED_TYPES = 1024;
+
+    private final ContentType contentType;
     private final ArangoSerde userSerde;
     private final ObjectMapper mapper;
+    private final ThreadLocalAttribute sourceAttribute;
+    private final LruCache<Type, ObjectReader> readers = new LruCache<>(MAX_CACHED_TYPES);
+    private final LruCache<Type, ObjectReader> lazyReaders = new LruCache<>(MAX_CACHED_TYPES);
+    private final LruCache<Class<?>, ObjectWriter> writers = new LruCache<>(MAX_CACHED_TYPES);
 
-    InternalSerdeImpl(final ObjectMapper mapper, final ArangoSerde userSerde, final Module protocolModule) {
+    InternalSerdeImpl(final ContentType contentType, final ObjectMapper mapper, final ArangoSerde userSerde,
+                      final Module protocolModule) {
+        this.contentType = contentType;
         this.mapper = mapper;
         this.userSerde = userSerde;
         mapper.deactivateDefaultTyping();
@@ -43,14 +66,17 @@ final class InternalSerdeImpl implements InternalSerde {
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         mapper.setAnnotationIntrospector(new InternalAnnotationIntrospector(
                 new UserDataSerializer(this),
-                new UserDataDeserializer(this)
+                new UserDataDeserializer(this),
+                new UserDataListDeserializer(this)
         ));
+        sourceAttribute = new ThreadLocalAttribute(RawValues.SOURCE_ATTRIBUTE,
+                mapper.getDeserializationConfig().getAttributes());
     }
 
     @Override
     public byte[] serialize(final Object value) {
         try {
-            return mapper.writeValueAsBytes(value);
+            return value != null ? writer(value.getClass()).writeValueAsBytes(value) : mapper.writeValueAsBytes(null);
         } catch (JsonProcessingException e) {
             throw ArangoDBException.of(e);
         }
@@ -72,12 +98,36 @@ final class InternalSerdeImpl implements InternalSerde {
 
     @Override
     public byte[] extract(final byte[] content, final String jsonPointer) {
-        try {
-            JsonNode target = parse(content).at(jsonPointer);
-            return mapper.writeValueAsBytes(target);
+        try (JsonParser p = mapper.getFactory().createParser(content)) {
+            if (!moveTo(p, jsonPointer)) {
+                return mapper.writeValueAsBytes(MissingNode.getInstance());
+            }
+            return RawValues.read(p, content);
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+    }
+
+    @Override
+    public int writeJsonElements(final byte[] content, final String field, final OutputStream out,
+                                 final boolean separator, final ObjectNode attributes) {
+        int count = 0;
+        try (JsonParser p = mapper.getFactory().createParser(content)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new ArangoDBException("Expected an object, found: " + p.currentToken());
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = p.currentName();
+                if (p.nextToken() == JsonToken.START_ARRAY && field.equals(name)) {
+                    count = RawValues.writeJsonElements(p, content, out, separator);
+                } else {
+                    attributes.set(name, mapper.readTree(p));
+                }
+            }
         } catch (IOException e) {
             throw ArangoDBException.of(e);
         }
+        return count;
     }
 
     @Override
@@ -91,13 +141,72 @@ final class InternalSerdeImpl implements InternalSerde {
 
     @Override
     public JsonNode parse(byte[] content, String jsonPointer) {
-        try {
-            return mapper.readTree(content).at(jsonPointer);
+        try (JsonParser p = mapper.getFactory().createParser(content)) {
+            return moveTo(p, jsonPointer) ? mapper.readTree(p) : MissingNode.getInstance();
         } catch (IOException e) {
             throw ArangoDBException.of(e);
         }
     }
 
+    @Override
+    public <T> T deserialize(final byte[] content, final String jsonPointer, final Type type) {
+        final Object previous = sourceAttribute.set(content);
+        try (JsonParser p = mapper.getFactory().createParser(content)) {
+            return moveTo(p, jsonPointer) ? reader(type).readValue(p) : null;
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        } finally {
+            sourceAttribute.restore(previous);
+        }
+    }
+
+    /**
+     * Moves the parser to the value at the json pointer, skipping the subtrees not containing it.
+     *
+     * @return whether the value is present, in which case it is the current token of the parser
+     */
+    private static boolean moveTo(final JsonParser p, final String jsonPointer) throws IOException {
+        if (p.nextToken() == null) {
+            return false;
+        }
+        for (JsonPointer ptr = JsonPointer.compile(jsonPointer); !ptr.matches(); ptr = ptr.tail()) {
+            final boolean found;
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                found = moveToField(p, ptr.getMatchingProperty());
+            } else if (p.currentToken() == JsonToken.START_ARRAY && ptr.mayMatchElement()) {
+                found = moveToElement(p, ptr.getMatchingIndex());
+            } else {
+                found = false;
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean moveToField(final JsonParser p, final String name) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            final boolean match = name.equals(p.currentName());
+            p.nextToken();
+            if (match) {
+                return true;
+            }
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    private static boolean moveToElement(final JsonParser p, final int index) throws IOException {
+        for (int i = 0; p.nextToken() != JsonToken.END_ARRAY; i++) {
+            if (i == index) {
+                return true;
+            }
+            p.skipChildren();
+        }
+        return false;
+    }
+
     @Override
     public byte[] serializeUserData(Object value) {
         if (value == null) {
@@ -113,11 +222,16 @@ final class InternalSerdeImpl implements InternalSerde {
 
     @Override
     public byte[] serializeCollectionUserData(Iterable<?> value) {
-        List<JsonNode> jsonNodeCollection = StreamSupport.stream(value.spliterator(), false)
-                .map(this::serializeUserData)
-                .map(this::parse)
-                .collect(Collectors.toList());
-        return serialize(jsonNodeCollection);
+        // the serialized elements are copied as they are, without parsing and serializing them again
+        RawArrayBuilder builder = new RawArrayBuilder(contentType);
+        for (Object it : value) {
+            if (it == null || isManagedClass(it.getClass())) {
+                builder.add(serializeUserData(it));
+            } else {
+                userSerde.serialize(it, builder.next());
+            }
+        }
+        return builder.build();
     }
 
     @Override
@@ -135,15 +249,102 @@ final class InternalSerdeImpl implements InternalSerde {
         if (type instanceof Class) {
             return deserializeUserData(content, (Class<T>) type);
         } else {
-            throw new UnsupportedOperationException();
+            return userSerde.deserialize(content, type, RequestContextHolder.INSTANCE.getCtx());
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserializeUserData(ByteBuffer content, Type type) {
+        if (!(type instanceof Class)) {
+            return userSerde.deserialize(toByteArray(content), type, RequestContextHolder.INSTANCE.getCtx());
+        } else if (isManagedClass((Class<?>) type)) {
+            return deserialize(toByteArray(content), type);
+        } else {
+            return userSerde.deserialize(content, (Class<T>) type, RequestContextHolder.INSTANCE.getCtx());
+        }
+    }
+
+    private static byte[] toByteArray(final ByteBuffer content) {
+        if (content.arrayOffset() == 0 && content.position() == 0 && content.remaining() == content.array().length) {
+            return content.array();
+        }
+        return Arrays.copyOfRange(content.array(), content.arrayOffset() + content.position(),
+                content.arrayOffset() + content.limit());
+    }
+
     @Override
     public <T> T deserializeUserData(JsonNode node, Type type) {
         return deserializeUserData(serialize(node), type);
     }
 
+    @Override
+    public <T> MultiDocumentEntity<T> deserializeMultiDocument(final byte[] content, final Type type,
+                                                               final boolean userData) {
+        final List<T> docs = new ArrayList<>();
+        final List<ErrorEntity> errors = new ArrayList<>();
+        final List<Object> documentsAndErrors = new ArrayList<>();
+        try (JsonParser p = mapper.getFactory().createParser(content)) {
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                throw new ArangoDBException("Expected array of results, got: " + p.currentToken());
+            }
+            final boolean vpack = RawValues.isVPack(p);
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                final ByteBuffer element;
+                final boolean error;
+                if (vpack) {
+                    element = RawValues.readSlice(p, content);
+                    error = scanErrorField(p);
+                } else {
+                    final int start = (int) p.getTokenLocation().getByteOffset();
+                    error = scanErrorField(p);
+                    element = ByteBuffer.wrap(content, start, (int) p.getCurrentLocation().getByteOffset() - start);
+                }
+                if (error) {
+                    final ErrorEntity e = deserialize(toByteArray(element), ErrorEntity.class);
+                    errors.add(e);
+                    documentsAndErrors.add(e);
+                } else {
+                    // user data of unmanaged classes is bound in place, the other types are bound to a copy
+                    final T doc = userData
+                            ? deserializeUserData(element, type)
+                            : deserialize(toByteArray(element), type);
+                    docs.add(doc);
+                    documentsAndErrors.add(doc);
+                }
+            }
+            if (p.currentToken() != JsonToken.END_ARRAY) {
+                throw new ArangoDBException("Expected object, got: " + p.currentToken());
+            }
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+        final MultiDocumentEntity<T> multiDocument = new MultiDocumentEntity<>();
+        multiDocument.setDocuments(docs);
+        multiDocument.setErrors(errors);
+        multiDocument.setDocumentsAndErrors(documentsAndErrors);
+        return multiDocument;
+    }
+
+    /**
+     * Moves the parser to the end of the current object, skipping the values of its attributes.
+     *
+     * @return whether the object has the attribute {@code error} set to {@code true}
+     */
+    private static boolean scanErrorField(final JsonParser p) throws IOException {
+        boolean error = false;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            final boolean errorField = ArangoResponseField.ERROR_FIELD_NAME.equals(p.currentName());
+            final JsonToken value = p.nextToken();
+            if (errorField) {
+                error = value == JsonToken.VALUE_TRUE;
+            } else {
+                p.skipChildren();
+            }
+        }
+        return error;
+    }
+
     @Override
     public ArangoSerde getUserSerde() {
         return userSerde;
@@ -151,10 +352,13 @@ final class InternalSerdeImpl implements InternalSerde {
 
     @Override
     public <T> T deserialize(final JsonNode node, final Type type) {
+        final Object previous = sourceAttribute.set(null);
         try {
-            return mapper.readerFor(mapper.constructType(type)).readValue(node);
+            return reader(type).readValue(node);
         } catch (IOException e) {
             throw ArangoDBException.of(e);
+        } finally {
+            sourceAttribute.restore(previous);
         }
     }
 
@@ -163,13 +367,40 @@ final class InternalSerdeImpl implements InternalSerde {
         if (content == null || content.length == 0) {
             return null;
         }
+        return read(reader(type), content);
+    }
+
+    @Override
+    public <T> T deserializeWithLazyUserData(final byte[] content, final Type type) {
+        if (content == null || content.length == 0) {
+            return null;
+        }
+        return read(lazyReaders.computeIfAbsent(type,
+                t -> reader(t).withAttribute(UserDataListDeserializer.LAZY_ATTRIBUTE, Boolean.TRUE)), content);
+    }
+
+    private <T> T read(final ObjectReader reader, final byte[] content) {
+        final Object previous = sourceAttribute.set(content);
         try {
-            return mapper.readerFor(mapper.constructType(type)).readValue(content);
+            return reader.readValue(content);
         } catch (IOException e) {
             throw ArangoDBException.of(e);
+        } finally {
+            sourceAttribute.restore(previous);
         }
     }
 
+    /**
+     * @return cached reader for the type, exposing the content being read as {@link RawValues#SOURCE_ATTRIBUTE}
+     */
+    private ObjectReader reader(final Type type) {
+        return readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.constructType(t)).with(sourceAttribute));
+    }
+
+    private ObjectWriter writer(final Class<?> clazz) {
+        return writers.computeIfAbsent(clazz, mapper::writerFor);
+    }
+
     private boolean isManagedClass(Class<?> clazz) {
         return JsonNode.class.isAssignableFrom(clazz) ||
                 RawJson.class.equals(clazz) ||
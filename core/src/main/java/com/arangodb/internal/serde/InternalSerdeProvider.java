@@ -4,6 +4,7 @@ import com.arangodb.ContentType;
 import com.arangodb.serde.ArangoSerde;
 import com.arangodb.serde.ArangoSerdeProvider;
 import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class InternalSerdeProvider implements ArangoSerdeProvider {
 
@@ -34,7 +35,23 @@ public class InternalSerdeProvider implements ArangoSerdeProvider {
      * @return the created InternalSerde
      */
     public InternalSerde create(ArangoSerde userSerde, Module protocolModule) {
-        return new InternalSerdeImpl(InternalMapperProvider.of(contentType), userSerde, protocolModule);
+        return create(userSerde, protocolModule, false);
+    }
+
+    /**
+     * Creates a new InternalSerde with default settings.
+     *
+     * @param userSerde      user serde
+     * @param protocolModule optional Jackson module to support protocol specific types
+     * @param blackbird      whether to try registering the Jackson Blackbird module
+     * @return the created InternalSerde
+     */
+    public InternalSerde create(ArangoSerde userSerde, Module protocolModule, boolean blackbird) {
+        ObjectMapper mapper = InternalMapperProvider.of(contentType);
+        if (blackbird) {
+            JacksonUtils.tryRegisterBlackbirdModule(mapper);
+        }
+        return new InternalSerdeImpl(contentType, mapper, userSerde, protocolModule);
     }
 
     @Override
@@ -117,6 +117,49 @@ public final class JacksonUtils {
         }
     }
 
+    /**
+     * Registers the Jackson Blackbird module, if available in the classpath.
+     * It uses reflection, since the module is an optional dependency.
+     * It uses dynamic package names to be compatible with shaded Jackson.
+     * It is skipped in GraalVM native images, where the lambdas generated by the module are not supported.
+     *
+     * @param mapper ObjectMapper to configure
+     * @return whether the module has been registered
+     */
+    public static boolean tryRegisterBlackbirdModule(Object mapper) {
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") != null) {
+            LOG.debug("Skipping Blackbird module registration in GraalVM native image");
+            return false;
+        }
+        try {
+            registerBlackbirdModule(mapper);
+            return true;
+        } catch (ClassNotFoundException e) {
+            LOG.debug("Blackbird module not found in the classpath, skipping...");
+            return false;
+        } catch (Throwable t) {
+            LOG.warn("Got exception while registering Blackbird module, skipping...", t);
+            return false;
+        }
+    }
+
+    private static void registerBlackbirdModule(Object mapper) throws Exception {
+        Class<?> mapperClass = mapper.getClass();
+        while (!mapperClass.getSimpleName().equals("ObjectMapper")) {
+            mapperClass = mapperClass.getSuperclass();
+        }
+        // get pkg names dynamically, to support shaded Jackson
+        String databindPkg = mapperClass.getPackage().getName();
+        String basePkg = databindPkg.substring(0, databindPkg.lastIndexOf('.'));
+        ClassLoader cl = mapperClass.getClassLoader();
+        Class<?> moduleClass = Class.forName(databindPkg + ".Module", false, cl);
+        Object blackbird = Class.forName(basePkg + ".module.blackbird.BlackbirdModule", true, cl)
+                .getConstructor()
+                .newInstance();
+        mapperClass.getMethod("registerModule", moduleClass).invoke(mapper, blackbird);
+        LOG.debug("Registered Blackbird module");
+    }
+
     @SuppressWarnings("SameParameterValue")
     private static boolean isAtLeastVersion(Version version, int major, int minor) {
         int currentMajor = version.getMajorVersion();
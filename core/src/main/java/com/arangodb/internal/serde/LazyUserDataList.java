@@ -0,0 +1,59 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.RequestContext;
+import com.arangodb.internal.RequestContextHolder;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+
+/**
+ * Unmodifiable list of user data, holding the serialized elements and deserializing them on access, using the user
+ * serde and the {@link RequestContext} of the response they come from.
+ * <p>
+ * The elements are not copied: they are kept as regions of the buffer of the response, or of a buffer gathering the
+ * few values that could not be located in it. Elements are deserialized every time they are accessed. The buffers are
+ * released with the list.
+ */
+public final class LazyUserDataList<T> extends AbstractList<T> {
+    static final int NULL = -1;
+
+    private final InternalSerde serde;
+    private final Type type;
+    private final byte[] source;
+    private final byte[] copies;
+    // start of each element, in source if positive, in copies at -start - 1 if negative
+    private final int[] starts;
+    // length of each element, or NULL
+    private final int[] lengths;
+    private final RequestContext ctx;
+
+    LazyUserDataList(final InternalSerde serde, final Type type, final byte[] source, final byte[] copies,
+                     final int[] starts, final int[] lengths, final RequestContext ctx) {
+        this.serde = serde;
+        this.type = type;
+        this.source = source;
+        this.copies = copies;
+        this.starts = starts;
+        this.lengths = lengths;
+        this.ctx = ctx;
+    }
+
+    @Override
+    public T get(final int index) {
+        final int length = lengths[index];
+        if (length == NULL) {
+            return null;
+        }
+        final int start = starts[index];
+        final ByteBuffer element = start >= 0
+                ? ByteBuffer.wrap(source, start, length).slice()
+                : ByteBuffer.wrap(copies, -start - 1, length).slice();
+        return RequestContextHolder.INSTANCE.runWithCtx(ctx, () -> serde.deserializeUserData(element, type));
+    }
+
+    @Override
+    public int size() {
+        return lengths.length;
+    }
+}
@@ -0,0 +1,94 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.ContentType;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Builds an array out of already serialized values, copying their bytes without parsing them.
+ * <p>
+ * VPack arrays are written in the compact format (without index table), so that the byte length and the number of
+ * items can be written once all the items have been added.
+ */
+final class RawArrayBuilder {
+    private final boolean vpack;
+    private byte[] bytes = new byte[1024];
+    private int size;
+    private int count;
+    private final Appender out = new Appender();
+
+    RawArrayBuilder(final ContentType contentType) {
+        vpack = contentType == ContentType.VPACK;
+        if (!vpack) {
+            bytes[size++] = '[';
+        }
+    }
+
+    /**
+     * @param value a single value, serialized in the content type of the array
+     */
+    void add(final byte[] value) {
+        next();
+        out.write(value, 0, value.length);
+    }
+
+    /**
+     * Starts a new item, to be written as a single value, serialized in the content type of the array.
+     *
+     * @return stream appending to the array, valid until the next call to this builder
+     */
+    OutputStream next() {
+        if (!vpack && count > 0) {
+            ensureCapacity(1);
+            bytes[size++] = ',';
+        }
+        count++;
+        return out;
+    }
+
+    byte[] build() {
+        return vpack ? buildVPack() : buildJson();
+    }
+
+    private byte[] buildJson() {
+        ensureCapacity(1);
+        bytes[size++] = ']';
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private byte[] buildVPack() {
+        if (count == 0) {
+            // empty array
+            return new byte[]{0x01};
+        }
+        final int byteLength = VPackCompact.byteLength(size, count);
+        final byte[] result = new byte[byteLength];
+        final int pos = VPackCompact.writeHead(result, 0, VPackCompact.ARRAY, byteLength);
+        System.arraycopy(bytes, 0, result, pos, size);
+        VPackCompact.writeItems(result, byteLength, count);
+        return result;
+    }
+
+    private void ensureCapacity(final int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+
+    private final class Appender extends OutputStream {
+        @Override
+        public void write(final int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+    }
+
+}
@@ -0,0 +1,444 @@
+package com.arangodb.internal.serde;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Copies already serialized values from and to Jackson parsers and generators, avoiding to parse them into trees
+ * whenever possible:
+ * <ul>
+ *     <li>JSON values are written with {@link JsonGenerator#writeRawValue(SerializableString)} and read by copying
+ *     the token span from the source buffer (see {@link #SOURCE_ATTRIBUTE})</li>
+ *     <li>VPack values are written and read as slices, through the VPack generator and parser methods
+ *     {@code writeVPack(VPackSlice)} and {@code getVPack()}, looked up reflectively since the VPack dataformat
+ *     is an optional dependency (possibly shaded)</li>
+ * </ul>
+ * In all the other cases the value is copied token by token.
+ */
+final class RawValues {
+
+    /**
+     * {@link DeserializationContext} attribute holding the byte array being parsed, if available.
+     */
+    static final Object SOURCE_ATTRIBUTE = new Object();
+
+    private static final MethodType WRITE_VPACK_TYPE = MethodType.methodType(void.class, JsonGenerator.class, byte[].class);
+
+    private static final ClassValue<MethodHandle> WRITE_VPACK = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            for (Method m : type.getMethods()) {
+                if (m.getName().equals("writeVPack") && m.getParameterCount() == 1) {
+                    try {
+                        Constructor<?> sliceConstructor = m.getParameterTypes()[0].getConstructor(byte[].class);
+                        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                        return MethodHandles.filterArguments(lookup.unreflect(m), 1,
+                                        lookup.unreflectConstructor(sliceConstructor))
+                                .asType(WRITE_VPACK_TYPE);
+                    } catch (ReflectiveOperationException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+    };
+
+    private static final MethodType GET_VPACK_TYPE = MethodType.methodType(Object.class, JsonParser.class);
+
+    /**
+     * {@code getVPack()} of the VPack parser, returning the slice of the current value
+     */
+    private static final ClassValue<MethodHandle> GET_VPACK = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().unreflect(type.getMethod("getVPack")).asType(GET_VPACK_TYPE);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    };
+
+    /**
+     * {@code getBuffer()}, {@code getStart()} and {@code getByteSize()} of the VPack slice
+     */
+    private static final ClassValue<MethodHandle[]> SLICE_REGION = new ClassValue<MethodHandle[]>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                return new MethodHandle[]{
+                        lookup.unreflect(type.getMethod("getBuffer"))
+                                .asType(MethodType.methodType(byte[].class, Object.class)),
+                        lookup.unreflect(type.getMethod("getStart"))
+                                .asType(MethodType.methodType(int.class, Object.class)),
+                        lookup.unreflect(type.getMethod("getByteSize"))
+                                .asType(MethodType.methodType(int.class, Object.class))
+                };
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    };
+
+    private static final ClassValue<Boolean> VPACK_PARSER = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                type.getMethod("getVPack");
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private RawValues() {
+    }
+
+    /**
+     * @return whether {@code p} is a VPack parser, whose {@code getBinaryValue()} returns the bytes of the current
+     * slice
+     */
+    static boolean isVPack(final JsonParser p) {
+        return VPACK_PARSER.get(p.getClass());
+    }
+
+    /**
+     * @param value a single value, serialized in the data format of {@code gen}
+     */
+    static void write(final JsonGenerator gen, final byte[] value) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            gen.writeRawValue(new RawUtf8(value));
+            return;
+        }
+        final MethodHandle writeVPack = WRITE_VPACK.get(gen.getClass());
+        if (writeVPack != null) {
+            try {
+                writeVPack.invokeExact(gen, value);
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IOException(t);
+            }
+            return;
+        }
+        try (JsonParser parser = gen.getCodec().getFactory().createParser(value)) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+    }
+
+    /**
+     * @param json a single JSON value
+     */
+    static void writeJson(final JsonGenerator gen, final String json) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            gen.writeRawValue(json);
+            return;
+        }
+        try (JsonParser parser = SerdeUtils.INSTANCE.jsonFactory().createParser(json)) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+    }
+
+    /**
+     * Reads the current value of {@code p}.
+     *
+     * @return the value, serialized in the data format of {@code p}
+     */
+    static byte[] read(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        return read(p, (byte[]) ctxt.getAttribute(SOURCE_ATTRIBUTE));
+    }
+
+    /**
+     * Reads the current value of {@code p}.
+     *
+     * @param source the byte array being parsed by {@code p}, if available
+     * @return the value, serialized in the data format of {@code p}
+     */
+    static byte[] read(final JsonParser p, final byte[] source) throws IOException {
+        final ByteBuffer value = readBuffer(p, source);
+        if (value.arrayOffset() == 0 && value.remaining() == value.array().length) {
+            return value.array();
+        }
+        return Arrays.copyOfRange(value.array(), value.arrayOffset(), value.arrayOffset() + value.remaining());
+    }
+
+    /**
+     * Reads the current value of {@code p}, like {@link #read(JsonParser, DeserializationContext)}, but without
+     * copying the token span of JSON containers, nor the slice of VPack containers, out of the source buffer.
+     *
+     * @return array backed buffer holding the value, possibly wrapping a region of the source buffer
+     */
+    static ByteBuffer readBuffer(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        return readBuffer(p, (byte[]) ctxt.getAttribute(SOURCE_ATTRIBUTE));
+    }
+
+    private static ByteBuffer readBuffer(final JsonParser p, final byte[] source) throws IOException {
+        final boolean container = p.isExpectedStartObjectToken() || p.isExpectedStartArrayToken();
+        if (container && isVPack(p)) {
+            final ByteBuffer value = readSlice(p, source);
+            p.skipChildren();
+            return value;
+        }
+        final int start = container && source != null ? (int) p.getTokenLocation().getByteOffset() : -1;
+        if (isContainerStart(source, start)) {
+            return ByteBuffer.wrap(source, start, skipContainer(p, source, start) - start).slice();
+        }
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        copy(p, p.getCodec().getFactory().createGenerator(os));
+        return ByteBuffer.wrap(os.toByteArray());
+    }
+
+    /**
+     * Reads the slice of the current value of the VPack parser {@code p}, without moving the parser.
+     *
+     * @param source the byte array being parsed by {@code p}, if available
+     * @return array backed buffer holding the slice, wrapping a region of {@code source} if the parser reads from it
+     */
+    static ByteBuffer readSlice(final JsonParser p, final byte[] source) throws IOException {
+        final ByteBuffer region = sliceRegion(p, source);
+        // bytes of the current slice
+        return region != null ? region : ByteBuffer.wrap(p.getBinaryValue());
+    }
+
+    /**
+     * @return region of {@code source} holding the slice of the current value of the VPack parser {@code p}, or
+     * {@code null} if the parser does not read from {@code source}
+     */
+    private static ByteBuffer sliceRegion(final JsonParser p, final byte[] source) throws IOException {
+        final MethodHandle getVPack = GET_VPACK.get(p.getClass());
+        if (source == null || getVPack == null) {
+            return null;
+        }
+        try {
+            final Object slice = getVPack.invokeExact(p);
+            final MethodHandle[] region = SLICE_REGION.get(slice.getClass());
+            if (region == null || (byte[]) region[0].invokeExact(slice) != source) {
+                return null;
+            }
+            final int start = (int) region[1].invokeExact(slice);
+            final int size = (int) region[2].invokeExact(slice);
+            return ByteBuffer.wrap(source, start, size).slice();
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException(t);
+        }
+    }
+
+    /**
+     * Reads the current value of {@code p} as JSON.
+     */
+    static String readJson(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        final boolean container = p.isExpectedStartObjectToken() || p.isExpectedStartArrayToken();
+        final byte[] source = (byte[]) ctxt.getAttribute(SOURCE_ATTRIBUTE);
+        final int start = container && source != null && !isVPack(p)
+                ? (int) p.getTokenLocation().getByteOffset() : -1;
+        if (isContainerStart(source, start)) {
+            final int end = skipContainer(p, source, start);
+            return new String(source, start, end - start, StandardCharsets.UTF_8);
+        }
+        final StringWriter writer = new StringWriter();
+        copy(p, SerdeUtils.INSTANCE.jsonFactory().createGenerator(writer));
+        return writer.toString();
+    }
+
+    /**
+     * Writes the elements of the array at the current token of {@code p} to {@code out} as JSON, separated by commas
+     * and without the enclosing brackets. JSON elements are copied from the source buffer at once, VPack elements are
+     * converted one by one.
+     *
+     * @param source    the byte array being parsed by {@code p}, if available
+     * @param separator whether to write a comma before the first element
+     * @return the number of elements written
+     */
+    static int writeJsonElements(final JsonParser p, final byte[] source, final OutputStream out,
+                                 final boolean separator) throws IOException {
+        final int start = source != null && !isVPack(p) ? (int) p.getTokenLocation().getByteOffset() : -1;
+        if (isContainerStart(source, start)) {
+            int count = 0;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                p.skipChildren();
+                count++;
+            }
+            final int end = (int) p.getCurrentLocation().getByteOffset();
+            if (source[end - 1] != ']') {
+                throw new IllegalStateException("Cannot determine the end of the value at offset " + start);
+            }
+            if (count > 0) {
+                if (separator) {
+                    out.write(',');
+                }
+                out.write(source, start + 1, end - start - 2);
+            }
+            return count;
+        }
+        int count = 0;
+        final JsonGenerator gen = SerdeUtils.INSTANCE.jsonFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        try (JsonGenerator g = gen) {
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (separator || count > 0) {
+                    g.writeRaw(',');
+                }
+                g.copyCurrentStructure(p);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void copy(final JsonParser p, final JsonGenerator gen) throws IOException {
+        try (JsonGenerator g = gen) {
+            g.copyCurrentStructure(p);
+        }
+    }
+
+    /**
+     * Token locations are only meaningful for parsers reading directly from {@code source}, e.g. they are not for
+     * parsers over buffered tokens or trees.
+     */
+    private static boolean isContainerStart(final byte[] source, final int start) {
+        return start >= 0 && start < source.length && (source[start] == '{' || source[start] == '[');
+    }
+
+    /**
+     * @return the offset right after the end of the container starting at {@code start}
+     */
+    private static int skipContainer(final JsonParser p, final byte[] source, final int start) throws IOException {
+        p.skipChildren();
+        final int end = (int) p.getCurrentLocation().getByteOffset();
+        final byte last = end > start && end <= source.length ? source[end - 1] : 0;
+        if ((source[start] == '{' && last == '}') || (source[start] == '[' && last == ']')) {
+            return end;
+        }
+        throw new IllegalStateException("Cannot determine the end of the value at offset " + start);
+    }
+
+    /**
+     * UTF-8 encoded raw JSON value, to be written unquoted. The quoted forms, not used for raw values, are delegated to
+     * a {@link SerializedString} created on first use.
+     */
+    private static final class RawUtf8 implements SerializableString {
+        private final byte[] value;
+        private String string;
+        private SerializedString quoted;
+
+        RawUtf8(final byte[] value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getValue() {
+            if (string == null) {
+                string = new String(value, StandardCharsets.UTF_8);
+            }
+            return string;
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return value;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(final byte[] buffer, final int offset) {
+            if (offset + value.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(value, 0, buffer, offset, value.length);
+            return value.length;
+        }
+
+        @Override
+        public int appendUnquoted(final char[] buffer, final int offset) {
+            final String s = getValue();
+            if (offset + s.length() > buffer.length) {
+                return -1;
+            }
+            s.getChars(0, s.length(), buffer, offset);
+            return s.length();
+        }
+
+        @Override
+        public int writeUnquotedUTF8(final OutputStream out) throws IOException {
+            out.write(value);
+            return value.length;
+        }
+
+        @Override
+        public int putUnquotedUTF8(final ByteBuffer buffer) {
+            if (value.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(value);
+            return value.length;
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return quoted().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return quoted().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(final byte[] buffer, final int offset) {
+            return quoted().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(final char[] buffer, final int offset) {
+            return quoted().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(final OutputStream out) throws IOException {
+            return quoted().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int putQuotedUTF8(final ByteBuffer buffer) {
+            return quoted().putQuotedUTF8(buffer);
+        }
+
+        private SerializedString quoted() {
+            if (quoted == null) {
+                quoted = new SerializedString(getValue());
+            }
+            return quoted;
+        }
+    }
+
+}
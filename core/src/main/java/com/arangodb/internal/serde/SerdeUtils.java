@@ -1,6 +1,7 @@
 package com.arangodb.internal.serde;
 
 import com.arangodb.ArangoDBException;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -21,6 +22,10 @@ public enum SerdeUtils {
 
     private final ObjectMapper jsonMapper = new ObjectMapper();
 
+    JsonFactory jsonFactory() {
+        return jsonMapper.getFactory();
+    }
+
     public static Type constructListType(Class<?> clazz) {
         return TypeFactory.defaultInstance().constructCollectionType(List.class, clazz);
     }
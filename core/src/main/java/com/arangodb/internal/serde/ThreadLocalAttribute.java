@@ -0,0 +1,74 @@
+package com.arangodb.internal.serde;
+
+import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+
+import java.util.Map;
+
+/**
+ * Context attributes exposing, for a given key, the value bound to the current thread. This allows passing per call
+ * values to cached readers, without creating a new reader and new attributes for each call.
+ */
+public final class ThreadLocalAttribute extends ContextAttributes {
+    private final Object key;
+    private final ThreadLocal<Object> value;
+    private final ContextAttributes delegate;
+
+    public ThreadLocalAttribute(final Object key, final ContextAttributes delegate) {
+        this(key, new ThreadLocal<>(), delegate);
+    }
+
+    private ThreadLocalAttribute(final Object key, final ThreadLocal<Object> value, final ContextAttributes delegate) {
+        this.key = key;
+        this.value = value;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Binds the value to the current thread.
+     *
+     * @return the previously bound value, to be restored with {@link #restore(Object)}
+     */
+    public Object set(final Object v) {
+        final Object previous = value.get();
+        value.set(v);
+        return previous;
+    }
+
+    public void restore(final Object previous) {
+        // set() is cheaper than remove() on the hot path
+        value.set(previous);
+    }
+
+    /**
+     * @return attributes exposing the value bound to the current thread, delegating the other keys to
+     * {@code attributes}
+     */
+    public ThreadLocalAttribute withDelegate(final ContextAttributes attributes) {
+        return new ThreadLocalAttribute(key, value, attributes);
+    }
+
+    @Override
+    public Object getAttribute(final Object k) {
+        return key.equals(k) ? value.get() : delegate.getAttribute(k);
+    }
+
+    @Override
+    public ContextAttributes withSharedAttribute(final Object k, final Object v) {
+        return new ThreadLocalAttribute(key, value, delegate.withSharedAttribute(k, v));
+    }
+
+    @Override
+    public ContextAttributes withSharedAttributes(final Map<?, ?> attributes) {
+        return new ThreadLocalAttribute(key, value, delegate.withSharedAttributes(attributes));
+    }
+
+    @Override
+    public ContextAttributes withoutSharedAttribute(final Object k) {
+        return new ThreadLocalAttribute(key, value, delegate.withoutSharedAttribute(k));
+    }
+
+    @Override
+    public ContextAttributes withPerCallAttribute(final Object k, final Object v) {
+        return new ThreadLocalAttribute(key, value, delegate.withPerCallAttribute(k, v));
+    }
+}
@@ -29,7 +29,7 @@ class UserDataDeserializer extends JsonDeserializer<Object> implements Contextua
 
     @Override
     public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        return serde.deserializeUserData(p.readValueAsTree(), targetType);
+        return serde.deserializeUserData(RawValues.readBuffer(p, ctxt), targetType);
     }
 
     @Override
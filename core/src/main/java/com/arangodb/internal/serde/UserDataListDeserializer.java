@@ -0,0 +1,100 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.internal.RequestContextHolder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.arangodb.internal.serde.SerdeUtils.convertToType;
+
+/**
+ * Deserializes lists of user data ({@link UserDataInside}). If the {@link #LAZY_ATTRIBUTE} is set, the elements are
+ * not bound, but kept serialized in a {@link LazyUserDataList}, as regions of the buffer being deserialized.
+ */
+class UserDataListDeserializer extends JsonDeserializer<List<Object>> implements ContextualDeserializer {
+
+    /**
+     * {@link DeserializationContext} attribute enabling the lazy deserialization of the elements.
+     */
+    static final Object LAZY_ATTRIBUTE = new Object();
+
+    private final Type elementType;
+    private final InternalSerde serde;
+
+    UserDataListDeserializer(final InternalSerde serde) {
+        elementType = null;
+        this.serde = serde;
+    }
+
+    private UserDataListDeserializer(final JavaType elementType, final InternalSerde serde) {
+        this.elementType = convertToType(elementType);
+        this.serde = serde;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (List<Object>) ctxt.handleUnexpectedToken(List.class, p);
+        }
+        if (ctxt.getAttribute(LAZY_ATTRIBUTE) != null) {
+            return deserializeLazy(p, ctxt);
+        }
+        final List<Object> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(p.currentToken() == JsonToken.VALUE_NULL
+                    ? null
+                    : serde.deserializeUserData(RawValues.readBuffer(p, ctxt), elementType));
+        }
+        return values;
+    }
+
+    /**
+     * Records the region of the source buffer holding each element, the elements that cannot be located in the
+     * source buffer (e.g. JSON scalars) are copied to a separate buffer.
+     */
+    private List<Object> deserializeLazy(JsonParser p, DeserializationContext ctxt) throws IOException {
+        final byte[] source = (byte[]) ctxt.getAttribute(RawValues.SOURCE_ATTRIBUTE);
+        final ByteArrayOutputStream copies = new ByteArrayOutputStream(0);
+        int[] starts = new int[16];
+        int[] lengths = new int[16];
+        int size = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            if (p.currentToken() == JsonToken.VALUE_NULL) {
+                lengths[size++] = LazyUserDataList.NULL;
+                continue;
+            }
+            final ByteBuffer element = RawValues.readBuffer(p, ctxt);
+            if (element.array() == source) {
+                starts[size] = element.arrayOffset() + element.position();
+            } else {
+                starts[size] = -copies.size() - 1;
+                copies.write(element.array(), element.arrayOffset() + element.position(), element.remaining());
+            }
+            lengths[size++] = element.remaining();
+        }
+        return new LazyUserDataList<>(serde, elementType, source, copies.toByteArray(),
+                Arrays.copyOf(starts, size), Arrays.copyOf(lengths, size), RequestContextHolder.INSTANCE.getCtx());
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+        return new UserDataListDeserializer(ctxt.getContextualType().getContentType(), serde);
+    }
+}
@@ -1,7 +1,6 @@
 package com.arangodb.internal.serde;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
@@ -16,10 +15,6 @@ class UserDataSerializer extends JsonSerializer<Object> {
 
     @Override
     public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-        // TODO: find a way to append raw bytes directly
-        // see https://github.com/FasterXML/jackson-core/issues/914
-        try (JsonParser parser = gen.getCodec().getFactory().createParser(serde.serializeUserData(value))) {
-            gen.writeTree(parser.readValueAsTree());
-        }
+        RawValues.write(gen, serde.serializeUserData(value));
     }
 }
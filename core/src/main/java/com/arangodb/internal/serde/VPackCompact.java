@@ -0,0 +1,85 @@
+package com.arangodb.internal.serde;
+
+/**
+ * Encoding of VPack arrays and objects in the compact format (without index table):
+ * <pre>
+ * type, byteLength (varint), content, number of items (reversed varint)
+ * </pre>
+ * where the byte length includes the size of its own encoding.
+ */
+public final class VPackCompact {
+
+    public static final int ARRAY = 0x13;
+    public static final int OBJECT = 0x14;
+
+    private VPackCompact() {
+    }
+
+    /**
+     * @param contentLength length of the encoded items
+     * @param items         number of items, greater than 0
+     * @return total length of the compact array or object
+     */
+    public static int byteLength(final int contentLength, final int items) {
+        final int itemsLength = varIntLength(items);
+        int lengthLength = 1;
+        while (varIntLength(1 + lengthLength + contentLength + itemsLength) != lengthLength) {
+            lengthLength++;
+        }
+        return 1 + lengthLength + contentLength + itemsLength;
+    }
+
+    /**
+     * @return length of the type and byte length preceding the content
+     */
+    public static int headLength(final int byteLength) {
+        return 1 + varIntLength(byteLength);
+    }
+
+    /**
+     * Writes the type and the byte length at {@code pos}.
+     *
+     * @return position of the content
+     */
+    public static int writeHead(final byte[] dst, final int pos, final int type, final int byteLength) {
+        dst[pos] = (byte) type;
+        int p = pos + 1;
+        int v = byteLength;
+        do {
+            int b = v & 0x7f;
+            v >>>= 7;
+            if (v != 0) {
+                b |= 0x80;
+            }
+            dst[p++] = (byte) b;
+        } while (v != 0);
+        return p;
+    }
+
+    /**
+     * Writes the number of items, in reversed varint format, right before {@code end}.
+     */
+    public static void writeItems(final byte[] dst, final int end, final int items) {
+        int pos = end - 1;
+        int v = items;
+        do {
+            int b = v & 0x7f;
+            v >>>= 7;
+            if (v != 0) {
+                b |= 0x80;
+            }
+            dst[pos--] = (byte) b;
+        } while (v != 0);
+    }
+
+    private static int varIntLength(final int value) {
+        int len = 1;
+        int v = value >>> 7;
+        while (v != 0) {
+            len++;
+            v >>>= 7;
+        }
+        return len;
+    }
+
+}
@@ -0,0 +1,297 @@
+package com.arangodb.internal.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Approximate timer backed by a hashed wheel, optimized for a large number of short-lived timeouts that are mostly
+ * cancelled before they expire (e.g. request timeouts).
+ * <p>
+ * Scheduling and cancelling a timeout are O(1) and do not contend on a shared lock: new and cancelled timeouts are
+ * queued and processed by the worker thread at the next tick. Timeouts expire with a precision of one tick.
+ */
+public final class HashedWheelTimer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimer.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final HashedWheelTimer SHARED = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 512);
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong pending = new AtomicLong();
+    // timeouts referenced by the queues or the buckets, including the cancelled ones not removed yet
+    private final AtomicLong retained = new AtomicLong();
+    private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * @param tickDuration duration of a tick
+     * @param unit         time unit of {@code tickDuration}
+     * @param ticksPerWheel number of buckets of the wheel, rounded up to the next power of two
+     */
+    public HashedWheelTimer(final long tickDuration, final TimeUnit unit, final int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel must be in range (0, 2^30]");
+        }
+        this.tickDuration = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * @return the driver-wide timer, shared by the VST connections and the retries of cursor batches
+     */
+    public static HashedWheelTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Schedules the execution of {@code task} after the given delay. The task is executed on the timer thread, so it
+     * should be short and must not block.
+     *
+     * @return handle that can be used to cancel the task
+     */
+    public Timeout newTimeout(final Runnable task, final long delay, final TimeUnit unit) {
+        start();
+        final long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        final Timeout timeout = new Timeout(this, task, deadline);
+        pending.incrementAndGet();
+        retained.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return number of scheduled timeouts not yet expired nor cancelled
+     */
+    public long pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * @return number of timeouts still referenced by the timer, including the cancelled ones that the worker thread
+     * has not removed yet
+     */
+    public long retainedTimeouts() {
+        return retained.get();
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            startTime = System.nanoTime();
+            startTimeInitialized.countDown();
+            final Thread worker = Executors.defaultThreadFactory().newThread(this::run);
+            worker.setDaemon(true);
+            worker.setName("adb-timer-" + THREAD_COUNT.getAndIncrement());
+            worker.start();
+            return;
+        }
+        // the deadlines are relative to startTime, wait for the thread starting the timer to initialize it
+        boolean interrupted = false;
+        while (startTimeInitialized.getCount() > 0) {
+            try {
+                startTimeInitialized.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            final long deadline = waitForNextTick();
+            processCancelledTimeouts();
+            transferTimeoutsToBuckets();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        final long deadline = tickDuration * (tick + 1);
+        while (true) {
+            final long remaining = deadline - (System.nanoTime() - startTime);
+            if (remaining <= 0) {
+                return deadline;
+            }
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        // bounded, to not starve the current tick under heavy scheduling load
+        for (int i = 0; i < 100_000; i++) {
+            final Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != Timeout.ST_INIT) {
+                retained.decrementAndGet();
+                continue;
+            }
+            final long calculated = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            final long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Handle of a task scheduled with {@link #newTimeout(Runnable, long, TimeUnit)}.
+     */
+    public static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+
+        // accessed only by the worker thread
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(final HashedWheelTimer timer, final Runnable task, final long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task, if not already executed.
+         *
+         * @return {@code true} if the task was cancelled by this invocation
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOGGER.warn("Exception thrown by timeout task", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, accessed only by the worker thread.
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(final Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(final long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(final Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            final Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            retained.decrementAndGet();
+        }
+    }
+
+}
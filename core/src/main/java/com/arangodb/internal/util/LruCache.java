@@ -0,0 +1,90 @@
+package com.arangodb.internal.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Concurrent cache bounded in number of entries, evicting the least recently used entry once full.
+ * <p>
+ * Hits do not take any lock: they only record the time of the access in the entry. Evictions scan the entries to
+ * find the least recently used one, so the cache is meant for small key sets where misses are rare once warmed up.
+ */
+public final class LruCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxSize maximum number of entries
+     */
+    public LruCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the cached value, or {@code null} if absent
+     */
+    public V get(final K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.value;
+    }
+
+    /**
+     * @return the cached value, or the value computed by {@code function} and cached if absent
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> function) {
+        final V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final V value = function.apply(key);
+        if (entries.putIfAbsent(key, new Entry<>(value)) == null && entries.size() > maxSize) {
+            evict();
+        }
+        return value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private synchronized void evict() {
+        while (entries.size() > maxSize) {
+            K eldest = null;
+            long eldestAccess = 0;
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                final long access = e.getValue().lastAccess;
+                if (eldest == null || access - eldestAccess < 0) {
+                    eldest = e.getKey();
+                    eldestAccess = access;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            entries.remove(eldest);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long lastAccess = System.nanoTime();
+
+        Entry(final V value) {
+            this.value = value;
+        }
+    }
+
+}
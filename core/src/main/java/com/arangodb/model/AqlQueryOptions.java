@@ -39,6 +39,13 @@ public final class AqlQueryOptions extends TransactionalOptions<AqlQueryOptions>
     private String query;
     private Options options;
     private Boolean allowDirtyRead;
+    private Boolean lazyBatches;
+    private Integer prefetchBatches;
+    private Boolean adaptiveBatchSize;
+    private Long maxBufferedBytes;
+    private Long retryTimeout;
+    private Long clientCacheTtl;
+    private Collection<String> clientCacheCollections;
 
     @Override
     AqlQueryOptions getThis() {
@@ -473,6 +480,160 @@ public final class AqlQueryOptions extends TransactionalOptions<AqlQueryOptions>
         return allowDirtyRead;
     }
 
+    public Boolean getLazyBatches() {
+        return lazyBatches;
+    }
+
+    /**
+     * @param lazyBatches Set to {@code true} to deserialize the result documents of {@link com.arangodb.ArangoCursor}
+     *                    one at a time, when they are returned by the cursor iterator. Each batch is then kept in
+     *                    memory in its serialized form until the next batch replaces it, so that documents which are
+     *                    never reached (e.g. with {@code stream().limit(n)}) are never deserialized.
+     *                    <p/>
+     *                    If set to false (default), each batch is fully deserialized as soon as it is received.
+     *                    <p/>
+     *                    This option is only used by the client and has no effect on asynchronous cursors.
+     * @return options
+     */
+    public AqlQueryOptions lazyBatches(final Boolean lazyBatches) {
+        this.lazyBatches = lazyBatches;
+        return this;
+    }
+
+    public Integer getPrefetchBatches() {
+        return prefetchBatches;
+    }
+
+    /**
+     * @param prefetchBatches Number of batches that {@link com.arangodb.ArangoCursor} requests in advance, while the
+     *                        current batch is being consumed. The request for the next batch is sent as soon as the
+     *                        current one is received, so that fetching batches overlaps with processing them. At
+     *                        most {@code prefetchBatches} batches (each of up to {@link #batchSize(Integer)} documents)
+     *                        are held in memory in addition to the current one.
+     *                        <p/>
+     *                        If set to 0 (default), each batch is requested once the previous one has been consumed.
+     *                        <p/>
+     *                        This option is only used by the client and has no effect on asynchronous cursors.
+     * @return options
+     */
+    public AqlQueryOptions prefetchBatches(final Integer prefetchBatches) {
+        this.prefetchBatches = prefetchBatches;
+        return this;
+    }
+
+    public Boolean getAdaptiveBatchSize() {
+        return adaptiveBatchSize;
+    }
+
+    /**
+     * @param adaptiveBatchSize Set to {@code true} to let the driver choose the {@link #batchSize(Integer)} of the
+     *                          query, from the previous executions of the same query string. For each batch of
+     *                          {@link com.arangodb.ArangoCursor}, the driver measures the time taken to fetch it, its
+     *                          size in bytes and the time taken to consume it. The next executions of the query then
+     *                          use batches which take about 100 ms to be fetched or consumed, whichever is slower, and
+     *                          are no larger than 4 MiB. The given {@link #batchSize(Integer)} is only used for the
+     *                          first execution.
+     *                          <p/>
+     *                          The server does not allow changing the batch size of an existing cursor, so the tuning
+     *                          only applies to the following queries.
+     *                          <p/>
+     *                          This option is only used by the client and has no effect on asynchronous cursors.
+     * @return options
+     */
+    public AqlQueryOptions adaptiveBatchSize(final Boolean adaptiveBatchSize) {
+        this.adaptiveBatchSize = adaptiveBatchSize;
+        return this;
+    }
+
+    public Long getMaxBufferedBytes() {
+        return maxBufferedBytes;
+    }
+
+    /**
+     * @param maxBufferedBytes Maximum number of bytes of the batches that {@link com.arangodb.ArangoCursor} can
+     *                         buffer, i.e. received and not consumed yet. Once the limit is reached, the cursor stops
+     *                         requesting batches in advance (see {@link #prefetchBatches(Integer)}) and fetches them
+     *                         only when needed. Receiving a batch larger than the limit fails with
+     *                         {@link com.arangodb.ArangoDBException}. The size of a batch is the size of its response
+     *                         body.
+     *                         <p/>
+     *                         If not set (default), only the limit of all the cursors applies, see
+     *                         {@link com.arangodb.ArangoDB.Builder#cursorMaxBufferedBytes(Long)}.
+     *                         <p/>
+     *                         This option is only used by the client and has no effect on asynchronous cursors.
+     * @return options
+     */
+    public AqlQueryOptions maxBufferedBytes(final Long maxBufferedBytes) {
+        this.maxBufferedBytes = maxBufferedBytes;
+        return this;
+    }
+
+    public Long getRetryTimeout() {
+        return retryTimeout;
+    }
+
+    /**
+     * @param retryTimeout Maximum time in milliseconds during which {@link com.arangodb.ArangoCursor} retries fetching
+     *                     a batch that failed with an I/O error or a timeout, waiting with an exponential backoff
+     *                     between the attempts. The batch is fetched again by its {@code nextBatchId} from the same
+     *                     coordinator, thus retries only happen if {@link #allowRetry(Boolean)} is set.
+     *                     <p/>
+     *                     If not set, or set to 0, failed batches are not retried.
+     *                     <p/>
+     *                     This option is only used by the client and has no effect on asynchronous cursors.
+     * @return options
+     */
+    public AqlQueryOptions retryTimeout(final Long retryTimeout) {
+        this.retryTimeout = retryTimeout;
+        return this;
+    }
+
+    public Long getClientCacheTtl() {
+        return clientCacheTtl;
+    }
+
+    /**
+     * @param clientCacheTtl Time to live in milliseconds of the result of the query in the client-side cache. If set
+     *                       to a positive value, the result is returned from the cache when the same query, with the
+     *                       same bind variables and options, has been executed less than {@code clientCacheTtl}
+     *                       milliseconds ago, without any request to the server. Only results fitting in the first
+     *                       batch (see {@link #batchSize(Integer)}) are cached, and queries within a stream
+     *                       transaction are never cached.
+     *                       <p/>
+     *                       The cached results can be stale, up to the time to live, unless the collections read by
+     *                       the query are declared with {@link #clientCacheCollections(Collection)}.
+     *                       <p/>
+     *                       If not set (default), the result is not cached. The cache is disabled unless its size
+     *                       is set by {@link com.arangodb.ArangoDB.Builder#clientCacheMaxBytes(Long)}.
+     *                       <p/>
+     *                       This option is only used by the client and has no effect on asynchronous cursors.
+     * @return options
+     */
+    public AqlQueryOptions clientCacheTtl(final Long clientCacheTtl) {
+        this.clientCacheTtl = clientCacheTtl;
+        return this;
+    }
+
+    public Collection<String> getClientCacheCollections() {
+        return clientCacheCollections;
+    }
+
+    /**
+     * @param clientCacheCollections Collections read by the query. The result of the query is removed from the
+     *                               client-side cache (see {@link #clientCacheTtl(Long)}) when one of them is written
+     *                               through the document, collection, import or graph APIs of this driver instance.
+     *                               Writes performed by AQL queries, JavaScript transactions or other clients are not
+     *                               detected, and writes within stream transactions are detected when sent rather
+     *                               than when committed.
+     *                               <p/>
+     *                               This option is only used by the client and has no effect on asynchronous cursors.
+     * @return options
+     */
+    public AqlQueryOptions clientCacheCollections(final Collection<String> clientCacheCollections) {
+        this.clientCacheCollections = clientCacheCollections;
+        return this;
+    }
+
     public Boolean getAllowRetry() {
         return getOptions().allowRetry;
     }
@@ -489,6 +650,9 @@ public final class AqlQueryOptions extends TransactionalOptions<AqlQueryOptions>
      *                   fetch the next batch is not idempotent (i.e. the cursor may advance multiple times on the
      *                   server).
      *                   <p/>
+     *                   If set to true, the batches failing with I/O exceptions can also be retried transparently, see
+     *                   {@link #retryTimeout(Long)}.
+     *                   <p/>
      *                   Note: once you successfully received the last batch, you should call
      *                   {@link com.arangodb.ArangoCursor#close()} so that the server does not unnecessary keep the
      *                   batch until the cursor times out ({@link AqlQueryOptions#ttl(Integer)}).
@@ -1,8 +1,15 @@
 package com.arangodb.serde;
 
+import com.arangodb.ArangoDBException;
 import com.arangodb.ContentType;
 import com.arangodb.RequestContext;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -48,4 +55,88 @@ public interface ArangoSerde {
         Objects.requireNonNull(ctx);
         return deserialize(content, clazz);
     }
+
+    /**
+     * Deserializes the content and binds it to the target data type, which can be a generic type, e.g.
+     * {@code List<MyDocument>}.
+     * The default implementation supports only classes, delegating to
+     * {@link #deserialize(byte[], Class, RequestContext)}, and throws {@link UnsupportedOperationException} otherwise.
+     *
+     * @param content byte array to deserialize
+     * @param type    target data type
+     * @param ctx     serde context, cannot be null
+     * @return deserialized object
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T deserialize(byte[] content, Type type, RequestContext ctx) {
+        if (type instanceof Class) {
+            return deserialize(content, (Class<T>) type, ctx);
+        } else {
+            throw new UnsupportedOperationException("Deserialization to " + type + " is not supported");
+        }
+    }
+
+    /**
+     * Serializes the object into the target data type, writing it to the output stream.
+     * The default implementation writes the byte array returned by {@link #serialize(Object)}, implementations
+     * should override it to write directly into the stream.
+     *
+     * @param value object to serialize
+     * @param out   output stream, not closed by this method
+     */
+    default void serialize(Object value, OutputStream out) {
+        try {
+            out.write(serialize(value));
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+    }
+
+    /**
+     * Deserializes the content read from the input stream and binds it to the target data type.
+     * The default implementation reads the whole stream into a byte array and delegates to
+     * {@link #deserialize(byte[], Class, RequestContext)}, implementations should override it to parse the stream
+     * directly.
+     *
+     * @param in    input stream to deserialize, not closed by this method
+     * @param clazz class of target data type
+     * @param ctx   serde context, cannot be null
+     * @return deserialized object
+     */
+    default <T> T deserialize(InputStream in, Class<T> clazz, RequestContext ctx) {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+        return deserialize(content.toByteArray(), clazz, ctx);
+    }
+
+    /**
+     * Deserializes the remaining content of the buffer and binds it to the target data type. The position of the
+     * buffer is not changed and its content must not be modified.
+     * The default implementation delegates to {@link #deserialize(byte[], Class, RequestContext)}, copying the content
+     * unless it spans the whole backing array, implementations should override it to parse the buffer in place.
+     *
+     * @param content buffer to deserialize
+     * @param clazz   class of target data type
+     * @param ctx     serde context, cannot be null
+     * @return deserialized object
+     */
+    default <T> T deserialize(ByteBuffer content, Class<T> clazz, RequestContext ctx) {
+        final byte[] bytes;
+        if (content.hasArray() && content.arrayOffset() == 0 && content.position() == 0
+                && content.remaining() == content.array().length) {
+            bytes = content.array();
+        } else {
+            bytes = new byte[content.remaining()];
+            content.duplicate().get(bytes);
+        }
+        return deserialize(bytes, clazz, ctx);
+    }
 }
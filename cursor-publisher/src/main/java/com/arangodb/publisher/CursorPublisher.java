@@ -0,0 +1,220 @@
+package com.arangodb.publisher;
+
+import com.arangodb.ArangoCursorAsync;
+import org.reactivestreams.FlowAdapters;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} of the documents of an {@link ArangoCursorAsync}, e.g.:
+ * <pre>{@code
+ * Flow.Publisher<MyDocument> publisher = CursorPublisher.of(db.query("FOR d IN c RETURN d", MyDocument.class));
+ * }</pre>
+ * <p>
+ * Batches are fetched on demand: the next batch is requested once the subscriber has requested more documents than
+ * the ones left in the current batch, before emitting them, so that fetching overlaps with processing. At most one
+ * batch is therefore held in addition to the current one. Cancelling the subscription closes the cursor.
+ * <p>
+ * A cursor can be consumed only once, so the publisher accepts a single subscriber. Further subscribers are
+ * notified with {@link IllegalStateException}.
+ *
+ * @param <T> type of the documents
+ */
+public final class CursorPublisher<T> implements Flow.Publisher<T> {
+
+    private final CompletableFuture<? extends ArangoCursorAsync<T>> cursor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private CursorPublisher(final CompletableFuture<? extends ArangoCursorAsync<T>> cursor) {
+        this.cursor = Objects.requireNonNull(cursor);
+    }
+
+    /**
+     * @param cursor pending cursor, e.g. as returned by {@link com.arangodb.ArangoDatabaseAsync#query}
+     * @return publisher of the documents of the cursor
+     */
+    public static <T> CursorPublisher<T> of(final CompletableFuture<? extends ArangoCursorAsync<T>> cursor) {
+        return new CursorPublisher<>(cursor);
+    }
+
+    /**
+     * @param cursor cursor, whose current batch has not been consumed yet
+     * @return publisher of the documents of the cursor
+     */
+    public static <T> CursorPublisher<T> of(final ArangoCursorAsync<T> cursor) {
+        return new CursorPublisher<>(CompletableFuture.completedFuture(cursor));
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The cursor has already been subscribed"));
+            return;
+        }
+        final CursorSubscription<T> subscription = new CursorSubscription<>(subscriber);
+        subscriber.onSubscribe(subscription);
+        cursor.whenComplete(subscription::onBatch);
+    }
+
+    /**
+     * Adapts this publisher to Reactive Streams, e.g. to use it with libraries not supporting {@link Flow}. Requires
+     * the optional dependency {@code org.reactivestreams:reactive-streams}.
+     *
+     * @return Reactive Streams view of this publisher
+     */
+    public org.reactivestreams.Publisher<T> toReactiveStreams() {
+        return FlowAdapters.toPublisher(this);
+    }
+
+    private static final class CursorSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // updated by the completion of the batch requests
+        private volatile ArangoCursorAsync<T> received;
+        private volatile boolean fetching = true;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+
+        // only accessed while draining
+        private ArangoCursorAsync<T> current;
+        private List<T> batch = Collections.emptyList();
+        private int index;
+        private boolean done;
+
+        CursorSubscription(final Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested non-positive number of documents: " + n);
+            } else {
+                long r;
+                long u;
+                do {
+                    r = requested.get();
+                    u = r + n < 0 ? Long.MAX_VALUE : r + n;
+                } while (!requested.compareAndSet(r, u));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        void onBatch(final ArangoCursorAsync<T> cursor, final Throwable e) {
+            if (e != null) {
+                error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            } else {
+                received = cursor;
+            }
+            fetching = false;
+            drain();
+        }
+
+        /**
+         * Runs {@link #emit()} on a single thread at a time, repeating it if signals arrived in the meantime.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    emit();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            for (; ; ) {
+                if (cancelled || error != null) {
+                    // a request in flight could create a new batch, the cursor is closed once it completes
+                    if (!fetching) {
+                        terminate();
+                    }
+                    return;
+                }
+                if (index == batch.size() && received != null) {
+                    current = received;
+                    received = null;
+                    batch = current.getResult();
+                    index = 0;
+                }
+                if (current == null) {
+                    return;
+                }
+                final boolean hasMore = Boolean.TRUE.equals(current.hasMore());
+                final long r = requested.get();
+                if (hasMore && !fetching && received == null && r > batch.size() - index) {
+                    fetching = true;
+                    current.nextBatch().whenComplete(this::onBatch);
+                }
+                long emitted = 0;
+                while (emitted != r && index < batch.size() && !cancelled) {
+                    subscriber.onNext(batch.get(index++));
+                    emitted++;
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (cancelled || (index == batch.size() && received != null)) {
+                    continue;
+                }
+                if (index == batch.size() && !hasMore) {
+                    done = true;
+                    // releases the cursor on the server, if kept for retries
+                    current.close();
+                    release();
+                    subscriber.onComplete();
+                }
+                return;
+            }
+        }
+
+        private void terminate() {
+            done = true;
+            final ArangoCursorAsync<T> last = received != null ? received : current;
+            if (last != null) {
+                last.close();
+            }
+            release();
+            if (!cancelled) {
+                subscriber.onError(error);
+            }
+        }
+
+        private void release() {
+            current = null;
+            received = null;
+            batch = Collections.emptyList();
+        }
+    }
+
+}
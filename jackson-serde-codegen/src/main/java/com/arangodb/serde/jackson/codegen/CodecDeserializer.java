@@ -0,0 +1,156 @@
+package com.arangodb.serde.jackson.codegen;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerFactory;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.DeserializerFactory;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Deserializes documents with a {@link DocumentCodec}, delegating to the bean deserializer in the cases not supported
+ * by the codec (non-object input, views, polymorphic type handling, updating existing instances, unwrapping and
+ * contextual configuration of the referencing property). The bean deserializer is built on first use.
+ */
+final class CodecDeserializer extends StdDeserializer<Object> implements ContextualDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final transient DocumentCodec<Object> codec;
+    private transient volatile JsonDeserializer<Object> fallback;
+
+    CodecDeserializer(final DocumentCodec<Object> codec) {
+        super(codec.getType());
+        this.codec = codec;
+    }
+
+    @Override
+    public Object deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        final JsonToken t = p.currentToken();
+        if ((t == JsonToken.START_OBJECT || t == JsonToken.FIELD_NAME || t == JsonToken.END_OBJECT)
+                && ctxt.getActiveView() == null) {
+            return codec.deserialize(p, ctxt);
+        }
+        return fallback(ctxt).deserialize(p, ctxt);
+    }
+
+    @Override
+    public Object deserialize(final JsonParser p, final DeserializationContext ctxt, final Object intoValue)
+            throws IOException {
+        return fallback(ctxt).deserialize(p, ctxt, intoValue);
+    }
+
+    @Override
+    public Object deserializeWithType(final JsonParser p, final DeserializationContext ctxt,
+                                      final TypeDeserializer typeDeserializer) throws IOException {
+        return fallback(ctxt).deserializeWithType(p, ctxt, typeDeserializer);
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(final DeserializationContext ctxt, final BeanProperty property)
+            throws JsonMappingException {
+        final AnnotationIntrospector intr = ctxt.getAnnotationIntrospector();
+        final AnnotatedMember member = property == null || intr == null ? null : property.getMember();
+        if (member == null) {
+            return this;
+        }
+        final DeserializationConfig config = ctxt.getConfig();
+        final JsonFormat.Value format = findFormatOverrides(ctxt, property, handledType());
+        if (format.getShape() == JsonFormat.Shape.ARRAY
+                || Boolean.TRUE.equals(format.getFeature(JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_PROPERTIES))
+                || !intr.findPropertyIgnoralByName(config, member).getIgnored().isEmpty()
+                || intr.findPropertyInclusionByName(config, member).getIncluded() != null
+                || intr.findObjectIdInfo(member) != null) {
+            final JsonDeserializer<Object> fallback = fallback(ctxt);
+            if (fallback instanceof ContextualDeserializer) {
+                return ((ContextualDeserializer) fallback).createContextual(ctxt, property);
+            }
+            return fallback;
+        }
+        return this;
+    }
+
+    @Override
+    public JsonDeserializer<Object> unwrappingDeserializer(final NameTransformer unwrapper) {
+        final JsonDeserializer<Object> fallback = this.fallback;
+        if (fallback == null) {
+            // no context available here, the unwrapping deserializer is built on first use
+            return new UnwrappingDeserializer(this, unwrapper);
+        }
+        return fallback.unwrappingDeserializer(unwrapper);
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    @Override
+    public Boolean supportsUpdate(final DeserializationConfig config) {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public Collection<Object> getKnownPropertyNames() {
+        return new ArrayList<>(codec.getReadProperties());
+    }
+
+    @SuppressWarnings("unchecked")
+    private JsonDeserializer<Object> fallback(final DeserializationContext ctxt) throws JsonMappingException {
+        JsonDeserializer<Object> deserializer = fallback;
+        if (deserializer == null) {
+            // benign race, concurrent threads build equivalent deserializers
+            final DeserializerFactory factory = ctxt.getFactory();
+            final BeanDeserializerFactory beanFactory = factory instanceof BeanDeserializerFactory
+                    ? (BeanDeserializerFactory) factory
+                    : BeanDeserializerFactory.instance;
+            final JavaType type = ctxt.constructType(handledType());
+            deserializer = beanFactory.buildBeanDeserializer(ctxt, type, ctxt.getConfig().introspect(type));
+            if (deserializer instanceof ResolvableDeserializer) {
+                ((ResolvableDeserializer) deserializer).resolve(ctxt);
+            }
+            fallback = deserializer;
+        }
+        return deserializer;
+    }
+
+    private static final class UnwrappingDeserializer extends StdDeserializer<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final CodecDeserializer deserializer;
+        private final NameTransformer unwrapper;
+        private transient volatile JsonDeserializer<Object> delegate;
+
+        UnwrappingDeserializer(final CodecDeserializer deserializer, final NameTransformer unwrapper) {
+            super(deserializer.handledType());
+            this.deserializer = deserializer;
+            this.unwrapper = unwrapper;
+        }
+
+        @Override
+        public Object deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            JsonDeserializer<Object> d = delegate;
+            if (d == null) {
+                d = deserializer.fallback(ctxt).unwrappingDeserializer(unwrapper);
+                delegate = d;
+            }
+            return d.deserialize(p, ctxt);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.arangodb.serde.jackson.codegen;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+
+/**
+ * Serializes documents with a {@link DocumentCodec}, delegating to the bean serializer in the cases not supported by
+ * the codec (views, polymorphic type handling, unwrapping and contextual configuration of the referencing property).
+ * The bean serializer is built on first use.
+ */
+final class CodecSerializer extends StdSerializer<Object> implements ContextualSerializer {
+    private static final long serialVersionUID = 1L;
+
+    private final transient DocumentCodec<Object> codec;
+    private final boolean writeNulls;
+    private transient volatile JsonSerializer<Object> fallback;
+
+    CodecSerializer(final DocumentCodec<Object> codec, final boolean writeNulls) {
+        super(codec.getType(), false);
+        this.codec = codec;
+        this.writeNulls = writeNulls;
+    }
+
+    @Override
+    public void serialize(final Object value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        if (provider.getActiveView() != null) {
+            fallback(provider).serialize(value, gen, provider);
+        } else {
+            codec.serialize(value, gen, provider, writeNulls);
+        }
+    }
+
+    @Override
+    public void serializeWithType(final Object value, final JsonGenerator gen, final SerializerProvider provider,
+                                  final TypeSerializer typeSer) throws IOException {
+        fallback(provider).serializeWithType(value, gen, provider, typeSer);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider provider, final BeanProperty property)
+            throws JsonMappingException {
+        final AnnotationIntrospector intr = provider.getAnnotationIntrospector();
+        final AnnotatedMember member = property == null || intr == null ? null : property.getMember();
+        if (member == null) {
+            return this;
+        }
+        final SerializationConfig config = provider.getConfig();
+        final JsonFormat.Shape shape = findFormatOverrides(provider, property, handledType()).getShape();
+        if ((shape != JsonFormat.Shape.ANY && shape != JsonFormat.Shape.NATURAL && shape != JsonFormat.Shape.OBJECT)
+                || !intr.findPropertyIgnoralByName(config, member).getIgnored().isEmpty()
+                || intr.findPropertyInclusionByName(config, member).getIncluded() != null
+                || intr.findObjectIdInfo(member) != null) {
+            final JsonSerializer<Object> fallback = fallback(provider);
+            if (fallback instanceof ContextualSerializer) {
+                return ((ContextualSerializer) fallback).createContextual(provider, property);
+            }
+            return fallback;
+        }
+        return this;
+    }
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(final NameTransformer unwrapper) {
+        final JsonSerializer<Object> fallback = this.fallback;
+        if (fallback == null) {
+            // no provider available here, the unwrapping serializer is built on first use
+            return new UnwrappingSerializer(this, unwrapper);
+        }
+        return fallback.unwrappingSerializer(unwrapper);
+    }
+
+    private JsonSerializer<Object> fallback(final SerializerProvider provider) throws JsonMappingException {
+        JsonSerializer<Object> serializer = fallback;
+        if (serializer == null) {
+            // benign race, concurrent threads build equivalent serializers
+            final JavaType type = provider.constructType(handledType());
+            serializer = BeanSerializerFactory.instance.findBeanOrAddOnSerializer(provider, type,
+                    provider.getConfig().introspect(type), provider.isEnabled(MapperFeature.USE_STATIC_TYPING));
+            if (serializer instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) serializer).resolve(provider);
+            }
+            fallback = serializer;
+        }
+        return serializer;
+    }
+
+    private static final class UnwrappingSerializer extends StdSerializer<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final CodecSerializer serializer;
+        private final NameTransformer unwrapper;
+        private transient volatile JsonSerializer<Object> delegate;
+
+        UnwrappingSerializer(final CodecSerializer serializer, final NameTransformer unwrapper) {
+            super(serializer.handledType(), false);
+            this.serializer = serializer;
+            this.unwrapper = unwrapper;
+        }
+
+        @Override
+        public boolean isUnwrappingSerializer() {
+            return true;
+        }
+
+        @Override
+        public void serialize(final Object value, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            JsonSerializer<Object> d = delegate;
+            if (d == null) {
+                d = serializer.fallback(provider).unwrappingSerializer(unwrapper);
+                delegate = d;
+            }
+            d.serialize(value, gen, provider);
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.arangodb.serde.jackson.codegen;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Serializer and deserializer of a document class, reading and writing its properties through Jackson streaming API
+ * with generated code accessing its fields and methods directly, instead of the reflective access of Jackson bean
+ * (de)serializers.
+ * <p>
+ * Implementations are generated at compile time by
+ * {@link com.arangodb.serde.jackson.codegen.processor.DocumentCodecProcessor} and registered into Jackson
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} by {@link DocumentCodecModule}.
+ *
+ * @param <T> the document class
+ */
+public abstract class DocumentCodec<T> {
+
+    private final Class<T> type;
+    private final Set<String> writtenProperties;
+    private final Set<String> readProperties;
+    private final Type[] valueTypes;
+    private final JavaType[] javaTypes;
+
+    /**
+     * @param type              the document class
+     * @param writtenProperties names of the serialized properties
+     * @param readProperties    names of the deserialized properties
+     * @param valueTypes        declared types of the properties that are deserialized through Jackson databind,
+     *                          referenced by index from {@link #readValue(JsonParser, DeserializationContext, int)}
+     */
+    protected DocumentCodec(final Class<T> type, final String[] writtenProperties, final String[] readProperties,
+                            final Type... valueTypes) {
+        this.type = type;
+        this.writtenProperties = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(writtenProperties)));
+        this.readProperties = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(readProperties)));
+        this.valueTypes = valueTypes;
+        javaTypes = new JavaType[valueTypes.length];
+    }
+
+    /**
+     * @return the document class
+     */
+    public final Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return names of the serialized properties
+     */
+    public final Set<String> getWrittenProperties() {
+        return writtenProperties;
+    }
+
+    /**
+     * @return names of the deserialized properties
+     */
+    public final Set<String> getReadProperties() {
+        return readProperties;
+    }
+
+    /**
+     * Writes the document as object.
+     *
+     * @param value      document to serialize, not {@code null}
+     * @param writeNulls whether {@code null} properties are written, properties mapped to document fields
+     *                   ({@code _id}, {@code _key}, {@code _rev}, {@code _from} and {@code _to}) are always omitted
+     *                   if {@code null}
+     */
+    public abstract void serialize(T value, JsonGenerator gen, SerializerProvider provider, boolean writeNulls)
+            throws IOException;
+
+    /**
+     * Reads the document from an object. The parser is positioned at {@link JsonToken#START_OBJECT},
+     * {@link JsonToken#FIELD_NAME} or {@link JsonToken#END_OBJECT}, and is left at the closing
+     * {@link JsonToken#END_OBJECT}.
+     */
+    public abstract T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException;
+
+    /**
+     * @return the name of the first property of the object, or {@code null} if the object is empty
+     */
+    protected static String startObject(final JsonParser p) throws IOException {
+        if (p.isExpectedStartObjectToken()) {
+            return p.nextFieldName();
+        }
+        if (p.hasToken(JsonToken.FIELD_NAME)) {
+            return p.currentName();
+        }
+        return null;
+    }
+
+    protected static void unknownProperty(final JsonParser p, final DeserializationContext ctxt, final Object value,
+                                          final String name) throws IOException {
+        ctxt.handleUnknownProperty(p, null, value, name);
+    }
+
+    protected static String readString(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return p.getText();
+        }
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, String.class);
+    }
+
+    protected static int readInt(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getIntValue();
+        }
+        return ctxt.readValue(p, int.class);
+    }
+
+    protected static Integer readNullableInt(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getIntValue();
+        }
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, Integer.class);
+    }
+
+    protected static long readLong(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getLongValue();
+        }
+        return ctxt.readValue(p, long.class);
+    }
+
+    protected static Long readNullableLong(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getLongValue();
+        }
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, Long.class);
+    }
+
+    protected static double readDouble(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            return p.getDoubleValue();
+        }
+        return ctxt.readValue(p, double.class);
+    }
+
+    protected static Double readNullableDouble(final JsonParser p, final DeserializationContext ctxt)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            return p.getDoubleValue();
+        }
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, Double.class);
+    }
+
+    protected static boolean readBoolean(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_TRUE)) {
+            return true;
+        }
+        if (p.hasToken(JsonToken.VALUE_FALSE)) {
+            return false;
+        }
+        return ctxt.readValue(p, boolean.class);
+    }
+
+    protected static Boolean readNullableBoolean(final JsonParser p, final DeserializationContext ctxt)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_TRUE)) {
+            return Boolean.TRUE;
+        }
+        if (p.hasToken(JsonToken.VALUE_FALSE)) {
+            return Boolean.FALSE;
+        }
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, Boolean.class);
+    }
+
+    /**
+     * Reads a value through Jackson databind.
+     *
+     * @param typeIndex index of the value type, as passed to the constructor
+     */
+    @SuppressWarnings("unchecked")
+    protected final <V> V readValue(final JsonParser p, final DeserializationContext ctxt, final int typeIndex)
+            throws IOException {
+        JavaType javaType = javaTypes[typeIndex];
+        if (javaType == null) {
+            // benign race, JavaType instances are immutable
+            javaType = ctxt.getTypeFactory().constructType(valueTypes[typeIndex]);
+            javaTypes[typeIndex] = javaType;
+        }
+        final JsonDeserializer<Object> deserializer = ctxt.findRootValueDeserializer(javaType);
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return (V) deserializer.getNullValue(ctxt);
+        }
+        return (V) deserializer.deserialize(p, ctxt);
+    }
+
+    /**
+     * Writes a value through Jackson databind.
+     */
+    protected static void writeValue(final Object value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        provider.defaultSerializeValue(value, gen);
+    }
+
+}
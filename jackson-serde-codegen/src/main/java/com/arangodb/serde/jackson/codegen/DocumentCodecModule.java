@@ -0,0 +1,151 @@
+package com.arangodb.serde.jackson.codegen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.introspect.VisibilityChecker;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Jackson module registering {@link DocumentCodec}s, e.g.:
+ * <pre>{@code
+ * JacksonSerde serde = JacksonSerde.of(ContentType.JSON)
+ *         .configure(mapper -> mapper.registerModule(new DocumentCodecModule()));
+ * }</pre>
+ * <p>
+ * Codecs are looked up by Jackson before its bean (de)serializers are built, so the properties of the document classes
+ * are not introspected. Jackson still resolves the class annotations to describe the type.
+ * <p>
+ * The bean (de)serializers are used instead of the codecs when the mapper configuration affects the document class
+ * in ways the codecs do not support: mix-ins, naming strategies, non-default visibility, per-type configuration
+ * overrides, case-insensitive properties or property inclusion other than {@code ALWAYS} or {@code NON_NULL}.
+ * Configurations changing the properties in other ways, e.g. custom annotation introspectors, are not detected and
+ * should not be combined with this module.
+ * <p>
+ * Views, polymorphic type handling, unwrapping, updates of existing instances and contextual configuration of the
+ * referencing property are delegated to a bean (de)serializer, built on first use. It is built by Jackson bean
+ * (de)serializer factories, and serializer modifiers registered by other modules are not applied to it.
+ */
+public final class DocumentCodecModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient CodecSerializers serializers;
+    private final transient CodecDeserializers deserializers;
+
+    /**
+     * Registers the codecs generated by {@link com.arangodb.serde.jackson.codegen.processor.DocumentCodecProcessor},
+     * discovered through {@link ServiceLoader} from the thread context class loader.
+     */
+    public DocumentCodecModule() {
+        this(load());
+    }
+
+    /**
+     * @param codecs codecs to register
+     */
+    public DocumentCodecModule(final DocumentCodec<?>... codecs) {
+        this(Arrays.asList(codecs));
+    }
+
+    private DocumentCodecModule(final Iterable<DocumentCodec<?>> codecs) {
+        super("ArangoDocumentCodecModule");
+        final Map<Class<?>, DocumentCodec<?>> byType = new HashMap<>();
+        for (DocumentCodec<?> codec : codecs) {
+            byType.put(codec.getType(), codec);
+        }
+        serializers = new CodecSerializers(byType);
+        deserializers = new CodecDeserializers(byType);
+    }
+
+    @Override
+    public void setupModule(final SetupContext context) {
+        super.setupModule(context);
+        context.addSerializers(serializers);
+        context.addDeserializers(deserializers);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Iterable<DocumentCodec<?>> load() {
+        return (Iterable) ServiceLoader.load(DocumentCodec.class);
+    }
+
+    /**
+     * @return whether the configuration affects the properties of the document class as detected by Jackson
+     */
+    private static boolean customized(final MapperConfig<?> config, final BeanDescription beanDesc) {
+        final Class<?> type = beanDesc.getBeanClass();
+        return !config.isAnnotationProcessingEnabled()
+                || config.findMixInClassFor(type) != null
+                || config.findConfigOverride(type) != null
+                || config.getPropertyNamingStrategy() != null
+                || config.getDefaultVisibilityChecker(type, beanDesc.getClassInfo())
+                != VisibilityChecker.Std.defaultInstance();
+    }
+
+    private static final class CodecSerializers extends Serializers.Base {
+        private final Map<Class<?>, DocumentCodec<?>> codecs;
+
+        CodecSerializers(final Map<Class<?>, DocumentCodec<?>> codecs) {
+            this.codecs = codecs;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> findSerializer(final SerializationConfig config, final JavaType type,
+                                                final BeanDescription beanDesc) {
+            final DocumentCodec<Object> codec = (DocumentCodec<Object>) codecs.get(type.getRawClass());
+            if (codec == null || customized(config, beanDesc)) {
+                return null;
+            }
+            final JsonInclude.Include inclusion =
+                    config.getDefaultPropertyInclusion(type.getRawClass()).getValueInclusion();
+            if (inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS) {
+                return new CodecSerializer(codec, true);
+            } else if (inclusion == JsonInclude.Include.NON_NULL) {
+                return new CodecSerializer(codec, false);
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private static final class CodecDeserializers extends Deserializers.Base {
+        private final Map<Class<?>, DocumentCodec<?>> codecs;
+
+        CodecDeserializers(final Map<Class<?>, DocumentCodec<?>> codecs) {
+            this.codecs = codecs;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonDeserializer<?> findBeanDeserializer(final JavaType type, final DeserializationConfig config,
+                                                        final BeanDescription beanDesc) {
+            final DocumentCodec<Object> codec = (DocumentCodec<Object>) codecs.get(type.getRawClass());
+            if (codec == null || customized(config, beanDesc)
+                    || config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)) {
+                return null;
+            }
+            return new CodecDeserializer(codec);
+        }
+
+        @Override
+        public boolean hasDeserializerFor(final DeserializationConfig config, final Class<?> valueType) {
+            return codecs.containsKey(valueType);
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.arangodb.serde.jackson.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests a {@link DocumentCodec} to be generated for the annotated class, also when it has no members annotated
+ * with the driver annotations. {@link com.arangodb.serde.jackson.codegen.processor.DocumentCodecProcessor} reports
+ * a warning if the class is not supported.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateCodec {
+}
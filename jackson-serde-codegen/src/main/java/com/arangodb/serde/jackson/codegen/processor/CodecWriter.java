@@ -0,0 +1,264 @@
+package com.arangodb.serde.jackson.codegen.processor;
+
+import com.arangodb.serde.jackson.codegen.processor.DocumentModel.Property;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the source code of the {@code DocumentCodec} of a {@link DocumentModel}. All the types are referenced by
+ * their fully qualified names, to avoid clashes with the classes in the package of the document.
+ */
+final class CodecWriter {
+
+    private static final String CODEC = "com.arangodb.serde.jackson.codegen.DocumentCodec";
+    private static final String SERIALIZED_STRING = "com.fasterxml.jackson.core.io.SerializedString";
+    private static final String TYPE_REFERENCE = "com.fasterxml.jackson.core.type.TypeReference";
+
+    private final Types types;
+    private final DocumentModel model;
+    private final String typeName;
+    private final List<TypeMirror> valueTypes = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+
+    CodecWriter(final Types types, final DocumentModel model) {
+        this.types = types;
+        this.model = model;
+        typeName = model.getType().getQualifiedName().toString();
+    }
+
+    void write(final PrintWriter out) {
+        final String serialize = serializeBody();
+        final String deserialize = deserializeBody();
+
+        if (!model.getPackageName().isEmpty()) {
+            out.println("package " + model.getPackageName() + ";");
+            out.println();
+        }
+        out.println("/**");
+        out.println(" * Codec of {@link " + typeName + "},");
+        out.println(" * generated by {@link " + DocumentCodecProcessor.class.getName() + "}.");
+        out.println(" */");
+        out.println("public final class " + model.getCodecName() + " extends " + CODEC + "<" + typeName + "> {");
+        out.println();
+        for (int i = 0; i < names.size(); i++) {
+            out.println("    private static final " + SERIALIZED_STRING + " NAME_" + i + " = new " + SERIALIZED_STRING
+                    + "(" + literal(names.get(i)) + ");");
+        }
+        out.println();
+        out.println("    public " + model.getCodecName() + "() {");
+        out.println("        super(" + typeName + ".class,");
+        out.println("                new java.lang.String[]{" + propertyNames(true) + "},");
+        out.print("                new java.lang.String[]{" + propertyNames(false) + "}");
+        for (TypeMirror t : valueTypes) {
+            out.println(",");
+            out.print("                " + typeExpression(t));
+        }
+        out.println(");");
+        out.println("    }");
+        out.println();
+        out.println("    @java.lang.Override");
+        out.println("    public void serialize(final " + typeName + " value,");
+        out.println("                          final com.fasterxml.jackson.core.JsonGenerator gen,");
+        out.println("                          final com.fasterxml.jackson.databind.SerializerProvider provider,");
+        out.println("                          final boolean writeNulls) throws java.io.IOException {");
+        out.print(serialize);
+        out.println("    }");
+        out.println();
+        out.println("    @java.lang.Override");
+        out.println("    public " + typeName + " deserialize(final com.fasterxml.jackson.core.JsonParser p,");
+        out.println("                          final com.fasterxml.jackson.databind.DeserializationContext ctxt)");
+        out.println("            throws java.io.IOException {");
+        out.print(deserialize);
+        out.println("    }");
+        out.println();
+        out.println("}");
+    }
+
+    private String serializeBody() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("        gen.writeStartObject(value);\n");
+        int v = 0;
+        for (Property property : model.getProperties()) {
+            if (!property.isReadable()) {
+                continue;
+            }
+            final String name = "NAME_" + names.size();
+            names.add(property.name);
+            final String access = property.getter != null
+                    ? "value." + property.getter.getSimpleName() + "()"
+                    : "value." + property.readField.getSimpleName();
+            final TypeMirror t = property.readType;
+            if (t.getKind().isPrimitive()) {
+                sb.append("        gen.writeFieldName(").append(name).append(");\n");
+                sb.append("        ").append(writeStatement(t, access)).append('\n');
+                continue;
+            }
+            final String local = "v" + v++;
+            sb.append("        final ").append(t).append(' ').append(local).append(" = ").append(access).append(";\n");
+            sb.append("        if (").append(local).append(" != null) {\n");
+            sb.append("            gen.writeFieldName(").append(name).append(");\n");
+            sb.append("            ").append(writeStatement(t, local)).append('\n');
+            if (property.documentField) {
+                sb.append("        }\n");
+            } else {
+                sb.append("        } else if (writeNulls) {\n");
+                sb.append("            gen.writeFieldName(").append(name).append(");\n");
+                sb.append("            gen.writeNull();\n");
+                sb.append("        }\n");
+            }
+        }
+        sb.append("        gen.writeEndObject();\n");
+        return sb.toString();
+    }
+
+    private String writeStatement(final TypeMirror t, final String value) {
+        switch (simpleName(t)) {
+            case "String":
+                return "gen.writeString(" + value + ");";
+            case "boolean":
+            case "Boolean":
+                return "gen.writeBoolean(" + value + ");";
+            case "int":
+            case "Integer":
+            case "long":
+            case "Long":
+            case "double":
+            case "Double":
+            case "float":
+            case "Float":
+            case "short":
+            case "Short":
+                return "gen.writeNumber(" + value + ");";
+            default:
+                return "writeValue(" + value + ", gen, provider);";
+        }
+    }
+
+    private String deserializeBody() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("        final ").append(typeName).append(" value = new ").append(typeName).append("();\n");
+        sb.append("        for (java.lang.String name = startObject(p); name != null; name = p.nextFieldName()) {\n");
+        sb.append("            p.nextToken();\n");
+        sb.append("            switch (name) {\n");
+        final Set<String> readNames = new HashSet<>();
+        for (Property property : model.getProperties()) {
+            if (!property.isWritable()) {
+                continue;
+            }
+            readNames.add(property.name);
+            final String read = readExpression(property.writeType);
+            sb.append("                case ").append(literal(property.name)).append(":\n");
+            if (property.setter != null) {
+                sb.append("                    value.").append(property.setter.getSimpleName())
+                        .append('(').append(read).append(");\n");
+            } else {
+                sb.append("                    value.").append(property.writeField.getSimpleName())
+                        .append(" = ").append(read).append(";\n");
+            }
+            sb.append("                    break;\n");
+        }
+        for (String ignored : model.getIgnoredNames()) {
+            if (readNames.contains(ignored)) {
+                continue;
+            }
+            sb.append("                case ").append(literal(ignored)).append(":\n");
+            sb.append("                    p.skipChildren();\n");
+            sb.append("                    break;\n");
+        }
+        sb.append("                default:\n");
+        sb.append("                    unknownProperty(p, ctxt, value, name);\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        return value;\n");
+        return sb.toString();
+    }
+
+    private String readExpression(final TypeMirror t) {
+        switch (simpleName(t)) {
+            case "String":
+                return "readString(p, ctxt)";
+            case "int":
+                return "readInt(p, ctxt)";
+            case "Integer":
+                return "readNullableInt(p, ctxt)";
+            case "long":
+                return "readLong(p, ctxt)";
+            case "Long":
+                return "readNullableLong(p, ctxt)";
+            case "double":
+                return "readDouble(p, ctxt)";
+            case "Double":
+                return "readNullableDouble(p, ctxt)";
+            case "boolean":
+                return "readBoolean(p, ctxt)";
+            case "Boolean":
+                return "readNullableBoolean(p, ctxt)";
+            default:
+                valueTypes.add(t);
+                return "readValue(p, ctxt, " + (valueTypes.size() - 1) + ")";
+        }
+    }
+
+    /**
+     * @return the name of primitive types and of {@code java.lang} types with dedicated read or write methods,
+     * otherwise an empty string
+     */
+    private static String simpleName(final TypeMirror t) {
+        if (t.getKind().isPrimitive()) {
+            return t.toString();
+        }
+        for (String name : new String[]{"String", "Boolean", "Integer", "Long", "Double", "Float", "Short"}) {
+            if (DocumentModel.isType(t, "java.lang." + name)) {
+                return name;
+            }
+        }
+        return "";
+    }
+
+    private String typeExpression(final TypeMirror t) {
+        final TypeMirror erasure = types.erasure(t);
+        if (t.getKind() == TypeKind.DECLARED || t.getKind() == TypeKind.ARRAY) {
+            if (types.isSameType(t, erasure)) {
+                return erasure + ".class";
+            }
+            return "new " + TYPE_REFERENCE + "<" + t + ">() {\n                }.getType()";
+        }
+        return t + ".class";
+    }
+
+    private String propertyNames(final boolean written) {
+        final StringBuilder sb = new StringBuilder();
+        for (Property property : model.getProperties()) {
+            if (written ? property.isReadable() : property.isWritable()) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(literal(property.name));
+            }
+        }
+        return sb.toString();
+    }
+
+    static String literal(final String value) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.arangodb.serde.jackson.codegen.processor;
+
+import com.arangodb.serde.jackson.codegen.DocumentCodec;
+import com.arangodb.serde.jackson.codegen.GenerateCodec;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor generating a {@link DocumentCodec} for each class having members annotated with the driver
+ * annotations {@code @Id}, {@code @Key}, {@code @Rev}, {@code @From} or {@code @To}. The generated codecs are listed
+ * in {@code META-INF/services/com.arangodb.serde.jackson.codegen.DocumentCodec}, to be discovered by
+ * {@link com.arangodb.serde.jackson.codegen.DocumentCodecModule}.
+ * <p>
+ * Classes not supported (see {@link DocumentModel}) keep being (de)serialized reflectively by Jackson. They are
+ * reported with a warning only if annotated with {@link GenerateCodec}, which also requests a codec for classes
+ * without driver annotations.
+ * <p>
+ * The processor is registered as service, so it runs whenever this module is in the compile classpath, or
+ * explicitly with {@code javac -processor}.
+ */
+public final class DocumentCodecProcessor extends AbstractProcessor {
+
+    private final Set<String> processed = new HashSet<>();
+    private final Set<String> codecs = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        final Set<String> types = new HashSet<>(DocumentModel.DOCUMENT_FIELDS.keySet());
+        types.add(GenerateCodec.class.getName());
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element annotated : roundEnv.getElementsAnnotatedWith(annotation)) {
+                final TypeElement type = enclosingType(annotated);
+                if (type != null && processed.add(type.getQualifiedName().toString())) {
+                    generate(type);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !codecs.isEmpty()) {
+            writeServices();
+        }
+        return false;
+    }
+
+    private void generate(final TypeElement type) {
+        final DocumentModel model;
+        try {
+            model = DocumentModel.of(processingEnv, type);
+        } catch (UnsupportedDocumentException e) {
+            if (type.getAnnotation(GenerateCodec.class) == null) {
+                return;
+            }
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "No codec generated for " + type.getQualifiedName() + ": " + e.getMessage()
+                            + ", falling back to reflective (de)serialization", type);
+            return;
+        }
+        final String codec = model.getPackageName().isEmpty()
+                ? model.getCodecName()
+                : model.getPackageName() + "." + model.getCodecName();
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(codec, type);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                new CodecWriter(processingEnv.getTypeUtils(), model).write(out);
+            }
+            codecs.add(codec);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write codec " + codec + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void writeServices() {
+        final String resource = "META-INF/services/" + DocumentCodec.class.getName();
+        try {
+            final FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (Writer out = file.openWriter()) {
+                for (String codec : codecs) {
+                    out.write(codec);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + resource + ": " + e.getMessage());
+        }
+    }
+
+    private static TypeElement enclosingType(final Element annotated) {
+        for (Element e = annotated; e != null; e = e.getEnclosingElement()) {
+            if (e instanceof TypeElement) {
+                return (TypeElement) e;
+            }
+        }
+        return null;
+    }
+
+}
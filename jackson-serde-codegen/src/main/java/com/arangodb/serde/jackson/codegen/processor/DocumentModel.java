@@ -0,0 +1,513 @@
+package com.arangodb.serde.jackson.codegen.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.SimpleTypeVisitor8;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Properties of a document class, discovered following the default Jackson rules:
+ * <ul>
+ *     <li>public fields, public getters and setters of any visibility</li>
+ *     <li>fields and getters of any visibility annotated with {@code @JsonProperty} or with the driver annotations
+ *     {@code @Id}, {@code @Key}, {@code @Rev}, {@code @From} and {@code @To}, which also rename the property to the
+ *     related document field</li>
+ *     <li>non-visible fields as mutators of properties with a visible getter</li>
+ *     <li>properties annotated with {@code @JsonIgnore} are skipped</li>
+ * </ul>
+ * Classes using any other Jackson annotation are not supported. Accessors used by the codec must be accessible from
+ * the package of the document class.
+ */
+final class DocumentModel {
+
+    static final Map<String, String> DOCUMENT_FIELDS;
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+
+    static {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("com.arangodb.serde.jackson.Id", "_id");
+        fields.put("com.arangodb.serde.jackson.Key", "_key");
+        fields.put("com.arangodb.serde.jackson.Rev", "_rev");
+        fields.put("com.arangodb.serde.jackson.From", "_from");
+        fields.put("com.arangodb.serde.jackson.To", "_to");
+        DOCUMENT_FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    private final Types types;
+    private final Elements elements;
+    private final TypeElement type;
+    private final String packageName;
+    private final List<Property> properties = new ArrayList<>();
+    private final Set<String> ignoredNames = new HashSet<>();
+
+    private DocumentModel(final ProcessingEnvironment env, final TypeElement type) {
+        types = env.getTypeUtils();
+        elements = env.getElementUtils();
+        this.type = type;
+        packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    }
+
+    static DocumentModel of(final ProcessingEnvironment env, final TypeElement type)
+            throws UnsupportedDocumentException {
+        final DocumentModel model = new DocumentModel(env, type);
+        model.checkType();
+        model.collectProperties();
+        return model;
+    }
+
+    TypeElement getType() {
+        return type;
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return simple name of the codec class, in the package of the document class
+     */
+    String getCodecName() {
+        final StringBuilder sb = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            sb.insert(0, '_').insert(0, e.getSimpleName());
+        }
+        return sb.append("_ArangoCodec").toString();
+    }
+
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return names of the properties explicitly ignored, skipped without further checks during deserialization
+     */
+    Set<String> getIgnoredNames() {
+        return ignoredNames;
+    }
+
+    private void checkType() throws UnsupportedDocumentException {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedDocumentException("not a concrete class");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedDocumentException("generic class");
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            final TypeElement t = (TypeElement) e;
+            if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedDocumentException("private class");
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS
+                    || (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC)
+                    && t.getKind() == ElementKind.CLASS)) {
+                throw new UnsupportedDocumentException("inner class");
+            }
+        }
+        boolean noArgsConstructor = false;
+        for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE)) {
+                noArgsConstructor = true;
+            }
+        }
+        if (!noArgsConstructor) {
+            throw new UnsupportedDocumentException("missing accessible no-args constructor");
+        }
+        for (TypeElement t : hierarchy()) {
+            checkJacksonAnnotations(t);
+            for (Element member : t.getEnclosedElements()) {
+                checkJacksonAnnotations(member);
+                if (member instanceof ExecutableElement) {
+                    for (VariableElement param : ((ExecutableElement) member).getParameters()) {
+                        checkJacksonAnnotations(param);
+                    }
+                }
+            }
+        }
+    }
+
+    private void checkJacksonAnnotations(final Element element) throws UnsupportedDocumentException {
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            final String name = annotationName(a);
+            if (name.startsWith("com.fasterxml.jackson.") && !name.equals(JSON_PROPERTY)
+                    && !name.equals(JSON_IGNORE)) {
+                throw new UnsupportedDocumentException("unsupported annotation @" + name + " on " + element);
+            }
+        }
+    }
+
+    /**
+     * @return the document class and its superclasses, from the topmost one
+     */
+    private List<TypeElement> hierarchy() {
+        final List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement t = type;
+        while (t != null && !t.getQualifiedName().contentEquals(Object.class.getName())) {
+            hierarchy.add(0, t);
+            final TypeMirror superclass = t.getSuperclass();
+            t = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+        }
+        return hierarchy;
+    }
+
+    private void collectProperties() throws UnsupportedDocumentException {
+        final Map<String, Accessors> byName = new LinkedHashMap<>();
+        final List<TypeElement> hierarchy = hierarchy();
+        for (TypeElement t : hierarchy) {
+            for (VariableElement f : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                if (!f.getModifiers().contains(Modifier.STATIC) && !f.getModifiers().contains(Modifier.TRANSIENT)) {
+                    accessors(byName, f.getSimpleName().toString()).field = f;
+                }
+            }
+        }
+        final Set<String> signatures = new HashSet<>();
+        for (int i = hierarchy.size() - 1; i >= 0; i--) {
+            for (ExecutableElement m : ElementFilter.methodsIn(hierarchy.get(i).getEnclosedElements())) {
+                if (m.getModifiers().contains(Modifier.STATIC) || !signatures.add(signature(m))) {
+                    continue;
+                }
+                addMethod(byName, m);
+            }
+        }
+
+        final Set<String> names = new HashSet<>();
+        for (Map.Entry<String, Accessors> e : byName.entrySet()) {
+            final Property property = property(e.getKey(), e.getValue());
+            if (property != null && !names.add(property.name)) {
+                throw new UnsupportedDocumentException("duplicate property " + property.name);
+            }
+            if (property != null) {
+                properties.add(property);
+            }
+        }
+    }
+
+    private void addMethod(final Map<String, Accessors> byName, final ExecutableElement m)
+            throws UnsupportedDocumentException {
+        final String name = m.getSimpleName().toString();
+        final TypeKind returnKind = m.getReturnType().getKind();
+        if (m.getParameters().isEmpty() && returnKind != TypeKind.VOID && name.startsWith("get") && name.length() > 3) {
+            final Accessors accessors = accessors(byName, manglePropertyName(name, 3));
+            if (accessors.getter != null) {
+                throw new UnsupportedDocumentException("conflicting getters " + accessors.getter + " and " + m);
+            }
+            accessors.getter = m;
+        } else if (m.getParameters().isEmpty() && isBoolean(m.getReturnType()) && name.startsWith("is")
+                && name.length() > 2) {
+            final Accessors accessors = accessors(byName, manglePropertyName(name, 2));
+            if (accessors.getter != null) {
+                throw new UnsupportedDocumentException("conflicting getters " + accessors.getter + " and " + m);
+            }
+            accessors.getter = m;
+        } else if (m.getParameters().size() == 1 && name.startsWith("set") && name.length() > 3) {
+            final Accessors accessors = accessors(byName, manglePropertyName(name, 3));
+            if (accessors.setter != null) {
+                throw new UnsupportedDocumentException("conflicting setters " + accessors.setter + " and " + m);
+            }
+            accessors.setter = m;
+        } else if (isExplicit(m)) {
+            throw new UnsupportedDocumentException("annotated method " + m + " is neither a getter nor a setter");
+        }
+    }
+
+    private Property property(final String internalName, final Accessors accessors)
+            throws UnsupportedDocumentException {
+        String explicitName = null;
+        boolean documentField = false;
+        boolean ignored = false;
+        for (Element member : accessors.members()) {
+            final String name = explicitName(member);
+            if (name != null && explicitName != null && !explicitName.equals(name)) {
+                throw new UnsupportedDocumentException("conflicting names for property " + internalName);
+            }
+            if (name != null) {
+                explicitName = name;
+            }
+            documentField |= documentField(member) != null;
+            ignored |= hasAnnotation(member, JSON_IGNORE);
+        }
+        final String name = explicitName != null ? explicitName : internalName;
+        if (ignored) {
+            ignoredNames.add(name);
+            return null;
+        }
+
+        final boolean fieldVisible = accessors.field != null && isVisible(accessors.field);
+        final boolean getterVisible = accessors.getter != null && isVisible(accessors.getter);
+        if (!fieldVisible && !getterVisible && accessors.setter == null) {
+            return null;
+        }
+
+        final Property property = new Property(name, documentField);
+        if (getterVisible) {
+            property.getter = accessors.getter;
+            property.readType = types.asMemberOf(declaredType(), accessors.getter).accept(RETURN_TYPE, null);
+        } else if (fieldVisible) {
+            property.readField = accessors.field;
+            property.readType = types.asMemberOf(declaredType(), accessors.field);
+        }
+        if (accessors.setter != null) {
+            property.setter = accessors.setter;
+            property.writeType = types.asMemberOf(declaredType(), accessors.setter).accept(PARAMETER_TYPE, null);
+        } else if (accessors.field != null && (fieldVisible || getterVisible)) {
+            if (accessors.field.getModifiers().contains(Modifier.FINAL)) {
+                throw new UnsupportedDocumentException("final field " + accessors.field);
+            }
+            property.writeField = accessors.field;
+            property.writeType = types.asMemberOf(declaredType(), accessors.field);
+        } else if (isCollectionOrMap(property.readType)) {
+            // deserialized through the getter by Jackson (MapperFeature.USE_GETTERS_AS_SETTERS)
+            throw new UnsupportedDocumentException("collection property " + name + " without mutator");
+        }
+
+        for (Element member : new Element[]{property.getter, property.readField, property.setter,
+                property.writeField}) {
+            if (member != null && !isAccessible(member)) {
+                throw new UnsupportedDocumentException("inaccessible member " + member);
+            }
+        }
+        for (TypeMirror t : new TypeMirror[]{property.readType, property.writeType}) {
+            if (t != null && !isAccessible(t)) {
+                throw new UnsupportedDocumentException("inaccessible type " + t);
+            }
+        }
+        return property;
+    }
+
+    private DeclaredType declaredType() {
+        return (DeclaredType) type.asType();
+    }
+
+    private static Accessors accessors(final Map<String, Accessors> byName, final String name) {
+        return byName.computeIfAbsent(name, k -> new Accessors());
+    }
+
+    private String signature(final ExecutableElement m) {
+        final StringBuilder sb = new StringBuilder(m.getSimpleName()).append('(');
+        for (VariableElement p : m.getParameters()) {
+            sb.append(types.erasure(p.asType())).append(',');
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Same as Jackson default (legacy) bean naming: leading upper case chars are lower cased.
+     */
+    static String manglePropertyName(final String name, final int offset) {
+        final StringBuilder sb = new StringBuilder(name.length() - offset);
+        int i = offset;
+        for (; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            final char lower = Character.toLowerCase(c);
+            if (c == lower) {
+                break;
+            }
+            sb.append(lower);
+        }
+        return sb.append(name, i, name.length()).toString();
+    }
+
+    private boolean isVisible(final Element member) {
+        return member.getModifiers().contains(Modifier.PUBLIC) || isExplicit(member);
+    }
+
+    private boolean isAccessible(final Element member) {
+        if (member.getModifiers().contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !member.getModifiers().contains(Modifier.PRIVATE)
+                && elements.getPackageOf(member).getQualifiedName().contentEquals(packageName);
+    }
+
+    private boolean isAccessible(final TypeMirror t) {
+        switch (t.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            case ARRAY:
+                return isAccessible(((ArrayType) t).getComponentType());
+            case WILDCARD:
+                final WildcardType w = (WildcardType) t;
+                return (w.getExtendsBound() == null || isAccessible(w.getExtendsBound()))
+                        && (w.getSuperBound() == null || isAccessible(w.getSuperBound()));
+            case DECLARED:
+                for (Element e = types.asElement(t); e instanceof TypeElement; e = e.getEnclosingElement()) {
+                    if (!isAccessible(e)) {
+                        return false;
+                    }
+                }
+                for (TypeMirror arg : ((DeclaredType) t).getTypeArguments()) {
+                    if (!isAccessible(arg)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                // type variables, unresolved types, ...
+                return false;
+        }
+    }
+
+    private boolean isBoolean(final TypeMirror t) {
+        return t.getKind() == TypeKind.BOOLEAN || isType(t, Boolean.class.getName());
+    }
+
+    private boolean isCollectionOrMap(final TypeMirror t) {
+        return t != null && (isSubtype(t, "java.util.Collection") || isSubtype(t, "java.util.Map"));
+    }
+
+    private boolean isSubtype(final TypeMirror t, final String name) {
+        final TypeElement e = elements.getTypeElement(name);
+        return e != null && types.isSubtype(types.erasure(t), types.erasure(e.asType()));
+    }
+
+    static boolean isType(final TypeMirror t, final String name) {
+        return t.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) t).asElement()).getQualifiedName().contentEquals(name);
+    }
+
+    /**
+     * @return the property name set by driver or {@code @JsonProperty} annotations, if any
+     */
+    private static String explicitName(final Element member) {
+        final String documentField = documentField(member);
+        if (documentField != null) {
+            return documentField;
+        }
+        for (AnnotationMirror a : member.getAnnotationMirrors()) {
+            if (annotationName(a).equals(JSON_PROPERTY)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e :
+                        a.getElementValues().entrySet()) {
+                    if (e.getKey().getSimpleName().contentEquals("value")
+                            && !e.getValue().getValue().toString().isEmpty()) {
+                        return e.getValue().getValue().toString();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the member is annotated with driver or {@code @JsonProperty} annotations
+     */
+    private static boolean isExplicit(final Element member) {
+        return documentField(member) != null || hasAnnotation(member, JSON_PROPERTY);
+    }
+
+    private static String documentField(final Element member) {
+        for (AnnotationMirror a : member.getAnnotationMirrors()) {
+            final String field = DOCUMENT_FIELDS.get(annotationName(a));
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAnnotation(final Element member, final String name) {
+        for (AnnotationMirror a : member.getAnnotationMirrors()) {
+            if (annotationName(a).equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String annotationName(final AnnotationMirror a) {
+        return ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static final SimpleTypeVisitor8<TypeMirror, Void> RETURN_TYPE =
+            new SimpleTypeVisitor8<TypeMirror, Void>() {
+                @Override
+                public TypeMirror visitExecutable(final ExecutableType t, final Void v) {
+                    return t.getReturnType();
+                }
+            };
+
+    private static final SimpleTypeVisitor8<TypeMirror, Void> PARAMETER_TYPE =
+            new SimpleTypeVisitor8<TypeMirror, Void>() {
+                @Override
+                public TypeMirror visitExecutable(final ExecutableType t, final Void v) {
+                    return t.getParameterTypes().get(0);
+                }
+            };
+
+    /**
+     * Members of the document class related to the same property.
+     */
+    private static final class Accessors {
+        VariableElement field;
+        ExecutableElement getter;
+        ExecutableElement setter;
+
+        List<Element> members() {
+            final List<Element> members = new ArrayList<>(3);
+            for (Element e : new Element[]{field, getter, setter}) {
+                if (e != null) {
+                    members.add(e);
+                }
+            }
+            return members;
+        }
+    }
+
+    /**
+     * Document property, with the accessors used by the codec.
+     */
+    static final class Property {
+        final String name;
+        final boolean documentField;
+        ExecutableElement getter;
+        VariableElement readField;
+        TypeMirror readType;
+        ExecutableElement setter;
+        VariableElement writeField;
+        TypeMirror writeType;
+
+        Property(final String name, final boolean documentField) {
+            this.name = name;
+            this.documentField = documentField;
+        }
+
+        boolean isReadable() {
+            return readType != null;
+        }
+
+        boolean isWritable() {
+            return writeType != null;
+        }
+    }
+
+}
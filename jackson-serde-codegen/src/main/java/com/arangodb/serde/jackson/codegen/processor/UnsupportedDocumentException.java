@@ -0,0 +1,12 @@
+package com.arangodb.serde.jackson.codegen.processor;
+
+/**
+ * Thrown when no codec can be generated for a document class, which is then (de)serialized reflectively.
+ */
+final class UnsupportedDocumentException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    UnsupportedDocumentException(final String message) {
+        super(message);
+    }
+}
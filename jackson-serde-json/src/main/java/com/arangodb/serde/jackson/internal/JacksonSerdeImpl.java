@@ -1,13 +1,27 @@
 package com.arangodb.serde.jackson.internal;
 
 import com.arangodb.RequestContext;
+import com.arangodb.internal.serde.BlackbirdAwareSerde;
+import com.arangodb.internal.serde.JacksonUtils;
+import com.arangodb.internal.serde.ThreadLocalAttribute;
+import com.arangodb.internal.util.LruCache;
 import com.arangodb.serde.jackson.JacksonSerde;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -15,10 +29,16 @@ import java.util.function.Consumer;
 /**
  * Not shaded in arangodb-java-driver-shaded.
  */
-public final class JacksonSerdeImpl implements JacksonSerde {
+public final class JacksonSerdeImpl implements JacksonSerde, BlackbirdAwareSerde {
     public static final String SERDE_CONTEXT_ATTRIBUTE_NAME = "arangoRequestContext";
 
+    private static final int MAX_CACHED_TYPES = 1024;
+
     private final ObjectMapper mapper;
+    private final ThreadLocalAttribute requestContext =
+            new ThreadLocalAttribute(SERDE_CONTEXT_ATTRIBUTE_NAME, ContextAttributes.getEmpty());
+    private final LruCache<Type, ObjectReader> readers = new LruCache<>(MAX_CACHED_TYPES);
+    private final LruCache<Class<?>, ObjectWriter> writers = new LruCache<>(MAX_CACHED_TYPES);
 
     public JacksonSerdeImpl(final ObjectMapper mapper) {
         this.mapper = mapper;
@@ -29,7 +49,7 @@ public final class JacksonSerdeImpl implements JacksonSerde {
     @Override
     public byte[] serialize(final Object value) {
         try {
-            return mapper.writeValueAsBytes(value);
+            return value != null ? writer(value.getClass()).writeValueAsBytes(value) : mapper.writeValueAsBytes(null);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -42,23 +62,113 @@ public final class JacksonSerdeImpl implements JacksonSerde {
 
     @Override
     public <T> T deserialize(byte[] content, Class<T> type, RequestContext ctx) {
+        return deserialize(content, (Type) type, ctx);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] content, Type type, RequestContext ctx) {
         Objects.requireNonNull(ctx);
         if (content == null || content.length == 0) {
             return null;
         }
+        final Object previous = requestContext.set(ctx);
         try {
-            return mapper.readerFor(mapper.constructType(type))
-                    .with(ContextAttributes.getEmpty().withPerCallAttribute(SERDE_CONTEXT_ATTRIBUTE_NAME, ctx))
-                    .readValue(content);
+            return reader(type).readValue(content);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            requestContext.restore(previous);
+        }
+    }
+
+    @Override
+    public void serialize(final Object value, final OutputStream out) {
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (value != null) {
+                writer(value.getClass()).writeValue(gen, value);
+            } else {
+                mapper.writeValue(gen, null);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(final InputStream in, final Class<T> type, final RequestContext ctx) {
+        Objects.requireNonNull(ctx);
+        if (!JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName())) {
+            // VPack parsers can only read from byte arrays
+            return JacksonSerde.super.deserialize(in, type, ctx);
+        }
+        try (JsonParser p = mapper.getFactory().createParser(in)) {
+            p.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return deserialize(p, type, ctx);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(final ByteBuffer content, final Class<T> type, final RequestContext ctx) {
+        Objects.requireNonNull(ctx);
+        if (!content.hasRemaining()) {
+            return null;
+        }
+        if (!content.hasArray()) {
+            return deserialize(new ByteBufferBackedInputStream(content.duplicate()), type, ctx);
+        }
+        try (JsonParser p = mapper.getFactory()
+                .createParser(content.array(), content.arrayOffset() + content.position(), content.remaining())) {
+            return deserialize(p, type, ctx);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private <T> T deserialize(final JsonParser p, final Class<T> type, final RequestContext ctx) throws IOException {
+        if (p.nextToken() == null) {
+            return null;
+        }
+        final Object previous = requestContext.set(ctx);
+        try {
+            return reader(type).readValue(p);
+        } finally {
+            requestContext.restore(previous);
+        }
+    }
+
     @Override
     public JacksonSerde configure(Consumer<ObjectMapper> configureFunction) {
         configureFunction.accept(mapper);
+        // cached readers and writers hold a snapshot of the former mapper configuration
+        readers.clear();
+        writers.clear();
         return this;
     }
 
+    @Override
+    public boolean tryRegisterBlackbirdModule() {
+        if (!JacksonUtils.tryRegisterBlackbirdModule(mapper)) {
+            return false;
+        }
+        readers.clear();
+        writers.clear();
+        return true;
+    }
+
+    /**
+     * @return cached reader for the type, exposing the {@link RequestContext} of the current call as
+     * {@link #SERDE_CONTEXT_ATTRIBUTE_NAME}
+     */
+    private ObjectReader reader(final Type type) {
+        return readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.constructType(t))
+                .with(requestContext.withDelegate(mapper.getDeserializationConfig().getAttributes())));
+    }
+
+    private ObjectWriter writer(final Class<?> type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
 }
@@ -1,19 +1,41 @@
 package com.arangodb.serde.jsonb;
 
+import com.arangodb.RequestContext;
 import com.arangodb.serde.ArangoSerde;
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.json.bind.JsonbConfig;
 
-import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Objects;
 
 /**
  * User data serde based on Jakarta JSON Binding (JSON-B).
+ * Documents are written to and read from UTF-8 byte streams, without intermediate strings.
  */
 public class JsonbSerde implements ArangoSerde {
 
+    /**
+     * Output buffers larger than this are not retained for reuse.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
     private final Jsonb jsonb;
 
+    /**
+     * Output buffer of the current thread, {@code null} while in use, e.g. by a nested serialization.
+     */
+    private final ThreadLocal<ByteArrayOutputStream> buffer =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(1024));
+
     public JsonbSerde() {
         jsonb = JsonbBuilder.create();
     }
@@ -24,12 +46,71 @@ public class JsonbSerde implements ArangoSerde {
 
     @Override
     public byte[] serialize(Object value) {
-        return jsonb.toJson(value).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = buffer.get();
+        if (out == null) {
+            out = new ByteArrayOutputStream(1024);
+        } else {
+            buffer.set(null);
+        }
+        try {
+            jsonb.toJson(value, out);
+            return out.toByteArray();
+        } finally {
+            if (out.size() <= MAX_POOLED_BUFFER_SIZE) {
+                out.reset();
+                buffer.set(out);
+            } else {
+                buffer.remove();
+            }
+        }
+    }
+
+    @Override
+    public void serialize(Object value, OutputStream out) {
+        // JSON-B closes the stream once done
+        jsonb.toJson(value, new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
     }
 
     @Override
     public <T> T deserialize(byte[] content, Class<T> type) {
-        return jsonb.fromJson(new String(content, StandardCharsets.UTF_8), type);
+        return jsonb.fromJson(new ByteArrayInputStream(content), type);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] content, Type type, RequestContext ctx) {
+        Objects.requireNonNull(ctx);
+        return jsonb.fromJson(new ByteArrayInputStream(content), type);
+    }
+
+    @Override
+    public <T> T deserialize(InputStream in, Class<T> type, RequestContext ctx) {
+        Objects.requireNonNull(ctx);
+        // JSON-B closes the stream once done
+        return jsonb.fromJson(new FilterInputStream(in) {
+            @Override
+            public void close() {
+            }
+        }, type);
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuffer content, Class<T> type, RequestContext ctx) {
+        if (!content.hasArray()) {
+            return ArangoSerde.super.deserialize(content, type, ctx);
+        }
+        Objects.requireNonNull(ctx);
+        return jsonb.fromJson(new ByteArrayInputStream(content.array(), content.arrayOffset() + content.position(),
+                content.remaining()), type);
     }
 
 }
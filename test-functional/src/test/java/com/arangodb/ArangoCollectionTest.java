@@ -3466,6 +3466,15 @@ class ArangoCollectionTest extends BaseJunit5 {
         assertThat(shard.getShardId()).isNotNull();
     }
 
+    @ParameterizedTest
+    @MethodSource("cols")
+    void getShards(ArangoCollection collection) {
+        assumeTrue(isCluster());
+        Collection<String> shards = collection.getShards();
+        assertThat(shards).isNotEmpty();
+        assertThat(shards).contains(collection.getResponsibleShard(new BaseDocument("testKey")).getShardId());
+    }
+
     @ParameterizedTest
     @MethodSource("cols")
     void getRevision(ArangoCollection collection) {
@@ -1,8 +1,12 @@
 package com.arangodb;
 
+import com.arangodb.entity.BaseDocument;
 import com.arangodb.http.HttpProtocolConfig;
 import com.arangodb.internal.ArangoDefaults;
 import com.arangodb.internal.config.ArangoConfig;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.JacksonUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +28,8 @@ public class ArangoConfigTest {
         assertThat(cfg.getMaxConnections()).isEqualTo(ArangoDefaults.MAX_CONNECTIONS_HTTP2_DEFAULT);
         assertThat(cfg.getConnectionTtl()).isEqualTo(ArangoDefaults.DEFAULT_CONNECTION_TTL_HTTP);
         assertThat(cfg.getKeepAliveInterval()).isNull();
+        assertThat(cfg.getMaxInFlightMessages()).isNull();
+        assertThat(cfg.getMaxQueuedMessages()).isEqualTo(ArangoDefaults.DEFAULT_MAX_QUEUED_MESSAGES);
         assertThat(cfg.getAcquireHostList()).isEqualTo(ArangoDefaults.DEFAULT_ACQUIRE_HOST_LIST);
         assertThat(cfg.getAcquireHostListInterval()).isEqualTo(ArangoDefaults.DEFAULT_ACQUIRE_HOST_LIST_INTERVAL);
         assertThat(cfg.getLoadBalancingStrategy()).isEqualTo(ArangoDefaults.DEFAULT_LOAD_BALANCING_STRATEGY);
@@ -32,8 +38,25 @@ public class ArangoConfigTest {
         assertThat(cfg.getCompression()).isEqualTo(ArangoDefaults.DEFAULT_COMPRESSION);
         assertThat(cfg.getCompressionThreshold()).isEqualTo(ArangoDefaults.DEFAULT_COMPRESSION_THRESHOLD);
         assertThat(cfg.getCompressionLevel()).isEqualTo(ArangoDefaults.DEFAULT_COMPRESSION_LEVEL);
+        assertThat(cfg.getCursorMaxBufferedBytes()).isEqualTo(ArangoDefaults.DEFAULT_CURSOR_MAX_BUFFERED_BYTES);
+        assertThat(cfg.getClientCacheMaxBytes()).isEqualTo(ArangoDefaults.DEFAULT_CLIENT_CACHE_MAX_BYTES);
+        assertThat(cfg.getCursorStackTraces()).isEqualTo(ArangoDefaults.DEFAULT_CURSOR_STACK_TRACES);
         assertThat(cfg.getProtocolConfig()).isNull();
         assertThat(cfg.getSerdeProviderClass()).isNull();
+        assertThat(cfg.getJacksonBlackbird()).isEqualTo(ArangoDefaults.DEFAULT_JACKSON_BLACKBIRD);
+    }
+
+    @Test
+    void jacksonBlackbirdFallback() {
+        // the Blackbird module is not in the test classpath
+        assertThat(JacksonUtils.tryRegisterBlackbirdModule(new ObjectMapper())).isFalse();
+        ArangoConfig cfg = new ArangoConfig();
+        cfg.setJacksonBlackbird(true);
+        InternalSerde serde = cfg.getInternalSerde();
+        BaseDocument doc = new BaseDocument("k");
+        doc.addAttribute("a", 1);
+        assertThat(serde.<BaseDocument>deserialize(serde.serialize(doc), BaseDocument.class).getAttribute("a"))
+                .isEqualTo(1);
     }
 
     @Test
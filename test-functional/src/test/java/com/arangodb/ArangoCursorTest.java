@@ -26,12 +26,14 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 /**
  * @author Mark Vollmary
@@ -63,6 +65,45 @@ class ArangoCursorTest extends BaseJunit5 {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void nextWithPrefetch(ArangoDatabase db) {
+        final ArangoCursor<Long> cursor = db.query("FOR i IN 0..99 RETURN i", Long.class,
+                new AqlQueryOptions().batchSize(5).prefetchBatches(3));
+        final AtomicLong i = new AtomicLong(0L);
+        cursor.forEach(t -> assertThat(t).isEqualTo(i.getAndIncrement()));
+        assertThat(i.get()).isEqualTo(100L);
+    }
+
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void nextWithAdaptiveBatchSize(ArangoDatabase db) {
+        final AqlQueryOptions options = new AqlQueryOptions().batchSize(5).adaptiveBatchSize(true);
+        for (int run = 0; run < 2; run++) {
+            final ArangoCursor<Long> cursor = db.query("FOR i IN 0..99 RETURN i", Long.class, options);
+            final AtomicLong i = new AtomicLong(0L);
+            cursor.forEach(t -> assertThat(t).isEqualTo(i.getAndIncrement()));
+            assertThat(i.get()).isEqualTo(100L);
+        }
+        assertThat(options.getBatchSize()).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void nextWithMaxBufferedBytes(ArangoDatabase db) throws IOException {
+        final ArangoCursor<Long> cursor = db.query("FOR i IN 0..99 RETURN i", Long.class,
+                new AqlQueryOptions().batchSize(5).prefetchBatches(10).maxBufferedBytes(1_000L));
+        final AtomicLong i = new AtomicLong(0L);
+        cursor.forEach(t -> assertThat(t).isEqualTo(i.getAndIncrement()));
+        assertThat(i.get()).isEqualTo(100L);
+        cursor.close();
+        assertThat(db.arango().metrics().getCursorBufferedBytes()).isZero();
+
+        Throwable thrown = catchThrowable(() -> db.query("FOR i IN 0..99 RETURN i", Long.class,
+                new AqlQueryOptions().batchSize(100).maxBufferedBytes(10L)));
+        assertThat(thrown).isInstanceOf(ArangoDBException.class).hasMessageContaining("exceeds the limit of 10");
+    }
+
     @ParameterizedTest
     @MethodSource("dbs")
     void mapFilterCountStream(ArangoDatabase db) {
@@ -23,6 +23,7 @@ package com.arangodb;
 import com.arangodb.entity.*;
 import com.arangodb.entity.AqlExecutionExplainEntity.ExecutionPlan;
 import com.arangodb.entity.QueryCachePropertiesEntity.CacheMode;
+import com.arangodb.internal.serde.SerdeUtils;
 import com.arangodb.model.*;
 import com.arangodb.util.*;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -30,10 +31,13 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -41,6 +45,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.arangodb.util.TestUtils.TEST_DB;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -624,6 +629,21 @@ class ArangoDatabaseTest extends BaseJunit5 {
         assertThat(cursor.getCount()).isEqualTo(6);
     }
 
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void queryShards(ArangoDatabase db) {
+        assumeTrue(isCluster());
+        final Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            keys.add(db.collection(CNAME1).insertDocument(new BaseDocument(), null).getKey());
+        }
+
+        final Map<String, Object> bindVars = Collections.singletonMap("@col", CNAME1);
+        final ArangoCursor<String> cursor = db.queryShards(CNAME1, "FOR d IN @@col RETURN d._key", String.class,
+                bindVars, new AqlQueryOptions().batchSize(2), 2);
+        assertThat(cursor.asListRemaining()).hasSameSizeAs(keys).containsExactlyInAnyOrderElementsOf(keys);
+    }
+
     @ParameterizedTest
     @MethodSource("dbs")
     void queryWithLimitAndFullCount(ArangoDatabase db) {
@@ -788,6 +808,53 @@ class ArangoDatabaseTest extends BaseJunit5 {
         db.setQueryCacheProperties(properties2);
     }
 
+    @Test
+    void queryWithClientCache() {
+        final ArangoDB adb = new ArangoDB.Builder()
+                .loadProperties(config)
+                .clientCacheMaxBytes(1024L * 1024)
+                .build();
+        final ArangoDatabase db = adb.db(TEST_DB);
+        final String query = "FOR t IN " + CNAME1 + " FILTER t.clientCache == @value RETURN t.clientCache";
+        final Map<String, Object> bindVars = Collections.singletonMap("value", "queryWithClientCache");
+        final AqlQueryOptions options = new AqlQueryOptions().clientCacheTtl(60_000L)
+                .clientCacheCollections(Collections.singletonList(CNAME1));
+        final ArangoMetrics metrics = db.arango().metrics();
+        final long hits = metrics.getClientCacheHits();
+        final long misses = metrics.getClientCacheMisses();
+
+        assertThat(db.query(query, String.class, bindVars, options).asListRemaining()).isEmpty();
+        assertThat(db.query(query, String.class, bindVars, options).asListRemaining()).isEmpty();
+        assertThat(metrics.getClientCacheMisses()).isEqualTo(misses + 1);
+        assertThat(metrics.getClientCacheHits()).isEqualTo(hits + 1);
+
+        // the write invalidates the cached result
+        final BaseDocument doc = new BaseDocument();
+        doc.addAttribute("clientCache", "queryWithClientCache");
+        db.collection(CNAME1).insertDocument(doc);
+        assertThat(db.query(query, String.class, bindVars, options).asListRemaining())
+                .containsExactly("queryWithClientCache");
+        assertThat(metrics.getClientCacheMisses()).isEqualTo(misses + 2);
+        adb.shutdown();
+    }
+
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void queryTo(ArangoDatabase db) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long count = db.queryTo("FOR i IN 0..9 RETURN {i}", null, new AqlQueryOptions().batchSize(3), out);
+        assertThat(count).isEqualTo(10L);
+        final JsonNode result = SerdeUtils.INSTANCE.parseJson(new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertThat(result.size()).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(result.get(i).get("i").intValue()).isEqualTo(i);
+        }
+
+        out.reset();
+        assertThat(db.queryTo("FOR i IN [] RETURN i", null, null, out)).isZero();
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
     @ParameterizedTest
     @MethodSource("dbs")
     void queryWithMemoryLimit(ArangoDatabase db) {
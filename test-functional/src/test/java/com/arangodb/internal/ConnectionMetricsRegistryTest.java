@@ -0,0 +1,28 @@
+package com.arangodb.internal;
+
+import com.arangodb.config.HostDescription;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionMetricsRegistryTest {
+
+    @Test
+    void unregisterClosedConnections() {
+        ConnectionMetricsRegistry registry = new ConnectionMetricsRegistry();
+        HostDescription host = new HostDescription("127.0.0.1", 8529);
+        ConnectionMetricsImpl c1 = new ConnectionMetricsImpl(host, "c1");
+        ConnectionMetricsImpl c2 = new ConnectionMetricsImpl(host, "c2");
+        registry.register(c1);
+        registry.register(c2);
+        assertThat(registry.getConnections()).containsExactlyInAnyOrder(c1, c2);
+
+        registry.unregister(c1);
+        assertThat(registry.getConnections()).containsExactly(c2);
+        // reopened
+        registry.register(c1);
+        registry.register(c1);
+        assertThat(registry.getConnections()).containsExactlyInAnyOrder(c1, c2);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.arangodb.internal;
+
+import com.arangodb.config.HostDescription;
+import com.arangodb.internal.config.ArangoConfig;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.ConnectionPoolImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class ConnectionPoolImplTest {
+
+    private static class TestConnection implements Connection {
+        private boolean full;
+
+        @Override
+        public void setJwt(String jwt) {
+        }
+
+        @Override
+        public CompletableFuture<InternalResponse> executeAsync(InternalRequest request) {
+            return null;
+        }
+
+        @Override
+        public boolean hasCapacity() {
+            return !full;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private ConnectionPoolImpl createPool(int maxConnections) {
+        ArangoConfig config = new ArangoConfig();
+        config.setMaxConnections(maxConnections);
+        return new ConnectionPoolImpl(new HostDescription("127.0.0.1", 8529), config, (c, h) -> new TestConnection());
+    }
+
+    @Test
+    void roundRobin() {
+        ConnectionPoolImpl pool = createPool(3);
+        Connection c0 = pool.connection();
+        Connection c1 = pool.connection();
+        Connection c2 = pool.connection();
+        assertThat(pool.connection()).isSameAs(c0);
+        assertThat(pool.connection()).isSameAs(c1);
+        assertThat(pool.connection()).isSameAs(c2);
+    }
+
+    @Test
+    void skipFullConnections() {
+        ConnectionPoolImpl pool = createPool(3);
+        TestConnection c0 = (TestConnection) pool.connection();
+        TestConnection c1 = (TestConnection) pool.connection();
+        TestConnection c2 = (TestConnection) pool.connection();
+        c0.full = true;
+        c2.full = true;
+        assertThat(pool.connection()).isSameAs(c1);
+        assertThat(pool.connection()).isSameAs(c1);
+
+        c1.full = true;
+        assertThat(pool.connection()).isIn(c0, c1, c2);
+
+        c2.full = false;
+        assertThat(pool.connection()).isSameAs(c2);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.arangodb.internal;
+
+import com.arangodb.internal.util.HashedWheelTimer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+
+    @Test
+    void expire() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, 100, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timer.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    void cancel() throws InterruptedException {
+        AtomicInteger expired = new AtomicInteger();
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            timeouts.add(timer.newTimeout(expired::incrementAndGet, 500, TimeUnit.MILLISECONDS));
+        }
+        assertThat(timer.pendingTimeouts()).isEqualTo(1_000);
+        int cancelled = 0;
+        for (HashedWheelTimer.Timeout timeout : timeouts) {
+            if (timeout.cancel()) {
+                cancelled++;
+            }
+        }
+        assertThat(cancelled).isEqualTo(1_000);
+        assertThat(timeouts).allMatch(HashedWheelTimer.Timeout::isCancelled);
+        assertThat(timer.pendingTimeouts()).isZero();
+        Thread.sleep(700);
+        assertThat(expired.get()).isZero();
+        assertThat(timer.retainedTimeouts()).isZero();
+    }
+
+    @Test
+    void concurrentStart() throws InterruptedException {
+        int threads = 8;
+        CountDownLatch expired = new CountDownLatch(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                timer.newTimeout(expired::countDown, 10, TimeUnit.MILLISECONDS);
+            }).start();
+        }
+        ready.countDown();
+        assertThat(expired.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void expireAfterMultipleRounds() throws InterruptedException {
+        // 8 buckets * 5ms: expiring after 200ms requires multiple rounds
+        CountDownLatch early = new CountDownLatch(1);
+        CountDownLatch late = new CountDownLatch(1);
+        timer.newTimeout(early::countDown, 10, TimeUnit.MILLISECONDS);
+        timer.newTimeout(late::countDown, 200, TimeUnit.MILLISECONDS);
+        assertThat(early.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(late.getCount()).isEqualTo(1);
+        assertThat(late.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.arangodb.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+
+class LatencyHistogramImplTest {
+    private final Random rnd = new Random();
+
+    @Test
+    void empty() {
+        LatencyHistogramImpl h = new LatencyHistogramImpl();
+        assertThat(h.getCount()).isZero();
+        assertThat(h.getAvg()).isZero();
+        assertThat(h.getMax()).isZero();
+        assertThat(h.getPercentile(99)).isZero();
+    }
+
+    @Test
+    void bucketBounds() {
+        for (int i = 0; i < 100_000; i++) {
+            long value = rnd.nextLong() >>> (1 + rnd.nextInt(63));
+            int index = LatencyHistogramImpl.index(value);
+            assertThat(LatencyHistogramImpl.upperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogramImpl.upperBound(index - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogramImpl.index(Long.MAX_VALUE)).isLessThan(64 * 8);
+    }
+
+    @Test
+    void percentiles() {
+        LatencyHistogramImpl h = new LatencyHistogramImpl();
+        int size = 10_000;
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = 1_000 + rnd.nextInt(100_000_000);
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertThat(h.getCount()).isEqualTo(size);
+        assertThat(h.getMax()).isEqualTo(values[size - 1] / 1e9);
+        assertThat(h.getAvg()).isEqualTo(Arrays.stream(values).average().getAsDouble() / 1e9, within(1e-9));
+        for (double p : new double[]{1, 50, 90, 99, 99.9, 100}) {
+            double expected = values[(int) Math.ceil(size * p / 100) - 1] / 1e9;
+            assertThat(h.getPercentile(p)).isBetween(expected, expected * 1.125);
+        }
+    }
+
+}
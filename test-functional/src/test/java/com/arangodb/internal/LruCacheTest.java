@@ -0,0 +1,49 @@
+package com.arangodb.internal;
+
+import com.arangodb.internal.util.LruCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    @Test
+    void computeOnce() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        AtomicInteger computed = new AtomicInteger();
+        assertThat(cache.computeIfAbsent("a", k -> computed.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.computeIfAbsent("a", k -> computed.incrementAndGet())).isEqualTo(1);
+        assertThat(computed.get()).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() throws InterruptedException {
+        LruCache<String, String> cache = new LruCache<>(2);
+        cache.computeIfAbsent("a", k -> k);
+        Thread.sleep(1);
+        cache.computeIfAbsent("b", k -> k);
+        Thread.sleep(1);
+        assertThat(cache.get("a")).isEqualTo("a");
+        Thread.sleep(1);
+        cache.computeIfAbsent("c", k -> k);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("a");
+        assertThat(cache.get("c")).isEqualTo("c");
+    }
+
+    @Test
+    void keepCachingOnceFull() {
+        LruCache<Integer, Integer> cache = new LruCache<>(16);
+        for (int i = 0; i < 1_000; i++) {
+            cache.computeIfAbsent(i, k -> k);
+        }
+        assertThat(cache.size()).isEqualTo(16);
+        assertThat(cache.get(999)).isEqualTo(999);
+    }
+
+}
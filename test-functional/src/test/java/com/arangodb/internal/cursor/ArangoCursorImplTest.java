@@ -0,0 +1,302 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ContentType;
+import com.arangodb.RequestContext;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.internal.ArangoCursorExecute;
+import com.arangodb.internal.RequestContextHolder;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.internal.serde.SerdeUtils;
+import com.arangodb.serde.ArangoSerdeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class ArangoCursorImplTest {
+
+    private static final int BATCHES = 5;
+
+    private final InternalSerde serde = new InternalSerdeProvider(ContentType.JSON)
+            .create(ArangoSerdeProvider.of(ContentType.JSON).create(), null);
+
+    @Test
+    void prefetchBatches() {
+        AsyncExecute execute = new AsyncExecute();
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1), null, 2);
+
+        // the following batch is requested right away, the one after only once it has been received
+        assertThat(execute.requested).containsExactly("2");
+        execute.complete(0);
+        assertThat(execute.requested).containsExactly("2", "3");
+        execute.complete(1);
+        assertThat(execute.requested).containsExactly("2", "3");
+
+        assertThat(cursor.next()).isEqualTo(10);
+        assertThat(cursor.next()).isEqualTo(11);
+        assertThat(cursor.next()).isEqualTo(20);
+        assertThat(execute.requested).containsExactly("2", "3", "4");
+
+        execute.complete(2);
+        assertThat(cursor.next()).isEqualTo(21);
+        assertThat(cursor.next()).isEqualTo(30);
+        assertThat(execute.requested).containsExactly("2", "3", "4", "5");
+
+        execute.complete(3);
+        List<Integer> rest = new ArrayList<>();
+        cursor.forEachRemaining(rest::add);
+        assertThat(rest).containsExactly(31, 40, 41, 50, 51);
+        assertThat(execute.requested).containsExactly("2", "3", "4", "5");
+    }
+
+    @Test
+    void prefetchFailure() {
+        AsyncExecute execute = new AsyncExecute();
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1), null, 1);
+        execute.requests.get(0).completeExceptionally(new ArangoDBException("failed"));
+        assertThat(cursor.next()).isEqualTo(10);
+        assertThat(cursor.next()).isEqualTo(11);
+        assertThatThrownBy(cursor::next).isInstanceOf(ArangoDBException.class).hasMessage("failed");
+
+        // retried from the current batch
+        execute.completeOnRequest = true;
+        assertThat(cursor.next()).isEqualTo(20);
+        assertThat(execute.requested).containsExactly("2", "2", "3");
+    }
+
+    @Test
+    void noPrefetch() {
+        AsyncExecute execute = new AsyncExecute();
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1), null);
+        assertThat(cursor.asListRemaining()).hasSize(2 * BATCHES);
+        assertThat(execute.requests).isEmpty();
+    }
+
+    @Test
+    void prefetchPaused() {
+        AsyncExecute execute = new AsyncExecute();
+        execute.completeOnRequest = true;
+        execute.prefetchAllowed = false;
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1), null, 2);
+        assertThat(execute.requests).isEmpty();
+
+        // batches are fetched synchronously when needed
+        assertThat(cursor.asListRemaining()).hasSize(2 * BATCHES);
+        assertThat(execute.requests).isEmpty();
+        assertThat(execute.closed).isTrue();
+    }
+
+    @Test
+    void prefetchResumed() {
+        AsyncExecute execute = new AsyncExecute();
+        execute.completeOnRequest = true;
+        execute.prefetchAllowed = false;
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1), null, 1);
+        assertThat(cursor.next()).isEqualTo(10);
+        assertThat(cursor.next()).isEqualTo(11);
+        assertThat(cursor.next()).isEqualTo(20);
+        assertThat(execute.requests).isEmpty();
+
+        // resumed after the batch fetched synchronously
+        execute.prefetchAllowed = true;
+        assertThat(cursor.asListRemaining()).containsExactly(21, 30, 31, 40, 41, 50, 51);
+        assertThat(execute.requested).containsExactly("3", "4", "5");
+    }
+
+    @Test
+    void reportConsumedBatches() {
+        AsyncExecute execute = new AsyncExecute();
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1), null);
+        cursor.next();
+        cursor.next();
+        assertThat(execute.consumed).isEmpty();
+        cursor.next();
+        assertThat(execute.consumed).containsExactly("c");
+        cursor.forEachRemaining(i -> {
+        });
+        assertThat(execute.consumed).hasSize(BATCHES);
+    }
+
+    @Test
+    void trackOpenCursors() {
+        CursorTracker tracker = new CursorTracker(false);
+        ArangoCursorImpl<Integer> closed = new ArangoCursorImpl<>(new AsyncExecute(), Integer.class, batch(1), null);
+        closed.track(tracker, "db");
+        ArangoCursorImpl<Integer> exhausted = new ArangoCursorImpl<>(new AsyncExecute(), Integer.class, batch(1), null);
+        exhausted.track(tracker, "db");
+        // single batch, already released by the server
+        ArangoCursorImpl<Integer> last =
+                new ArangoCursorImpl<>(new AsyncExecute(), Integer.class, batch(BATCHES), null);
+        last.track(tracker, "db");
+        assertThat(tracker.getOpenCursors()).containsExactly(entry("db", 2L));
+
+        closed.close();
+        assertThat(tracker.getOpenCursors()).containsExactly(entry("db", 1L));
+        // released by the server once the last batch is sent
+        exhausted.forEachRemaining(i -> {
+        });
+        assertThat(tracker.getOpenCursors()).isEmpty();
+        tracker.shutdown();
+    }
+
+    @Test
+    void closeUnreachableCursors() throws InterruptedException {
+        CursorTracker tracker = new CursorTracker(true);
+        AsyncExecute execute = new AsyncExecute();
+        openAndForget(execute, tracker);
+        assertThat(tracker.getOpenCursors()).containsExactly(entry("db", 1L));
+        for (int i = 0; i < 100 && !(execute.serverClosed.await(100, TimeUnit.MILLISECONDS) && execute.closed); i++) {
+            System.gc();
+        }
+        assertThat(execute.serverClosed.getCount()).isZero();
+        assertThat(execute.closed).isTrue();
+        assertThat(tracker.getOpenCursors()).isEmpty();
+        tracker.shutdown();
+    }
+
+    @Test
+    void releaseUnreachableExhaustedCursors() throws InterruptedException {
+        CursorTracker tracker = new CursorTracker(false);
+        AsyncExecute execute = new AsyncExecute();
+        openAndForget(execute, tracker, BATCHES);
+        assertThat(tracker.getOpenCursors()).isEmpty();
+        for (int i = 0; i < 100 && !execute.closed; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertThat(execute.closed).isTrue();
+        // the server released the cursor with its last batch
+        assertThat(execute.serverClosed.getCount()).isOne();
+        tracker.shutdown();
+    }
+
+    private void openAndForget(AsyncExecute execute, CursorTracker tracker) {
+        openAndForget(execute, tracker, 1);
+    }
+
+    private void openAndForget(AsyncExecute execute, CursorTracker tracker, int batch) {
+        ArangoCursorImpl<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(batch), null);
+        cursor.track(tracker, "db");
+        assertThat(cursor.next()).isNotNull();
+    }
+
+    @Test
+    void splitAtBatches() {
+        AsyncExecute execute = new AsyncExecute();
+        execute.completeOnRequest = true;
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1, true), null);
+        assertThat(cursor.next()).isEqualTo(10);
+
+        Spliterator<Integer> spliterator = cursor.spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+        assertThat(spliterator.estimateSize()).isEqualTo(2 * BATCHES - 1);
+
+        // the rest of the current batch, while the next one is requested
+        Spliterator<Integer> first = spliterator.trySplit();
+        assertThat(first.getExactSizeIfKnown()).isEqualTo(1);
+        assertThat(execute.requested).containsExactly("2");
+        assertThat(spliterator.estimateSize()).isEqualTo(2 * BATCHES - 2);
+
+        Spliterator<Integer> second = spliterator.trySplit();
+        assertThat(StreamSupport.stream(second, false)).containsExactly(20, 21);
+        assertThat(execute.requested).containsExactly("2", "3");
+
+        assertThat(StreamSupport.stream(spliterator, true).sorted()).containsExactly(30, 31, 40, 41, 50, 51);
+        assertThat(spliterator.trySplit()).isNull();
+        assertThat(spliterator.estimateSize()).isZero();
+    }
+
+    @Test
+    void parallelStream() {
+        AsyncExecute execute = new AsyncExecute();
+        execute.completeOnRequest = true;
+        ArangoCursor<Integer> cursor = new ArangoCursorImpl<>(execute, Integer.class, batch(1), null);
+        assertThat(cursor.spliterator().hasCharacteristics(Spliterator.SIZED)).isFalse();
+        assertThat(cursor.stream().parallel().collect(Collectors.toList()))
+                .containsExactly(10, 11, 20, 21, 30, 31, 40, 41, 50, 51);
+    }
+
+    private CursorEntity<Integer> batch(int i) {
+        return batch(i, false);
+    }
+
+    private CursorEntity<Integer> batch(int i, boolean count) {
+        String json = "{\"id\":\"c\",\"hasMore\":" + (i < BATCHES) + ",\"nextBatchId\":\"" + (i + 1) + "\","
+                + (count ? "\"count\":" + 2 * BATCHES + "," : "")
+                + "\"result\":[" + i * 10 + "," + (i * 10 + 1) + "]}";
+        CursorEntity<Integer> entity = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                serde.deserialize(json.getBytes(), SerdeUtils.constructParametricType(CursorEntity.class, Integer.class)));
+        entity.setPotentialDirtyRead(false);
+        return entity;
+    }
+
+    /**
+     * Serves batches synchronously through {@link #next(String, String)}, or asynchronously through
+     * {@link #nextAsync(String, String)}, completing the requests when {@link #complete(int)} is invoked or, if
+     * {@link #completeOnRequest} is set, right away.
+     */
+    private class AsyncExecute implements ArangoCursorExecute<Integer> {
+        final List<String> requested = new ArrayList<>();
+        final List<CompletableFuture<CursorEntity<Integer>>> requests = new ArrayList<>();
+        final List<String> consumed = new ArrayList<>();
+        boolean completeOnRequest;
+        boolean prefetchAllowed = true;
+        volatile boolean closed;
+        final CountDownLatch serverClosed = new CountDownLatch(1);
+
+        @Override
+        public CursorEntity<Integer> next(String id, String nextBatchId) {
+            return batch(Integer.parseInt(nextBatchId));
+        }
+
+        @Override
+        public CompletableFuture<CursorEntity<Integer>> nextAsync(String id, String nextBatchId) {
+            requested.add(nextBatchId);
+            CompletableFuture<CursorEntity<Integer>> request = new CompletableFuture<>();
+            requests.add(request);
+            if (completeOnRequest) {
+                complete(requests.size() - 1);
+            }
+            return request;
+        }
+
+        void complete(int request) {
+            requests.get(request).complete(batch(Integer.parseInt(requested.get(request))));
+        }
+
+        @Override
+        public void close(String id) {
+            serverClosed.countDown();
+        }
+
+        @Override
+        public boolean mayPrefetch(int pending) {
+            return prefetchAllowed;
+        }
+
+        @Override
+        public void closed() {
+            closed = true;
+        }
+
+        @Override
+        public void consumed(CursorEntity<Integer> batch, long nanos) {
+            assertThat(nanos).isNotNegative();
+            consumed.add(batch.getId());
+        }
+    }
+
+}
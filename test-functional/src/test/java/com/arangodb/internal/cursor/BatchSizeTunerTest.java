@@ -0,0 +1,45 @@
+package com.arangodb.internal.cursor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchSizeTunerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void notMeasured() {
+        BatchSizeTuner tuner = new BatchSizeTuner();
+        assertThat(tuner.samples("q").batchSize()).isNull();
+        tuner.samples("q").fetched(0, 10, 10);
+        assertThat(tuner.samples("q").batchSize()).isNull();
+    }
+
+    @Test
+    void targetLatency() {
+        BatchSizeTuner tuner = new BatchSizeTuner();
+        BatchSizeTuner.Samples samples = tuner.samples("q");
+        // 100 µs per document
+        samples.fetched(100, 100 * 100, 10 * MILLIS);
+        assertThat(samples.batchSize()).isEqualTo(1_000);
+
+        // consuming is slower than fetching: 500 µs per document
+        samples.consumed(100, 50 * MILLIS);
+        assertThat(samples.batchSize()).isEqualTo(200);
+        assertThat(tuner.samples("q")).isSameAs(samples);
+        assertThat(tuner.samples("other").batchSize()).isNull();
+    }
+
+    @Test
+    void memoryBudget() {
+        BatchSizeTuner.Samples samples = new BatchSizeTuner().samples("q");
+        // the first batch is not timed, 64 KiB per document
+        samples.fetched(10, 10 * 65_536, -1);
+        assertThat(samples.batchSize()).isEqualTo(64);
+        // moving average of 64 KiB and 16 MiB
+        samples.fetched(10, 10 * (16 << 20), 1);
+        assertThat(samples.batchSize()).isEqualTo(BatchSizeTuner.MIN_BATCH_SIZE);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.internal.InternalRequest;
+import com.arangodb.internal.InternalResponse;
+import com.arangodb.internal.RequestType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientQueryCacheTest {
+
+    private static final String DB = "db";
+
+    @Test
+    void hitsAndMisses() {
+        ClientQueryCache cache = new ClientQueryCache(1_000L);
+        InternalResponse response = response(100);
+        ClientQueryCache.Lookup lookup = cache.lookup(query("q1"), 60_000L, null);
+        assertThat(lookup.get()).isNull();
+        lookup.put(response);
+
+        assertThat(cache.lookup(query("q1"), 60_000L, null).get()).isSameAs(response);
+        assertThat(cache.lookup(query("q2"), 60_000L, null).get()).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getBytes()).isEqualTo(100);
+
+        assertThat(cache.lookup(query("q1"), null, null)).isNull();
+        assertThat(new ClientQueryCache(0L).lookup(query("q1"), 60_000L, null)).isNull();
+        InternalRequest transactional = query("q1");
+        transactional.putHeaderParam("x-arango-trx-id", "123");
+        assertThat(cache.lookup(transactional, 60_000L, null)).isNull();
+    }
+
+    @Test
+    void ttl() throws InterruptedException {
+        ClientQueryCache cache = new ClientQueryCache(1_000L);
+        cache.lookup(query("q1"), 1L, null).put(response(100));
+        Thread.sleep(10);
+        assertThat(cache.lookup(query("q1"), 1L, null).get()).isNull();
+        assertThat(cache.getBytes()).isZero();
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        ClientQueryCache cache = new ClientQueryCache(250L);
+        cache.lookup(query("q1"), 60_000L, null).put(response(100));
+        cache.lookup(query("q2"), 60_000L, null).put(response(100));
+        assertThat(cache.lookup(query("q1"), 60_000L, null).get()).isNotNull();
+        cache.lookup(query("q3"), 60_000L, null).put(response(100));
+
+        assertThat(cache.lookup(query("q2"), 60_000L, null).get()).isNull();
+        assertThat(cache.lookup(query("q1"), 60_000L, null).get()).isNotNull();
+        assertThat(cache.lookup(query("q3"), 60_000L, null).get()).isNotNull();
+        assertThat(cache.getBytes()).isEqualTo(200);
+
+        // larger than the cache
+        cache.lookup(query("q4"), 60_000L, null).put(response(300));
+        assertThat(cache.lookup(query("q4"), 60_000L, null).get()).isNull();
+    }
+
+    @Test
+    void invalidateOnWrite() {
+        ClientQueryCache cache = new ClientQueryCache(1_000L);
+        cache.lookup(query("q1"), 60_000L, Collections.singletonList("c1")).put(response(100));
+        cache.lookup(query("q2"), 60_000L, Collections.singletonList("c2")).put(response(100));
+
+        cache.written(new InternalRequest(DB, RequestType.GET, "/_api/document/c1/key"));
+        cache.written(new InternalRequest("other", RequestType.POST, "/_api/document/c1"));
+        assertThat(cache.lookup(query("q1"), 60_000L, Collections.singletonList("c1")).get()).isNotNull();
+
+        cache.written(new InternalRequest(DB, RequestType.PATCH, "/_api/document/c1/key"));
+        assertThat(cache.lookup(query("q1"), 60_000L, Collections.singletonList("c1")).get()).isNull();
+        assertThat(cache.lookup(query("q2"), 60_000L, Collections.singletonList("c2")).get()).isNotNull();
+        assertThat(cache.getBytes()).isEqualTo(100);
+    }
+
+    @Test
+    void invalidateEntriesOfSeveralCollections() {
+        ClientQueryCache cache = new ClientQueryCache(250L);
+        cache.lookup(query("q1"), 60_000L, Arrays.asList("c1", "c2")).put(response(100));
+        cache.lookup(query("q2"), 60_000L, Collections.singletonList("c2")).put(response(100));
+        cache.lookup(query("q3"), 60_000L, null).put(response(100));
+        // q1 has been evicted
+        assertThat(cache.getBytes()).isEqualTo(200);
+
+        cache.written(new InternalRequest(DB, RequestType.POST, "/_api/document/c1"));
+        assertThat(cache.getBytes()).isEqualTo(200);
+        cache.written(new InternalRequest(DB, RequestType.POST, "/_api/document/c2"));
+        assertThat(cache.getBytes()).isEqualTo(100);
+        assertThat(cache.lookup(query("q3"), 60_000L, null).get()).isNotNull();
+    }
+
+    @Test
+    void writeDuringQuery() {
+        ClientQueryCache cache = new ClientQueryCache(1_000L);
+        ClientQueryCache.Lookup lookup = cache.lookup(query("q1"), 60_000L, Collections.singletonList("c1"));
+        assertThat(lookup.get()).isNull();
+        cache.written(new InternalRequest(DB, RequestType.PUT, "/_api/collection/c1/truncate"));
+        lookup.put(response(100));
+        assertThat(cache.lookup(query("q1"), 60_000L, Collections.singletonList("c1")).get()).isNull();
+    }
+
+    @Test
+    void writtenCollection() {
+        assertThat(ClientQueryCache.writtenCollection(
+                new InternalRequest(DB, RequestType.POST, "/_api/document/c1"))).isEqualTo("c1");
+        assertThat(ClientQueryCache.writtenCollection(
+                new InternalRequest(DB, RequestType.DELETE, "/_api/collection/c1"))).isEqualTo("c1");
+        assertThat(ClientQueryCache.writtenCollection(
+                new InternalRequest(DB, RequestType.POST, "/_api/import").putQueryParam("collection", "c1")))
+                .isEqualTo("c1");
+        assertThat(ClientQueryCache.writtenCollection(
+                new InternalRequest(DB, RequestType.PUT, "/_api/gharial/g/edge/c1/key"))).isEqualTo("c1");
+        assertThat(ClientQueryCache.writtenCollection(
+                new InternalRequest(DB, RequestType.POST, "/_api/gharial/g/vertex"))).isNull();
+        assertThat(ClientQueryCache.writtenCollection(
+                new InternalRequest(DB, RequestType.POST, "/_api/cursor"))).isNull();
+        assertThat(ClientQueryCache.writtenCollection(
+                new InternalRequest(DB, RequestType.GET, "/_api/collection/c1"))).isNull();
+    }
+
+    private static InternalRequest query(String query) {
+        return new InternalRequest(DB, RequestType.POST, "/_api/cursor").setBody(query.getBytes());
+    }
+
+    private static InternalResponse response(int size) {
+        InternalResponse response = new InternalResponse();
+        response.setBody(new byte[size]);
+        return response;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoDBException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorMemoryTest {
+
+    @Test
+    void bufferedBytes() {
+        CursorMemory global = CursorMemory.global(null);
+        CursorMemory first = global.cursor(null);
+        CursorMemory second = global.cursor(null);
+        first.received(100);
+        first.received(200);
+        second.received(1_000);
+        assertThat(first.getBuffered()).isEqualTo(300);
+        assertThat(global.getBuffered()).isEqualTo(1_300);
+
+        // released in the order of receipt
+        first.consumed();
+        assertThat(first.getBuffered()).isEqualTo(200);
+        first.consumed();
+        first.consumed();
+        assertThat(first.getBuffered()).isZero();
+
+        second.received(10);
+        second.closed();
+        assertThat(second.getBuffered()).isZero();
+        assertThat(global.getBuffered()).isZero();
+        assertThat(second.hasRoom(10)).isTrue();
+    }
+
+    @Test
+    void cursorLimit() {
+        CursorMemory global = CursorMemory.global(0L);
+        CursorMemory cursor = global.cursor(1_000L);
+        cursor.received(400);
+        assertThat(cursor.hasRoom(0)).isTrue();
+        assertThat(cursor.hasRoom(1)).isFalse();
+        cursor.consumed();
+        assertThat(cursor.hasRoom(1)).isTrue();
+
+        assertThatThrownBy(() -> cursor.received(1_001))
+                .isInstanceOf(ArangoDBException.class)
+                .hasMessageContaining("1001 bytes exceeds the limit of 1000 buffered bytes of the cursor");
+        assertThat(global.getBuffered()).isZero();
+    }
+
+    @Test
+    void globalLimit() {
+        CursorMemory global = CursorMemory.global(1_000L);
+        CursorMemory first = global.cursor(null);
+        CursorMemory second = global.cursor(null);
+        first.received(800);
+        second.received(100);
+        assertThat(second.hasRoom(0)).isTrue();
+        second.received(100);
+        assertThat(second.hasRoom(0)).isFalse();
+        first.closed();
+        assertThat(second.hasRoom(0)).isTrue();
+
+        assertThatThrownBy(() -> second.received(2_000))
+                .isInstanceOf(ArangoDBException.class)
+                .hasMessageContaining("2000 bytes exceeds the limit of 1000 buffered bytes,");
+    }
+
+}
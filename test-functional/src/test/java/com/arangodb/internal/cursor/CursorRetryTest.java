@@ -0,0 +1,88 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.config.HostDescription;
+import com.arangodb.internal.net.HostHandle;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorRetryTest {
+
+    private final HostDescription host = new HostDescription("coordinator", 8529);
+    private final HostHandle hostHandle = new HostHandle().setHost(host);
+    private final List<HostDescription> attempts = new ArrayList<>();
+
+    @Test
+    void disabled() {
+        assertThat(CursorRetry.of(null, null)).isNull();
+        assertThat(CursorRetry.of(false, 1_000L)).isNull();
+        assertThat(CursorRetry.of(true, 0L)).isNull();
+        assertThat(CursorRetry.of(true, null)).isNull();
+        assertThat(CursorRetry.of(true, 1_000L)).isNotNull();
+    }
+
+    @Test
+    void retryOnSameHost() {
+        String result = new CursorRetry(5_000L).execute(hostHandle, () -> fail(2, "batch"));
+        assertThat(result).isEqualTo("batch");
+        assertThat(attempts).containsExactly(host, host, host);
+    }
+
+    @Test
+    void retryAsyncOnSameHost() {
+        String result = new CursorRetry(5_000L)
+                .executeAsync(hostHandle, () -> CompletableFuture.supplyAsync(() -> fail(2, "batch")))
+                .join();
+        assertThat(result).isEqualTo("batch");
+        assertThat(attempts).containsExactly(host, host, host);
+    }
+
+    @Test
+    void notRetryable() {
+        ArangoDBException error = new ArangoDBException("not found");
+        assertThatThrownBy(() -> new CursorRetry(5_000L).execute(hostHandle, () -> {
+            attempts.add(hostHandle.getHost());
+            throw error;
+        })).isSameAs(error);
+        assertThat(attempts).hasSize(1);
+    }
+
+    @Test
+    void deadline() {
+        CursorRetry retry = new CursorRetry(CursorRetry.INITIAL_DELAY_MILLIS * 2);
+        assertThatThrownBy(() -> retry.execute(hostHandle, () -> fail(Integer.MAX_VALUE, "batch")))
+                .isInstanceOf(ArangoDBException.class)
+                .hasCauseInstanceOf(IOException.class);
+        // the third attempt would start after the deadline
+        assertThat(attempts).hasSize(2);
+
+        attempts.clear();
+        assertThatThrownBy(() -> retry.executeAsync(hostHandle,
+                () -> CompletableFuture.supplyAsync(() -> fail(Integer.MAX_VALUE, "batch"))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ArangoDBException.class);
+        assertThat(attempts).hasSize(2);
+    }
+
+    /**
+     * Records the attempt and fails like a lost connection, which also unpins the host, for the first attempts.
+     */
+    private String fail(int failures, String result) {
+        attempts.add(hostHandle.getHost());
+        if (attempts.size() <= failures) {
+            hostHandle.setHost(null);
+            throw ArangoDBException.of(new IOException("connection reset"));
+        }
+        return result;
+    }
+
+}
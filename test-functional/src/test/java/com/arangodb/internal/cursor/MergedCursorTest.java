@@ -0,0 +1,160 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ContentType;
+import com.arangodb.RequestContext;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.internal.ArangoCursorExecute;
+import com.arangodb.internal.RequestContextHolder;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.internal.serde.SerdeUtils;
+import com.arangodb.serde.ArangoSerdeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MergedCursorTest {
+
+    private static final int SHARDS = 3;
+
+    private final InternalSerde serde = new InternalSerdeProvider(ContentType.JSON)
+            .create(ArangoSerdeProvider.of(ContentType.JSON).create(), null);
+
+    private final List<String> requested = new ArrayList<>();
+    private final List<CompletableFuture<CursorEntity<Integer>>> requests = new ArrayList<>();
+    private final List<String> closed = new ArrayList<>();
+
+    @Test
+    void mergeInArrivalOrder() {
+        ArangoCursor<Integer> cursor = new MergedCursor<>(Integer.class, sources(), 2, null);
+        assertThat(requested).containsExactly("s0/1", "s1/1");
+
+        complete("s1/1");
+        assertThat(cursor.next()).isEqualTo(110);
+        assertThat(requested).containsExactly("s0/1", "s1/1", "s1/2");
+
+        complete("s0/1");
+        complete("s1/2");
+        assertThat(cursor.next()).isEqualTo(111);
+        assertThat(cursor.next()).isEqualTo(10);
+        assertThat(cursor.next()).isEqualTo(11);
+        assertThat(cursor.next()).isEqualTo(120);
+        // the third shard is queried once the second one is exhausted
+        assertThat(requested).containsExactly("s0/1", "s1/1", "s1/2", "s0/2", "s2/1");
+
+        complete("s0/2");
+        complete("s2/1");
+        assertThat(cursor.next()).isEqualTo(121);
+        assertThat(cursor.next()).isEqualTo(20);
+        assertThat(cursor.next()).isEqualTo(21);
+        assertThat(cursor.next()).isEqualTo(210);
+
+        complete("s2/2");
+        List<Integer> rest = new ArrayList<>();
+        cursor.forEachRemaining(rest::add);
+        assertThat(rest).containsExactly(211, 220, 221);
+        assertThat(cursor.hasNext()).isFalse();
+        assertThat(closed).isEmpty();
+    }
+
+    @Test
+    void closeOpenCursors() {
+        MergedCursor<Integer> cursor = new MergedCursor<>(Integer.class, sources(), 2, null);
+        complete("s0/1");
+        assertThat(cursor.next()).isEqualTo(10);
+
+        complete("s1/1");
+        complete("s0/2");
+        cursor.close();
+        assertThat(closed).containsExactlyInAnyOrder("s1");
+        assertThat(requested).doesNotContain("s2/1");
+        assertThat(cursor.hasNext()).isFalse();
+    }
+
+    @Test
+    void failure() {
+        ArangoCursor<Integer> cursor = new MergedCursor<>(Integer.class, sources(), 2, null);
+        requests.get(requested.indexOf("s0/1")).completeExceptionally(new ArangoDBException("failed"));
+        complete("s1/1");
+        assertThatThrownBy(cursor::next).isInstanceOf(ArangoDBException.class).hasMessage("failed");
+        assertThat(closed).containsExactly("s1");
+        assertThat(requested).doesNotContain("s2/1");
+    }
+
+    @Test
+    void prefetchOnArrival() {
+        ArangoCursor<Integer> cursor = new MergedCursor<>(Integer.class, sources(), 2, null);
+        complete("s0/1");
+        complete("s1/1");
+        assertThat(requested).containsExactly("s0/1", "s1/1", "s0/2", "s1/2");
+        assertThat(cursor.next()).isEqualTo(10);
+    }
+
+    @Test
+    void failureOfFollowingBatch() {
+        ArangoCursor<Integer> cursor = new MergedCursor<>(Integer.class, sources(), 2, null);
+        complete("s0/1");
+        complete("s1/1");
+        requests.get(requested.indexOf("s0/2")).completeExceptionally(new ArangoDBException("failed"));
+        assertThat(cursor.next()).isEqualTo(10);
+        assertThat(cursor.next()).isEqualTo(11);
+        assertThat(cursor.next()).isEqualTo(110);
+        assertThat(cursor.next()).isEqualTo(111);
+        assertThatThrownBy(cursor::next).isInstanceOf(ArangoDBException.class).hasMessage("failed");
+        assertThat(closed).containsExactlyInAnyOrder("s0", "s1");
+    }
+
+    private List<MergedCursor.Source<Integer>> sources() {
+        List<MergedCursor.Source<Integer>> sources = new ArrayList<>();
+        for (int s = 0; s < SHARDS; s++) {
+            String shard = "s" + s;
+            sources.add(new MergedCursor.Source<>(() -> request(shard, "1"), new ArangoCursorExecute<Integer>() {
+                @Override
+                public CursorEntity<Integer> next(String id, String nextBatchId) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public CompletableFuture<CursorEntity<Integer>> nextAsync(String id, String nextBatchId) {
+                    return request(id, nextBatchId);
+                }
+
+                @Override
+                public void close(String id) {
+                    closed.add(id);
+                }
+            }));
+        }
+        return sources;
+    }
+
+    private CompletableFuture<CursorEntity<Integer>> request(String shard, String batchId) {
+        requested.add(shard + "/" + batchId);
+        CompletableFuture<CursorEntity<Integer>> request = new CompletableFuture<>();
+        requests.add(request);
+        return request;
+    }
+
+    /**
+     * Completes the request of the given shard and batch id, each shard has two batches of two elements.
+     */
+    private void complete(String request) {
+        int shard = Integer.parseInt(request.substring(1, request.indexOf('/')));
+        int batch = Integer.parseInt(request.substring(request.indexOf('/') + 1));
+        int first = shard * 100 + batch * 10;
+        String json = "{\"id\":\"s" + shard + "\",\"hasMore\":" + (batch < 2) + ",\"nextBatchId\":\"" + (batch + 1)
+                + "\",\"result\":[" + first + "," + (first + 1) + "]}";
+        CursorEntity<Integer> entity = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                serde.deserialize(json.getBytes(), SerdeUtils.constructParametricType(CursorEntity.class, Integer.class)));
+        entity.setPotentialDirtyRead(false);
+        requests.get(requested.indexOf(request)).complete(entity);
+    }
+
+}
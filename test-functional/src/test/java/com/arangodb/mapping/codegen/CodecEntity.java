@@ -0,0 +1,133 @@
+package com.arangodb.mapping.codegen;
+
+import com.arangodb.mapping.annotations.AnnotatedEntity;
+import com.arangodb.serde.jackson.Key;
+import com.arangodb.serde.jackson.Rev;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class CodecEntity {
+
+    public int count;
+    public Long total;
+
+    @Key
+    private String key;
+
+    @Rev
+    private String rev;
+
+    @JsonProperty("label")
+    private String name;
+
+    @JsonIgnore
+    private String secret;
+
+    private boolean active;
+    private double score;
+    private float ratio;
+    private List<String> tags;
+    private Map<String, Object> attributes;
+    private AnnotatedEntity nested;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getRev() {
+        return rev;
+    }
+
+    public void setRev(String rev) {
+        this.rev = rev;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public float getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(float ratio) {
+        this.ratio = ratio;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    public AnnotatedEntity getNested() {
+        return nested;
+    }
+
+    public void setNested(AnnotatedEntity nested) {
+        this.nested = nested;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CodecEntity that = (CodecEntity) o;
+        return count == that.count && active == that.active && Double.compare(score, that.score) == 0
+                && Float.compare(ratio, that.ratio) == 0 && Objects.equals(total, that.total)
+                && Objects.equals(key, that.key) && Objects.equals(rev, that.rev) && Objects.equals(name, that.name)
+                && Objects.equals(secret, that.secret) && Objects.equals(tags, that.tags)
+                && Objects.equals(attributes, that.attributes) && Objects.equals(nested, that.nested);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, total, key, rev, name, secret, active, score, ratio, tags, attributes, nested);
+    }
+}
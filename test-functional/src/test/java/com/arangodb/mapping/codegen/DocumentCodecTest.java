@@ -0,0 +1,163 @@
+package com.arangodb.mapping.codegen;
+
+import com.arangodb.ContentType;
+import com.arangodb.mapping.annotations.AnnotatedEntity;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.arangodb.serde.jackson.codegen.DocumentCodec;
+import com.arangodb.serde.jackson.codegen.DocumentCodecModule;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentCodecTest {
+
+    @Test
+    void generatedCodecs() {
+        Set<Class<?>> types = new HashSet<>();
+        for (DocumentCodec<?> codec : ServiceLoader.load(DocumentCodec.class)) {
+            types.add(codec.getType());
+        }
+        assertThat(types)
+                .contains(CodecEntity.class, AnnotatedEntity.class)
+                .doesNotContain(UnsupportedEntity.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serde(ContentType contentType) throws JsonMappingException {
+        AtomicReference<ObjectMapper> mapper = new AtomicReference<>();
+        JacksonSerde serde = JacksonSerde.of(contentType).configure(m -> {
+            m.registerModule(new DocumentCodecModule());
+            mapper.set(m);
+        });
+        JacksonSerde reflective = JacksonSerde.of(contentType);
+        assertThat(serializer(mapper.get(), CodecEntity.class)).isNotInstanceOf(BeanSerializerBase.class);
+
+        CodecEntity entity = createEntity();
+        byte[] serialized = serde.serialize(entity);
+        assertThat(reflective.deserialize(serialized, Map.class))
+                .isEqualTo(reflective.deserialize(reflective.serialize(entity), Map.class))
+                .containsEntry("_key", "key")
+                .containsEntry("label", "name")
+                .doesNotContainKey("secret");
+
+        CodecEntity deserialized = serde.deserialize(serialized, CodecEntity.class);
+        entity.setSecret(null);
+        assertThat(deserialized).isEqualTo(entity);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void nullValues(ContentType contentType) {
+        JacksonSerde serde = JacksonSerde.of(contentType).configure(m -> m.registerModule(new DocumentCodecModule()));
+        JacksonSerde reflective = JacksonSerde.of(contentType);
+
+        CodecEntity entity = new CodecEntity();
+        byte[] serialized = serde.serialize(entity);
+        assertThat(reflective.deserialize(serialized, Map.class))
+                .isEqualTo(reflective.deserialize(reflective.serialize(entity), Map.class))
+                .doesNotContainKeys("_key", "_rev")
+                .containsEntry("tags", null);
+        assertThat(serde.deserialize(serialized, CodecEntity.class)).isEqualTo(entity);
+    }
+
+    @Test
+    void unknownProperties() {
+        JacksonSerde serde = JacksonSerde.of(ContentType.JSON)
+                .configure(m -> m.registerModule(new DocumentCodecModule()));
+        byte[] json = "{\"_key\":\"key\",\"foo\":{\"bar\":[1,2]},\"secret\":\"s\",\"count\":1}".getBytes();
+        CodecEntity entity = serde.deserialize(json, CodecEntity.class);
+        assertThat(entity.getKey()).isEqualTo("key");
+        assertThat(entity.getSecret()).isNull();
+        assertThat(entity.count).isEqualTo(1);
+
+        serde.configure(m -> m.enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        assertThatThrownBy(() -> serde.deserialize(json, CodecEntity.class))
+                .hasMessageContaining("foo");
+    }
+
+    @Test
+    void fallbackToReflection() throws JsonMappingException {
+        AtomicReference<ObjectMapper> mapper = new AtomicReference<>();
+        JacksonSerde serde = JacksonSerde.of(ContentType.JSON).configure(m -> {
+            m.registerModule(new DocumentCodecModule());
+            m.setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE);
+            mapper.set(m);
+        });
+        assertThat(serializer(mapper.get(), CodecEntity.class)).isInstanceOf(BeanSerializerBase.class);
+
+        CodecEntity entity = createEntity();
+        Map<String, Object> serialized = serde.deserialize(serde.serialize(entity), Map.class);
+        assertThat(serialized).containsKeys("Count", "Tags");
+        entity.setSecret(null);
+        assertThat(serde.deserialize(serde.serialize(entity), CodecEntity.class)).isEqualTo(entity);
+    }
+
+    @Test
+    void activeView() throws IOException {
+        AtomicReference<ObjectMapper> mapper = new AtomicReference<>();
+        JacksonSerde.of(ContentType.JSON).configure(m -> {
+            m.registerModule(new DocumentCodecModule());
+            mapper.set(m);
+        });
+        AtomicReference<ObjectMapper> reflective = new AtomicReference<>();
+        JacksonSerde.of(ContentType.JSON).configure(reflective::set);
+
+        CodecEntity entity = createEntity();
+        String json = mapper.get().writerWithView(Object.class).writeValueAsString(entity);
+        assertThat(json).isEqualTo(reflective.get().writerWithView(Object.class).writeValueAsString(entity));
+        entity.setSecret(null);
+        assertThat(mapper.get().readerWithView(Object.class).forType(CodecEntity.class).<CodecEntity>readValue(json))
+                .isEqualTo(entity);
+    }
+
+    private static JsonSerializer<Object> serializer(ObjectMapper mapper, Class<?> type)
+            throws JsonMappingException {
+        return mapper.getSerializerProviderInstance().findValueSerializer(type);
+    }
+
+    private static CodecEntity createEntity() {
+        AnnotatedEntity nested = new AnnotatedEntity();
+        nested.setKey("nestedKey");
+        nested.setFrom("v/1");
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("a", 1);
+        attributes.put("b", Collections.singletonList("c"));
+
+        CodecEntity entity = new CodecEntity();
+        entity.count = 3;
+        entity.total = 1L << 40;
+        entity.setKey("key");
+        entity.setRev("rev");
+        entity.setName("name");
+        entity.setSecret("secret");
+        entity.setActive(true);
+        entity.setScore(1.5);
+        entity.setRatio(0.25f);
+        entity.setTags(Arrays.asList("x", "y"));
+        entity.setAttributes(attributes);
+        entity.setNested(nested);
+        return entity;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.arangodb.mapping.codegen;
+
+import com.arangodb.serde.jackson.Key;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public class UnsupportedEntity {
+
+    @Key
+    private final String key;
+
+    @JsonCreator
+    public UnsupportedEntity(@Key String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -1,19 +1,43 @@
 package com.arangodb.serde;
 
 import com.arangodb.ContentType;
+import com.arangodb.RequestContext;
 import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.internal.RequestContextHolder;
 import com.arangodb.internal.serde.InternalSerde;
 import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.internal.serde.LazyUserDataList;
 import com.arangodb.internal.serde.SerdeUtils;
+import com.arangodb.model.TransactionOptions;
+import com.arangodb.serde.jackson.JacksonSerde;
 import com.arangodb.util.RawBytes;
 import com.arangodb.util.RawJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -99,4 +123,291 @@ class SerdeTest {
         Void deser = s.deserialize(new byte[0], Void.class);
         assertThat(deser).isNull();
     }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serializeCollectionUserData(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(ArangoSerdeProvider.of(type).create(), null);
+        for (int size : new int[]{0, 1, 200, 20_000}) {
+            List<Object> docs = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (i % 3 == 0) {
+                    BaseDocument doc = new BaseDocument("k" + i);
+                    doc.addAttribute("value", i);
+                    docs.add(doc);
+                } else if (i % 3 == 1) {
+                    docs.add(Collections.singletonMap("value", "v" + i));
+                } else {
+                    docs.add(null);
+                }
+            }
+            byte[] serialized = s.serializeCollectionUserData(docs);
+            List<JsonNode> expected = new ArrayList<>();
+            for (Object doc : docs) {
+                expected.add(s.parse(s.serializeUserData(doc)));
+            }
+            assertThat(s.parse(serialized)).isEqualTo(s.parse(s.serialize(expected)));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void nestedRawJsonSerde(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        Map<String, RawJson> values = new LinkedHashMap<>();
+        values.put("object", RawJson.of("{ \"foo\" : [1, 2.5, {\"bar\": \"è€\"}], \"baz\": null }"));
+        values.put("array", RawJson.of("[ {}, [], \"a\" ]"));
+        values.put("string", RawJson.of("\"foo\""));
+        values.put("number", RawJson.of("12"));
+        byte[] serialized = s.serialize(values);
+        Map<String, RawJson> deserialized = s.deserialize(serialized,
+                SerdeUtils.constructParametricType(Map.class, String.class, RawJson.class));
+        assertThat(deserialized).containsOnlyKeys(values.keySet());
+        values.forEach((k, v) -> {
+            if (type == ContentType.JSON) {
+                // copied as is
+                assertThat(deserialized.get(k)).isEqualTo(v);
+            }
+            assertThat(SerdeUtils.INSTANCE.parseJson(deserialized.get(k).get()))
+                    .isEqualTo(SerdeUtils.INSTANCE.parseJson(v.get()));
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void nestedRawBytesSerde(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        List<RawBytes> values = new ArrayList<>();
+        values.add(RawBytes.of(s.serialize(JsonNodeFactory.instance.objectNode().put("foo", "bar")
+                .set("baz", JsonNodeFactory.instance.arrayNode().add(1).add("è")))));
+        values.add(RawBytes.of(s.serialize(JsonNodeFactory.instance.arrayNode().add(true).addNull())));
+        values.add(RawBytes.of(s.serialize(JsonNodeFactory.instance.objectNode())));
+        byte[] serialized = s.serialize(values);
+        List<RawBytes> deserialized = s.deserialize(serialized, SerdeUtils.constructListType(RawBytes.class));
+        assertThat(deserialized).isEqualTo(values);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serializeUserDataInside(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(ArangoSerdeProvider.of(type).create(), null);
+        Map<String, Object> params = new HashMap<>();
+        params.put("doc", Collections.singletonMap("foo", Arrays.asList(1, "bar")));
+        params.put("key", "k");
+        byte[] serialized = s.serialize(new TransactionOptions().params(params).lockTimeout(3));
+        JsonNode node = s.parse(serialized);
+        assertThat(node.get("params").get("doc").get("foo").get(1).textValue()).isEqualTo("bar");
+        assertThat(node.get("params").get("key").textValue()).isEqualTo("k");
+        assertThat(node.get("lockTimeout").intValue()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeMultiDocument(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(ArangoSerdeProvider.of(type).create(), null);
+        byte[] content = s.serialize(SerdeUtils.INSTANCE.parseJson("[" +
+                "{\"_key\":\"a\",\"_id\":\"c/a\",\"_rev\":\"1\",\"new\":{\"_key\":\"a\",\"value\":[1,{\"x\":true}]}}," +
+                "{\"error\":true,\"errorNum\":1210,\"errorMessage\":\"unique constraint violated\",\"code\":409}," +
+                "{\"_key\":\"b\",\"error\":false,\"new\":{\"_key\":\"b\",\"error\":true}}" +
+                "]"));
+
+        MultiDocumentEntity<DocumentCreateEntity<BaseDocument>> entity = s.deserializeMultiDocument(content,
+                SerdeUtils.constructParametricType(DocumentCreateEntity.class, BaseDocument.class), false);
+        assertThat(entity.getDocuments()).hasSize(2);
+        assertThat(entity.getErrors()).hasSize(1);
+        assertThat(entity.getDocumentsAndErrors()).hasSize(3);
+        assertThat(entity.getDocumentsAndErrors().get(1)).isSameAs(entity.getErrors().get(0));
+        DocumentCreateEntity<BaseDocument> first = entity.getDocuments().get(0);
+        assertThat(first.getKey()).isEqualTo("a");
+        assertThat(first.getNew().getAttribute("value")).isEqualTo(Arrays.asList(1, Collections.singletonMap("x", true)));
+        assertThat(entity.getDocuments().get(1).getNew().getAttribute("error")).isEqualTo(true);
+        ErrorEntity error = entity.getErrors().get(0);
+        assertThat(error.getErrorNum()).isEqualTo(1210);
+        assertThat(error.getErrorMessage()).isEqualTo("unique constraint violated");
+
+        MultiDocumentEntity<Map> userData = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserializeMultiDocument(content, Map.class, true));
+        assertThat(userData.getDocuments()).hasSize(2);
+        assertThat(userData.getDocuments().get(1)).containsEntry("_key", "b");
+        assertThat(userData.getErrors()).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeLazyCursorBatch(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(ArangoSerdeProvider.of(type).create(), null);
+        byte[] content = s.serialize(SerdeUtils.INSTANCE.parseJson(
+                "{\"id\":\"1\",\"hasMore\":false,\"result\":[{\"a\":1},null,{\"a\":[2,{\"b\":\"c\"}]},3]}"));
+        Type entityType = SerdeUtils.constructParametricType(CursorEntity.class, Object.class);
+
+        CursorEntity<Object> eager = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserialize(content, entityType));
+        CursorEntity<Object> lazy = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserializeWithLazyUserData(content, entityType));
+        assertThat(eager.getResult()).isNotInstanceOf(LazyUserDataList.class);
+        assertThat(lazy.getResult()).isInstanceOf(LazyUserDataList.class);
+        assertThat(lazy.getId()).isEqualTo("1");
+        assertThat(lazy.getResult()).isEqualTo(eager.getResult());
+
+        Iterator<Object> it = lazy.getResult().iterator();
+        assertThat(it.next()).isEqualTo(eager.getResult().get(0));
+        assertThat(it.next()).isNull();
+        assertThat(lazy.getResult().get(0)).isEqualTo(eager.getResult().get(0));
+        assertThat(it).toIterable().containsExactly(eager.getResult().get(2), 3);
+
+        String many = IntStream.range(0, 40).mapToObj(i -> "{\"a\":" + i + "},\"s" + i + "\"")
+                .collect(Collectors.joining(",", "{\"result\":[", "]}"));
+        byte[] manyContent = s.serialize(SerdeUtils.INSTANCE.parseJson(many));
+        CursorEntity<Object> manyLazy = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserializeWithLazyUserData(manyContent, entityType));
+        CursorEntity<Object> manyEager = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserialize(manyContent, entityType));
+        assertThat(manyLazy.getResult()).hasSize(80).isEqualTo(manyEager.getResult());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void writeJsonElements(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        byte[] first = s.serialize(SerdeUtils.INSTANCE.parseJson(
+                "{\"result\":[{\"a\":1}, null,[2,{\"b\":\"c\"}],\"d\"],\"hasMore\":true,\"id\":\"1\"}"));
+        byte[] empty = s.serialize(SerdeUtils.INSTANCE.parseJson("{\"hasMore\":true,\"result\":[],\"id\":\"1\"}"));
+        byte[] last = s.serialize(SerdeUtils.INSTANCE.parseJson("{\"result\":[3.5],\"hasMore\":false}"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectNode attributes = JsonNodeFactory.instance.objectNode();
+
+        out.write('[');
+        assertThat(s.writeJsonElements(first, "result", out, false, attributes)).isEqualTo(4);
+        assertThat(attributes.get("hasMore").booleanValue()).isTrue();
+        assertThat(attributes.get("id").textValue()).isEqualTo("1");
+        assertThat(attributes.has("result")).isFalse();
+        assertThat(s.writeJsonElements(empty, "result", out, true, JsonNodeFactory.instance.objectNode())).isZero();
+        assertThat(s.writeJsonElements(last, "result", out, true, JsonNodeFactory.instance.objectNode())).isEqualTo(1);
+        out.write(']');
+        assertThat(SerdeUtils.INSTANCE.parseJson(new String(out.toByteArray(), StandardCharsets.UTF_8)))
+                .isEqualTo(SerdeUtils.INSTANCE.parseJson("[{\"a\":1},null,[2,{\"b\":\"c\"}],\"d\",3.5]"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void jsonPointer(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        byte[] content = s.serialize(SerdeUtils.INSTANCE.parseJson(
+                "{\"a\":{\"b\":[1,{\"c\":\"d\"},[2]],\"e\":null},\"f\":\"g\",\"0\":{\"1\":true}}"));
+        JsonNode tree = s.parse(content);
+        for (String pointer : new String[]{"", "/a", "/a/b", "/a/b/1", "/a/b/1/c", "/a/b/2/0", "/a/e", "/f", "/0/1"}) {
+            JsonNode expected = tree.at(pointer);
+            assertThat(expected.isMissingNode()).isFalse();
+            assertThat(s.parse(content, pointer)).isEqualTo(expected);
+            assertThat(s.parse(s.extract(content, pointer))).isEqualTo(expected);
+            Object deserialized = s.deserialize(content, pointer, Object.class);
+            assertThat(deserialized).isEqualTo(s.deserialize(expected, Object.class));
+        }
+        for (String pointer : new String[]{"/x", "/a/x", "/a/b/3", "/a/b/x", "/f/x", "/a/e/x"}) {
+            assertThat(s.parse(content, pointer).isMissingNode()).isTrue();
+            assertThat((Object) s.deserialize(content, pointer, Object.class)).isNull();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void jacksonSerdeRequestContext(ContentType type) {
+        JacksonSerde serde = JacksonSerde.of(type).configure(mapper -> mapper.registerModule(new SimpleModule()
+                .addDeserializer(RequestContext.class, new JsonDeserializer<RequestContext>() {
+                    @Override
+                    public RequestContext deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                        p.skipChildren();
+                        return JacksonSerde.getRequestContext(ctxt);
+                    }
+                })));
+        byte[] content = serde.serialize(Collections.emptyMap());
+        RequestContext ctx = () -> Optional.of("tx");
+        assertThat(serde.deserialize(content, RequestContext.class, ctx)).isSameAs(ctx);
+        assertThat(serde.deserialize(content, RequestContext.class)).isSameAs(RequestContext.EMPTY);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void jacksonSerdeStreams(ContentType type) {
+        JacksonSerde serde = JacksonSerde.of(type);
+        Map<String, Object> value = new HashMap<>();
+        value.put("a", 1);
+        value.put("b", Arrays.asList("c", null, Collections.singletonMap("d", true)));
+        byte[] expected = serde.serialize(value);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        serde.serialize(value, out);
+        assertThat(out.toByteArray()).isEqualTo(expected);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(expected) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertThat(serde.deserialize(in, Map.class, RequestContext.EMPTY)).isEqualTo(value);
+        assertThat(closed).isFalse();
+
+        byte[] padded = new byte[expected.length + 6];
+        System.arraycopy(expected, 0, padded, 3, expected.length);
+        ByteBuffer buffer = ByteBuffer.wrap(padded, 3, expected.length);
+        assertThat(serde.deserialize(buffer, Map.class, RequestContext.EMPTY)).isEqualTo(value);
+        assertThat(serde.deserialize(buffer.slice(), Map.class, RequestContext.EMPTY)).isEqualTo(value);
+        assertThat(buffer.position()).isEqualTo(3);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(expected.length);
+        direct.put(expected).flip();
+        assertThat(serde.deserialize(direct, Map.class, RequestContext.EMPTY)).isEqualTo(value);
+        assertThat(serde.deserialize(ByteBuffer.allocate(0), Map.class, RequestContext.EMPTY)).isNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeUserDataParametricTypes(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(ArangoSerdeProvider.of(type).create(), null);
+        Type longs = SerdeUtils.constructParametricType(List.class, Long.class);
+        byte[] content = s.serializeUserData(Arrays.asList(1, 2));
+        List<Long> list = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserializeUserData(content, longs));
+        assertThat(list).containsExactly(1L, 2L);
+
+        byte[] cursor = s.serialize(SerdeUtils.INSTANCE.parseJson(
+                "{\"id\":\"1\",\"hasMore\":false,\"result\":[[1,2],[3]]}"));
+        CursorEntity<List<Long>> entity = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserialize(cursor, SerdeUtils.constructParametricType(CursorEntity.class, longs)));
+        assertThat(entity.getResult()).containsExactly(Arrays.asList(1L, 2L), Collections.singletonList(3L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void jacksonSerdeConfigureAfterUse(ContentType type) {
+        JacksonSerde serde = JacksonSerde.of(type);
+        assertThat(serde.serialize(ContentType.VPACK)).isEqualTo(serde.serialize("VPACK"));
+        serde.configure(mapper -> mapper.enable(SerializationFeature.WRITE_ENUMS_USING_INDEX));
+        assertThat(serde.serialize(ContentType.VPACK)).isEqualTo(serde.serialize(ContentType.VPACK.ordinal()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeParametricTypes(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        byte[] content = s.serialize(Collections.singletonList(Collections.singletonMap("a", 1)));
+        List<Map<String, Integer>> maps = s.deserialize(content,
+                SerdeUtils.constructParametricType(List.class,
+                        SerdeUtils.constructParametricType(Map.class, String.class, Integer.class)));
+        assertThat(maps).containsExactly(Collections.singletonMap("a", 1));
+        List<Map<String, Long>> longs = s.deserialize(content,
+                SerdeUtils.constructParametricType(List.class,
+                        SerdeUtils.constructParametricType(Map.class, String.class, Long.class)));
+        assertThat(longs.get(0).get("a")).isEqualTo(1L);
+        assertThat(SerdeUtils.constructParametricType(Map.class, String.class, Long.class))
+                .isEqualTo(SerdeUtils.constructParametricType(Map.class, String.class, Long.class))
+                .isNotEqualTo(SerdeUtils.constructParametricType(Map.class, String.class, Integer.class));
+    }
 }
@@ -0,0 +1,66 @@
+package com.arangodb.vst.internal;
+
+import com.arangodb.ContentType;
+import com.arangodb.internal.InternalRequest;
+import com.arangodb.internal.RequestType;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHeaderEncoderTest {
+
+    private final InternalSerde serde = new InternalSerdeProvider(ContentType.VPACK).create();
+    private final RequestHeaderEncoder encoder = new RequestHeaderEncoder(defaultHeaders());
+
+    private static Map<String, String> defaultHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("accept", "application/x-velocypack");
+        headers.put("x-arango-driver", "test");
+        return headers;
+    }
+
+    @Test
+    void simpleRequest() {
+        InternalRequest request = new InternalRequest(null, RequestType.GET, "/_api/version");
+        assertEncoded(request);
+    }
+
+    @Test
+    void requestWithParams() {
+        InternalRequest request = new InternalRequest("db", RequestType.PATCH, "/_api/document/coll/key")
+                .putQueryParam("returnNew", true)
+                .putQueryParam("waitForSync", false)
+                .putHeaderParam("x-arango-trx-id", "123")
+                .putHeaderParam("accept", "overridden");
+        assertEncoded(request);
+        // cached fragments
+        assertEncoded(request);
+    }
+
+    @Test
+    void longValues() {
+        String longValue = String.join("", Collections.nCopies(300, "ä"));
+        InternalRequest request = new InternalRequest("db", RequestType.POST, "/" + longValue);
+        for (int i = 0; i < 100; i++) {
+            request.putQueryParam("p" + i, longValue);
+            request.putHeaderParam("h" + i, longValue);
+        }
+        request.setVersion(1_000).setType(-1);
+        assertEncoded(request);
+    }
+
+    private void assertEncoded(InternalRequest request) {
+        byte[] encoded = encoder.encode(request);
+        defaultHeaders().forEach(request::putHeaderParam);
+        JsonNode expected = serde.parse(serde.serialize(request));
+        assertThat(serde.parse(encoded)).isEqualTo(expected);
+    }
+
+}
@@ -0,0 +1,139 @@
+package perf;
+
+import com.arangodb.ContentType;
+import com.arangodb.internal.serde.BlackbirdAwareSerde;
+import com.arangodb.serde.jackson.JacksonSerde;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the serialization and deserialization of small and large POJOs by {@link JacksonSerde}, with and without
+ * the Jackson Blackbird module.
+ */
+@Disabled
+class BlackbirdBenchmarkTest {
+    private static final int ITERATIONS = 500_000;
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void small(ContentType type) {
+        run(type + " small", type, BlackbirdBenchmarkTest::small);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void large(ContentType type) {
+        run(type + " large", type, () -> {
+            Large large = new Large();
+            for (int i = 0; i < 20; i++) {
+                large.getItems().add(small());
+            }
+            return large;
+        });
+    }
+
+    private void run(String name, ContentType type, Supplier<Object> value) {
+        JacksonSerde plain = JacksonSerde.of(type);
+        JacksonSerde blackbird = JacksonSerde.of(type);
+        if (!((BlackbirdAwareSerde) blackbird).tryRegisterBlackbirdModule()) {
+            throw new IllegalStateException("Blackbird module not registered");
+        }
+        measure(name + " reflection", plain, value.get());
+        measure(name + " blackbird", blackbird, value.get());
+    }
+
+    private void measure(String name, JacksonSerde serde, Object value) {
+        Class<?> clazz = value.getClass();
+        long count = 0;
+        // warmup
+        for (int i = 0; i < ITERATIONS; i++) {
+            count += serde.deserialize(serde.serialize(value), clazz) != null ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            count += serde.deserialize(serde.serialize(value), clazz) != null ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("-----------------------------------------");
+        System.out.println("--- " + name);
+        System.out.println("ns per serialize+deserialize: \t" + elapsed / ITERATIONS);
+        System.out.println("(count: " + count + ")");
+        System.out.println("-----------------------------------------");
+    }
+
+    private static Small small() {
+        Small small = new Small();
+        small.setKey("key");
+        small.setName("name");
+        small.setValue(42);
+        small.setScore(3.5);
+        small.setActive(true);
+        return small;
+    }
+
+    public static class Small {
+        private String key;
+        private String name;
+        private int value;
+        private double score;
+        private boolean active;
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            this.value = value;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    public static class Large {
+        private List<Small> items = new ArrayList<>();
+
+        public List<Small> getItems() {
+            return items;
+        }
+
+        public void setItems(List<Small> items) {
+            this.items = items;
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package perf;
+
+import com.arangodb.ContentType;
+import com.arangodb.RequestContext;
+import com.arangodb.internal.RequestContextImpl;
+import com.arangodb.serde.jackson.JacksonMapperProvider;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.function.Function;
+
+/**
+ * Compares the per call overhead of {@link JacksonSerde#deserialize(byte[], Class, RequestContext)} against the former
+ * implementation, which created a new reader and new context attributes for each call. An empty document is
+ * deserialized, so that the overhead is not hidden by the parsing and binding costs.
+ */
+@Disabled
+class ReaderCacheBenchmarkTest {
+    private static final int ITERATIONS = 2_000_000;
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserialize(ContentType type) {
+        ObjectMapper mapper = JacksonMapperProvider.of(type);
+        JacksonSerde serde = JacksonSerde.create(mapper);
+        byte[] content = serde.serialize(Collections.emptyMap());
+        RequestContext ctx = new RequestContextImpl();
+
+        run(type + " new reader", content, it -> {
+            try {
+                return mapper.readerFor(mapper.constructType(Pojo.class))
+                        .with(ContextAttributes.getEmpty().withPerCallAttribute("arangoRequestContext", ctx))
+                        .readValue(it);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        run(type + " cached reader", content, it -> serde.deserialize(it, Pojo.class, ctx));
+    }
+
+    private void run(String name, byte[] content, Function<byte[], Object> fn) {
+        // warmup
+        long count = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            count += fn.apply(content) != null ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            count += fn.apply(content) != null ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("-----------------------------------------");
+        System.out.println("--- " + name);
+        System.out.println("ns per call: \t" + elapsed / ITERATIONS);
+        System.out.println("(count: " + count + ")");
+        System.out.println("-----------------------------------------");
+    }
+
+    public static class Pojo {
+        public String _key;
+        public String name;
+        public int value;
+    }
+
+}
@@ -0,0 +1,77 @@
+package perf;
+
+import com.arangodb.ContentType;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compares the serialization of a batch of 10k documents with
+ * {@link InternalSerde#serializeCollectionUserData(Iterable)} against the former implementation, which parsed each
+ * serialized document into a tree and serialized the list of trees again.
+ */
+@Disabled
+class SerializeCollectionBenchmarkTest {
+    private static final int BATCH_SIZE = 10_000;
+    private static final int ITERATIONS = 200;
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serializeCollectionUserData(ContentType type) {
+        InternalSerde serde = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        List<Map<String, Object>> docs = createDocs();
+
+        run(type + " tree", docs, it -> {
+            List<JsonNode> nodes = new ArrayList<>(it.size());
+            for (Object doc : it) {
+                nodes.add(serde.parse(serde.serializeUserData(doc)));
+            }
+            return serde.serialize(nodes);
+        });
+        run(type + " raw", docs, serde::serializeCollectionUserData);
+    }
+
+    private List<Map<String, Object>> createDocs() {
+        List<Map<String, Object>> docs = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("_key", "key-" + i);
+            doc.put("name", "name-" + i);
+            doc.put("value", i);
+            doc.put("score", i * 0.5);
+            doc.put("active", i % 2 == 0);
+            docs.add(doc);
+        }
+        return docs;
+    }
+
+    private void run(String name, List<Map<String, Object>> docs, Function<List<Map<String, Object>>, byte[]> fn) {
+        // warmup
+        long size = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            size += fn.apply(docs).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            size += fn.apply(docs).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("-----------------------------------------");
+        System.out.println("--- " + name);
+        System.out.println("ms per batch: \t\t" + elapsed / ITERATIONS / 1_000_000.0);
+        System.out.println("ns per document: \t" + elapsed / (ITERATIONS * (long) BATCH_SIZE));
+        System.out.println("(total bytes: " + size + ")");
+        System.out.println("-----------------------------------------");
+    }
+
+}
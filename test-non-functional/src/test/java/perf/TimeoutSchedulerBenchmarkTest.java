@@ -0,0 +1,95 @@
+package perf;
+
+import com.arangodb.internal.util.HashedWheelTimer;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compares the request timeout scheduling of {@link ScheduledExecutorService}, with and without
+ * {@link ScheduledThreadPoolExecutor#setRemoveOnCancelPolicy(boolean)}, and {@link HashedWheelTimer}, with 100k
+ * outstanding requests that complete before their timeout. The retained entries are the ones still referenced by the
+ * scheduler's queue or wheel, measured once the scheduler thread had the time to process the cancellations.
+ */
+@Disabled
+class TimeoutSchedulerBenchmarkTest {
+    private static final int OUTSTANDING = 100_000;
+    private static final int ITERATIONS = 50;
+    private static final long TIMEOUT_MS = 30_000;
+
+    @Test
+    void scheduledExecutor() {
+        scheduledExecutor(false);
+    }
+
+    @Test
+    void scheduledExecutorRemoveOnCancel() {
+        scheduledExecutor(true);
+    }
+
+    private void scheduledExecutor(boolean removeOnCancel) {
+        ScheduledThreadPoolExecutor scheduler = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(1);
+        scheduler.setRemoveOnCancelPolicy(removeOnCancel);
+        run("ScheduledExecutorService, removeOnCancel=" + removeOnCancel, () -> {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(OUTSTANDING);
+            for (int i = 0; i < OUTSTANDING; i++) {
+                CompletableFuture<Void> f = new CompletableFuture<>();
+                ScheduledFuture<?> t = scheduler.schedule(() -> f.completeExceptionally(new TimeoutException()),
+                        TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                f.whenComplete((v, e) -> t.cancel(false));
+                futures.add(f);
+            }
+            futures.forEach(f -> f.complete(null));
+        }, () -> scheduler.getQueue().size());
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void hashedWheelTimer() {
+        HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 512);
+        run("HashedWheelTimer", () -> {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(OUTSTANDING);
+            for (int i = 0; i < OUTSTANDING; i++) {
+                CompletableFuture<Void> f = new CompletableFuture<>();
+                HashedWheelTimer.Timeout t = timer.newTimeout(() -> f.completeExceptionally(new TimeoutException()),
+                        TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                f.whenComplete((v, e) -> t.cancel());
+                futures.add(f);
+            }
+            futures.forEach(f -> f.complete(null));
+        }, timer::retainedTimeouts);
+    }
+
+    private void run(String name, Runnable iteration, java.util.function.LongSupplier retained) {
+        // warmup
+        for (int i = 0; i < ITERATIONS; i++) {
+            iteration.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            iteration.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        try {
+            // lets the timer thread process the cancellations queued during the last tick
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("-----------------------------------------");
+        System.out.println("--- " + name);
+        System.out.println("ns per schedule+cancel: \t" + elapsed / (ITERATIONS * (long) OUTSTANDING));
+        System.out.println("retained entries after cancel: \t" + retained.getAsLong());
+        System.out.println("-----------------------------------------");
+    }
+
+}
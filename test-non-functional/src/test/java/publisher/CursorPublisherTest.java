@@ -0,0 +1,262 @@
+package publisher;
+
+import com.arangodb.ArangoCursorAsync;
+import com.arangodb.ArangoDBException;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.publisher.CursorPublisher;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPublisherTest {
+
+    private static final int BATCHES = 4;
+    private static final int BATCH_SIZE = 3;
+
+    @Test
+    void fetchOnDemand() {
+        Server server = new Server();
+        TestSubscriber subscriber = new TestSubscriber();
+        CursorPublisher.of(server.cursor(0)).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.items).containsExactly(0, 1);
+        assertThat(server.fetched).isEmpty();
+
+        // the next batch is requested before emitting the rest of the current one
+        subscriber.subscription.request(2);
+        assertThat(subscriber.items).containsExactly(0, 1, 2, 10);
+        assertThat(server.fetched).containsExactly(1);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.items).isEqualTo(expectedItems());
+        assertThat(subscriber.completed).isTrue();
+        assertThat(server.fetched).containsExactly(1, 2, 3);
+        assertThat(server.closed).hasValue(1);
+    }
+
+    @Test
+    void pendingCursor() {
+        Server server = new Server();
+        TestSubscriber subscriber = new TestSubscriber();
+        CompletableFuture<ArangoCursorAsync<Integer>> cursor = new CompletableFuture<>();
+        CursorPublisher.of(cursor).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertThat(subscriber.items).isEmpty();
+        cursor.complete(server.cursor(0));
+        assertThat(subscriber.items).containsExactly(0);
+    }
+
+    @Test
+    void cancel() {
+        Server server = new Server();
+        TestSubscriber subscriber = new TestSubscriber();
+        CursorPublisher.of(server.cursor(0)).subscribe(subscriber);
+        subscriber.subscription.request(4);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(4);
+        assertThat(subscriber.items).containsExactly(0, 1, 2, 10);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(server.closed).hasValue(1);
+    }
+
+    @Test
+    void cancelWhileFetching() {
+        Server server = new Server();
+        server.deferred = true;
+        TestSubscriber subscriber = new TestSubscriber();
+        CursorPublisher.of(server.cursor(0)).subscribe(subscriber);
+        subscriber.subscription.request(4);
+        assertThat(subscriber.items).containsExactly(0, 1, 2);
+
+        // the cursor is closed once the request in flight completes
+        subscriber.subscription.cancel();
+        assertThat(server.closed).hasValue(0);
+        server.pending.get(0).complete(server.cursor(1));
+        assertThat(server.closed).hasValue(1);
+        assertThat(subscriber.items).containsExactly(0, 1, 2);
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    void fetchError() {
+        Server server = new Server();
+        server.deferred = true;
+        TestSubscriber subscriber = new TestSubscriber();
+        CursorPublisher.of(server.cursor(0)).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        ArangoDBException error = new ArangoDBException("failed");
+        server.pending.get(0).completeExceptionally(error);
+        assertThat(subscriber.items).containsExactly(0, 1, 2);
+        assertThat(subscriber.error).isSameAs(error);
+        assertThat(server.closed).hasValue(1);
+    }
+
+    @Test
+    void invalidRequest() {
+        TestSubscriber subscriber = new TestSubscriber();
+        CursorPublisher.of(new Server().cursor(0)).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void singleSubscriber() {
+        CursorPublisher<Integer> publisher = CursorPublisher.of(new Server().cursor(0));
+        publisher.subscribe(new TestSubscriber());
+        TestSubscriber second = new TestSubscriber();
+        publisher.subscribe(second);
+        assertThat(second.subscription).isNotNull();
+        assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reactiveStreams() {
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+        CursorPublisher.of(new Server().cursor(0)).toReactiveStreams().subscribe(new Subscriber<>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.incrementAndGet();
+            }
+        });
+        assertThat(items).isEqualTo(expectedItems());
+        assertThat(completed).hasValue(1);
+    }
+
+    private static List<Integer> expectedItems() {
+        return IntStream.range(0, BATCHES)
+                .flatMap(b -> IntStream.range(0, BATCH_SIZE).map(i -> b * 10 + i))
+                .boxed()
+                .toList();
+    }
+
+    /**
+     * Cursor batches, served right away or, if {@link #deferred}, once the test completes them.
+     */
+    private static class Server {
+        final List<Integer> fetched = new ArrayList<>();
+        final List<CompletableFuture<ArangoCursorAsync<Integer>>> pending = new ArrayList<>();
+        final AtomicInteger closed = new AtomicInteger();
+        boolean deferred;
+
+        ArangoCursorAsync<Integer> cursor(int batch) {
+            return new Cursor(this, batch);
+        }
+    }
+
+    private record Cursor(Server server, int batch) implements ArangoCursorAsync<Integer> {
+        @Override
+        public CompletableFuture<ArangoCursorAsync<Integer>> nextBatch() {
+            server.fetched.add(batch + 1);
+            CompletableFuture<ArangoCursorAsync<Integer>> next = new CompletableFuture<>();
+            server.pending.add(next);
+            if (!server.deferred) {
+                next.complete(server.cursor(batch + 1));
+            }
+            return next;
+        }
+
+        @Override
+        public CompletableFuture<Void> close() {
+            server.closed.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public String getId() {
+            return "c";
+        }
+
+        @Override
+        public Integer getCount() {
+            return null;
+        }
+
+        @Override
+        public Boolean isCached() {
+            return false;
+        }
+
+        @Override
+        public Boolean hasMore() {
+            return batch < BATCHES - 1;
+        }
+
+        @Override
+        public List<Integer> getResult() {
+            return IntStream.range(0, BATCH_SIZE).map(i -> batch * 10 + i).boxed().toList();
+        }
+
+        @Override
+        public Boolean isPotentialDirtyRead() {
+            return false;
+        }
+
+        @Override
+        public String getNextBatchId() {
+            return null;
+        }
+
+        @Override
+        public CursorEntity.Extras getExtra() {
+            return null;
+        }
+    }
+
+    private static class TestSubscriber implements Flow.Subscriber<Integer> {
+        final List<Integer> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package serde;
+
+import com.arangodb.ContentType;
+import com.arangodb.internal.serde.BlackbirdAwareSerde;
+import com.arangodb.internal.serde.JacksonUtils;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Blackbird module is in the test classpath of this module.
+ */
+class BlackbirdTest {
+
+    @Test
+    void registerModule() {
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(JacksonUtils.tryRegisterBlackbirdModule(mapper)).isTrue();
+        assertThat(mapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void jacksonSerde(ContentType type) {
+        JacksonSerde serde = JacksonSerde.of(type);
+        assertThat(((BlackbirdAwareSerde) serde).tryRegisterBlackbirdModule()).isTrue();
+        AtomicReference<ObjectMapper> mapper = new AtomicReference<>();
+        serde.configure(mapper::set);
+        assertThat(mapper.get().getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+
+        Person person = new Person();
+        person.setName("Bob");
+        person.setAge(42);
+        Person deserialized = serde.deserialize(serde.serialize(person), Person.class);
+        assertThat(deserialized.getName()).isEqualTo("Bob");
+        assertThat(deserialized.getAge()).isEqualTo(42);
+    }
+
+    public static class Person {
+        private String name;
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+
+}
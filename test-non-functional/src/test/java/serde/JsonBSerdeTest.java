@@ -1,16 +1,27 @@
 package serde;
 
 import com.arangodb.ArangoDB;
+import com.arangodb.RequestContext;
 import com.arangodb.config.ArangoConfigProperties;
+import com.arangodb.serde.jsonb.JsonbSerde;
 import com.arangodb.serde.jsonb.JsonbSerdeProvider;
 import com.arangodb.util.RawJson;
 import jakarta.json.*;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -75,4 +86,46 @@ class JsonBSerdeTest {
         assertThat(name).isEqualTo("Jim");
     }
 
+    @Test
+    void streams() {
+        JsonbSerde serde = new JsonbSerdeProvider().create();
+        JsonBPerson doc = new JsonBPerson("key", "Jim", 22);
+        byte[] expected = serde.serialize(doc);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        serde.serialize(doc, out);
+        assertThat(out.toByteArray()).isEqualTo(expected);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(expected) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertThat(serde.deserialize(in, JsonBPerson.class, RequestContext.EMPTY)).isEqualTo(doc);
+        assertThat(closed).isFalse();
+
+        byte[] padded = new byte[expected.length + 2];
+        System.arraycopy(expected, 0, padded, 1, expected.length);
+        ByteBuffer buffer = ByteBuffer.wrap(padded, 1, expected.length);
+        assertThat(serde.deserialize(buffer, JsonBPerson.class, RequestContext.EMPTY)).isEqualTo(doc);
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    void parametricType() {
+        JsonbSerde serde = new JsonbSerdeProvider().create();
+        List<JsonBPerson> docs = Arrays.asList(new JsonBPerson("a", "Jim", 22), new JsonBPerson("b", "Joe", 33));
+        Type type = new ArrayList<JsonBPerson>() {
+        }.getClass().getGenericSuperclass();
+        List<JsonBPerson> res = serde.deserialize(serde.serialize(docs), type, RequestContext.EMPTY);
+        assertThat(res).isEqualTo(docs);
+    }
+
 }
@@ -55,16 +55,21 @@ public class ChunkStore {
         return chunkBuffer;
     }
 
-    public void checkCompleteness(final long messageId) {
-        checkCompleteness(messageId, data.get(messageId));
+    /**
+     * @return whether the message is complete and has been consumed
+     */
+    public boolean checkCompleteness(final long messageId) {
+        return checkCompleteness(messageId, data.get(messageId));
     }
 
-    private void checkCompleteness(final long messageId, final ByteBuffer chunkBuffer)
+    private boolean checkCompleteness(final long messageId, final ByteBuffer chunkBuffer)
             throws BufferUnderflowException, IndexOutOfBoundsException {
         if (chunkBuffer.position() == chunkBuffer.limit()) {
             messageStore.consume(new Message(messageId, chunkBuffer.array()));
             data.remove(messageId);
+            return true;
         }
+        return false;
     }
 
 }
@@ -0,0 +1,212 @@
+package com.arangodb.vst.internal;
+
+import com.arangodb.internal.ArangoRequestParam;
+import com.arangodb.internal.InternalRequest;
+import com.arangodb.internal.serde.VPackCompact;
+import com.arangodb.internal.util.LruCache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Encodes the VST message head of an {@link InternalRequest} directly to VelocyPack:
+ * <pre>
+ * [version, type, database, requestType, path, {queryParams}, {headerParams}]
+ * </pre>
+ * <p>
+ * Arrays and objects are written in the compact format (without index table), the constant parts (default headers
+ * and database names) are encoded once and copied as precomputed fragments, so that only the variable parts are
+ * encoded for each request. Paths are not cached, since document paths contain keys.
+ */
+final class RequestHeaderEncoder {
+
+    private static final int MAX_CACHED_DATABASES = 256;
+    private static final int MAX_SCRATCH_SIZE = 64 * 1024;
+
+    private final LruCache<String, byte[]> databases = new LruCache<>(MAX_CACHED_DATABASES);
+    private final ThreadLocal<Buffer> scratch = ThreadLocal.withInitial(Buffer::new);
+    private final String[] defaultHeaderKeys;
+    private final byte[] defaultHeaders;
+
+    /**
+     * @param defaultHeaders header params added to every request, they replace request headers with the same key
+     */
+    RequestHeaderEncoder(final Map<String, String> defaultHeaders) {
+        defaultHeaderKeys = defaultHeaders.keySet().toArray(new String[0]);
+        final Buffer b = new Buffer();
+        for (Map.Entry<String, String> e : defaultHeaders.entrySet()) {
+            b.writeString(e.getKey());
+            b.writeString(e.getValue());
+        }
+        this.defaultHeaders = b.toByteArray();
+    }
+
+    byte[] encode(final InternalRequest request) {
+        final Buffer b = scratch.get();
+        b.reset();
+        final int array = b.openCompact();
+        b.writeInt(request.getVersion());
+        b.writeInt(request.getType());
+        final byte[] database = databases.computeIfAbsent(
+                request.getDbName() != null ? request.getDbName() : ArangoRequestParam.SYSTEM, this::encodeString);
+        b.write(database, 0, database.length);
+        b.writeInt(request.getRequestType().getType());
+        b.writeString(request.getPath());
+
+        final int query = b.openCompact();
+        for (Map.Entry<String, String> e : request.getQueryParam().entrySet()) {
+            b.writeString(e.getKey());
+            b.writeString(e.getValue());
+        }
+        b.closeCompactObject(query, request.getQueryParam().size());
+
+        final int headers = b.openCompact();
+        b.write(defaultHeaders, 0, defaultHeaders.length);
+        int headerCount = defaultHeaderKeys.length;
+        for (Map.Entry<String, String> e : request.getHeaderParam().entrySet()) {
+            if (!isDefaultHeader(e.getKey())) {
+                b.writeString(e.getKey());
+                b.writeString(e.getValue());
+                headerCount++;
+            }
+        }
+        b.closeCompactObject(headers, headerCount);
+        b.closeCompactArray(array, 7);
+
+        final byte[] result = b.toByteArray();
+        if (b.capacity() > MAX_SCRATCH_SIZE) {
+            scratch.remove();
+        }
+        return result;
+    }
+
+    private boolean isDefaultHeader(final String key) {
+        for (String k : defaultHeaderKeys) {
+            if (k.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] encodeString(final String value) {
+        final Buffer b = new Buffer();
+        b.writeString(value);
+        return b.toByteArray();
+    }
+
+    /**
+     * Growable byte buffer with VelocyPack primitives.
+     */
+    private final class Buffer {
+        // reserved bytes for the compact byte length header: type + up to 9 bytes varint
+        private static final int COMPACT_HEADER_SIZE = 10;
+
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        int capacity() {
+            return bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        void write(final byte[] src, final int off, final int len) {
+            ensureCapacity(len);
+            System.arraycopy(src, off, bytes, size, len);
+            size += len;
+        }
+
+        void writeByte(final int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void writeInt(final int value) {
+            if (value >= 0 && value <= 9) {
+                // SmallInt
+                writeByte(0x30 + value);
+            } else {
+                // signed Int with the minimum number of bytes, little endian
+                int n = 1;
+                while (n < 4 && (value >> (8 * n - 1)) != (value < 0 ? -1 : 0)) {
+                    n++;
+                }
+                writeByte(0x1f + n);
+                for (int i = 0; i < n; i++) {
+                    writeByte(value >> (8 * i));
+                }
+            }
+        }
+
+        void writeString(final String value) {
+            final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            final int len = utf8.length;
+            if (len <= 126) {
+                writeByte(0x40 + len);
+            } else {
+                writeByte(0xbf);
+                long l = len;
+                for (int i = 0; i < 8; i++) {
+                    writeByte((int) (l & 0xff));
+                    l >>= 8;
+                }
+            }
+            write(utf8, 0, len);
+        }
+
+        /**
+         * @return start position of the compact value, to be passed to the related close method
+         */
+        int openCompact() {
+            ensureCapacity(COMPACT_HEADER_SIZE);
+            final int start = size;
+            size += COMPACT_HEADER_SIZE;
+            return start;
+        }
+
+        void closeCompactArray(final int start, final int items) {
+            closeCompact(start, items, VPackCompact.ARRAY, 0x01);
+        }
+
+        void closeCompactObject(final int start, final int items) {
+            closeCompact(start, items, VPackCompact.OBJECT, 0x0a);
+        }
+
+        private void closeCompact(final int start, final int items, final int type, final int emptyType) {
+            final int contentStart = start + COMPACT_HEADER_SIZE;
+            final int contentLength = size - contentStart;
+            if (items == 0) {
+                bytes[start] = (byte) emptyType;
+                size = start + 1;
+                return;
+            }
+            final int byteLength = VPackCompact.byteLength(contentLength, items);
+
+            // shift the content right after the actual header
+            final int newContentStart = start + VPackCompact.headLength(byteLength);
+            System.arraycopy(bytes, contentStart, bytes, newContentStart, contentLength);
+            VPackCompact.writeHead(bytes, start, type, byteLength);
+            size = newContentStart + contentLength;
+
+            final int end = start + byteLength;
+            ensureCapacity(end - size);
+            VPackCompact.writeItems(bytes, end, items);
+            size = end;
+        }
+
+        private void ensureCapacity(final int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+    }
+
+}
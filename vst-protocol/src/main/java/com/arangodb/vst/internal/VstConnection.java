@@ -23,11 +23,15 @@ package com.arangodb.vst.internal;
 import com.arangodb.ArangoDBException;
 import com.arangodb.config.HostDescription;
 import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.ConnectionMetricsImpl;
+import com.arangodb.internal.ConnectionMetricsRegistry;
 import com.arangodb.internal.config.ArangoConfig;
 import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.util.HashedWheelTimer;
 import com.arangodb.velocypack.VPackBuilder;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.ValueType;
+import com.arangodb.vst.internal.utils.CompletableFutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,7 +49,6 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -58,6 +61,15 @@ public abstract class VstConnection<T> implements Connection {
     private static final Logger LOGGER = LoggerFactory.getLogger(VstConnection.class);
     private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
     private static final byte[] PROTOCOL_HEADER = "VST/1.0\r\n\r\n".getBytes();
+    /**
+     * Runs connection maintenance and the dispatch of queued messages, off the timer and reader threads.
+     */
+    protected static final ExecutorService BACKGROUND_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = Executors.defaultThreadFactory().newThread(r);
+        t.setDaemon(true);
+        t.setName("adb-vst-background-" + THREAD_COUNT.getAndIncrement());
+        return t;
+    });
     protected final MessageStore messageStore = new MessageStore();
     protected final Integer timeout;
     private final AtomicLong keepAliveId = new AtomicLong();
@@ -66,8 +78,13 @@ public abstract class VstConnection<T> implements Connection {
     private final Boolean useSsl;
     private final SSLContext sslContext;
     private final HostDescription host;
+    /**
+     * {@link System#nanoTime()} at the beginning of the write of the pending messages
+     */
     private final Map<Long, Long> sendTimestamps = new ConcurrentHashMap<>();
     private final String connectionName;
+    protected final ConnectionMetricsImpl metrics;
+    private final ConnectionMetricsRegistry metricsRegistry;
     private final byte[] keepAliveRequest = new VPackBuilder()
             .add(ValueType.ARRAY)
             .add(1)
@@ -82,9 +99,13 @@ public abstract class VstConnection<T> implements Connection {
             .close()
             .slice()
             .toByteArray();
+    private final AtomicInteger keepAliveFailCounter = new AtomicInteger();
     private ExecutorService executor;
-    private ScheduledExecutorService keepAliveScheduler;
-    private int keepAliveFailCounter = 0;
+    private HashedWheelTimer.Timeout maintenanceTimeout;
+    /**
+     * {@link System#nanoTime()} of the last write or read of a message other than a keep-alive probe
+     */
+    private volatile long lastActivity;
     private Socket socket;
     private OutputStream outputStream;
     private InputStream inputStream;
@@ -99,6 +120,8 @@ public abstract class VstConnection<T> implements Connection {
         this.host = host;
 
         connectionName = "connection_" + System.currentTimeMillis() + "_" + Math.random();
+        metrics = new ConnectionMetricsImpl(host, connectionName);
+        metricsRegistry = config.getConnectionMetrics();
         LOGGER.debug("[" + connectionName + "]: Connection created");
     }
 
@@ -118,20 +141,74 @@ public abstract class VstConnection<T> implements Connection {
 
     public abstract T write(final Message message, final Collection<Chunk> chunks);
 
-    protected abstract void doKeepAlive();
+    protected abstract CompletableFuture<?> doKeepAlive();
 
     private void keepAlive() {
+        CompletableFuture<?> f;
         try {
-            doKeepAlive();
-            keepAliveFailCounter = 0;
+            // a probe not answered within the interval counts as failed
+            f = CompletableFutureUtils.orTimeout(doKeepAlive(), keepAliveInterval, TimeUnit.SECONDS);
         } catch (Exception e) {
-            LOGGER.error("Got exception while performing keepAlive request:", e);
-            keepAliveFailCounter++;
-            if (keepAliveFailCounter >= 3) {
-                LOGGER.error("KeepAlive request failed consecutively for 3 times, closing connection now...");
-                messageStore.clear(new IOException("Connection unresponsive!"));
-                close();
+            onKeepAliveFailure(e);
+            return;
+        }
+        // the timeout completes the future on the timer thread, which must not block on close()
+        f.whenCompleteAsync((v, e) -> {
+            if (e != null) {
+                onKeepAliveFailure(e);
+            } else {
+                keepAliveFailCounter.set(0);
             }
+        }, BACKGROUND_EXECUTOR);
+    }
+
+    private void onKeepAliveFailure(final Throwable e) {
+        LOGGER.error("Got exception while performing keepAlive request:", e);
+        if (keepAliveFailCounter.incrementAndGet() >= 3) {
+            LOGGER.error("KeepAlive request failed consecutively for 3 times, closing connection now...");
+            messageStore.clear(new IOException("Connection unresponsive!"));
+            close();
+        }
+    }
+
+    private synchronized void scheduleMaintenance() {
+        long period = Long.MAX_VALUE;
+        if (keepAliveInterval != null) {
+            period = TimeUnit.SECONDS.toMillis(keepAliveInterval);
+        }
+        if (ttl != null && ttl > 0) {
+            period = Math.min(period, ttl);
+        }
+        if (period != Long.MAX_VALUE && isOpen()) {
+            maintenanceTimeout = HashedWheelTimer.shared().newTimeout(
+                    () -> BACKGROUND_EXECUTOR.execute(this::maintenance), period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Closes the connection if it has been inactive for longer than the TTL, otherwise sends a keep-alive probe if it
+     * has not carried any traffic during the last keep-alive interval.
+     */
+    private void maintenance() {
+        if (!isOpen()) {
+            return;
+        }
+        final long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivity);
+        if (ttl != null && ttl > 0 && idle >= ttl && messageStore.isEmpty()) {
+            LOGGER.debug("[" + connectionName + "]: Connection TTL expired");
+            close();
+            return;
+        }
+        if (keepAliveInterval != null && idle >= TimeUnit.SECONDS.toMillis(keepAliveInterval)) {
+            keepAlive();
+        }
+        scheduleMaintenance();
+    }
+
+    protected void touch(final long messageId, final long nanoTime) {
+        // keep-alive probes have negative ids and do not count as traffic
+        if (messageId > 0) {
+            lastActivity = nanoTime;
         }
     }
 
@@ -182,14 +259,8 @@ public abstract class VstConnection<T> implements Connection {
         executor.submit((Callable<Void>) () -> {
             LOGGER.debug("[" + connectionName + "]: Start Callable");
 
-            final long openTime = new Date().getTime();
-            final Long ttlTime = ttl != null && ttl > 0 ? openTime + ttl : null;
             final ChunkStore chunkStore = new ChunkStore(messageStore);
             while (true) {
-                if (ttlTime != null && new Date().getTime() > ttlTime && messageStore.isEmpty()) {
-                    close();
-                    break;
-                }
                 if (!isOpen()) {
                     messageStore.clear(new IOException("The socket is closed."));
                     close();
@@ -197,12 +268,27 @@ public abstract class VstConnection<T> implements Connection {
                 }
                 try {
                     final Chunk chunk = readChunk();
+                    final long messageId = chunk.getMessageId();
+                    touch(messageId, System.nanoTime());
+                    if (chunk.isFirstChunk()) {
+                        final Long sendTimestamp = sendTimestamps.get(messageId);
+                        if (sendTimestamp != null) {
+                            metrics.recordFirstChunk(System.nanoTime() - sendTimestamp);
+                        }
+                    }
                     final ByteBuffer chunkBuffer = chunkStore.storeChunk(chunk);
                     if (chunkBuffer != null) {
                         final byte[] buf = new byte[chunk.getContentLength()];
                         readBytesIntoBuffer(buf, 0, buf.length);
                         chunkBuffer.put(buf);
-                        chunkStore.checkCompleteness(chunk.getMessageId());
+                        final Long sendTimestamp = sendTimestamps.get(messageId);
+                        if (chunkStore.checkCompleteness(messageId) && sendTimestamp != null) {
+                            sendTimestamps.remove(messageId);
+                            final long responseTime = System.nanoTime() - sendTimestamp;
+                            metrics.recordResponse(responseTime);
+                            LOGGER.debug("[{}]: Response time for message {} is {} µs", connectionName, messageId,
+                                    TimeUnit.NANOSECONDS.toMicros(responseTime));
+                        }
                     }
                 } catch (final Exception e) {
                     messageStore.clear(e);
@@ -216,19 +302,21 @@ public abstract class VstConnection<T> implements Connection {
             return null;
         });
 
-        if (keepAliveInterval != null) {
-            keepAliveScheduler = Executors.newScheduledThreadPool(1);
-            keepAliveScheduler.scheduleAtFixedRate(this::keepAlive, 0, keepAliveInterval, TimeUnit.SECONDS);
-        }
-
+        lastActivity = System.nanoTime();
+        keepAliveFailCounter.set(0);
+        metricsRegistry.register(metrics);
+        scheduleMaintenance();
     }
 
     @Override
     public synchronized void close() {
-        if (keepAliveScheduler != null) {
-            keepAliveScheduler.shutdown();
+        if (maintenanceTimeout != null) {
+            maintenanceTimeout.cancel();
+            maintenanceTimeout = null;
         }
+        metricsRegistry.unregister(metrics);
         messageStore.clear(new IOException("Connection closed"));
+        sendTimestamps.clear();
         if (executor != null && !executor.isShutdown()) {
             executor.shutdown();
         }
@@ -253,13 +341,15 @@ public abstract class VstConnection<T> implements Connection {
     }
 
     protected synchronized void writeIntern(final Message message, final Collection<Chunk> chunks) {
+        final long start = System.nanoTime();
+        touch(message.getId(), start);
+        sendTimestamps.put(message.getId(), start);
         for (final Chunk chunk : chunks) {
             try {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug(String.format("[%s]: Send chunk %s:%s from message %s", connectionName,
                             chunk.getChunk(),
                             chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
-                    sendTimestamps.put(chunk.getMessageId(), System.currentTimeMillis());
                 }
                 writeChunkHead(chunk);
                 final int contentOffset = chunk.getContentOffset();
@@ -278,9 +368,11 @@ public abstract class VstConnection<T> implements Connection {
                 outputStream.flush();
             } catch (final IOException e) {
                 LOGGER.error("Error on Connection " + connectionName);
+                sendTimestamps.remove(message.getId());
                 throw ArangoDBException.of(e);
             }
         }
+        metrics.recordWrite(System.nanoTime() - start);
     }
 
     private synchronized void writeChunkHead(final Chunk chunk) throws IOException {
@@ -317,7 +409,6 @@ public abstract class VstConnection<T> implements Connection {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(String.format("[%s]: Received chunk %s:%s from message %s", connectionName, chunk.getChunk()
                     , chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
-            LOGGER.debug("[" + connectionName + "]: Responsetime for Message " + chunk.getMessageId() + " is " + (System.currentTimeMillis() - sendTimestamps.get(chunk.getMessageId())));
         }
 
         return chunk;
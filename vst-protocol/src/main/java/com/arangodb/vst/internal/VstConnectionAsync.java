@@ -20,6 +20,7 @@
 
 package com.arangodb.vst.internal;
 
+import com.arangodb.ArangoDBBackpressureException;
 import com.arangodb.PackageVersion;
 import com.arangodb.config.HostDescription;
 import com.arangodb.internal.InternalRequest;
@@ -34,10 +35,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -47,14 +53,24 @@ public class VstConnectionAsync extends VstConnection<CompletableFuture<Message>
     private final static Logger LOGGER = LoggerFactory.getLogger(VstConnectionAsync.class);
     private static final AtomicLong mId = new AtomicLong(0L);
     private static final String X_ARANGO_DRIVER = "JavaDriver/" + PackageVersion.VERSION + " (JVM/" + System.getProperty("java.specification.version") + ")";
+    private static final RequestHeaderEncoder HEADER_ENCODER = new RequestHeaderEncoder(defaultHeaders());
     private final Integer chunkSize;
     private final InternalSerde serde;
+    private final int maxInFlightMessages;
+    private final int maxQueuedMessages;
+    private final AtomicInteger inFlightMessages = new AtomicInteger();
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
 
 
     public VstConnectionAsync(final ArangoConfig config, final HostDescription host) {
         super(config, host);
         chunkSize = config.getChunkSize();
         serde = config.getInternalSerde();
+        maxInFlightMessages = config.getMaxInFlightMessages() != null ? config.getMaxInFlightMessages() : Integer.MAX_VALUE;
+        maxQueuedMessages = config.getMaxQueuedMessages();
+        metrics.setInFlightMessages(inFlightMessages::get);
+        metrics.setQueuedMessages(queuedMessages::get);
     }
 
     @Override
@@ -78,44 +94,139 @@ public class VstConnectionAsync extends VstConnection<CompletableFuture<Message>
     }
 
     @Override
-    protected void doKeepAlive() {
-        sendKeepAlive().join();
+    protected CompletableFuture<Message> doKeepAlive() {
+        return sendKeepAlive();
+    }
+
+    @Override
+    public boolean hasCapacity() {
+        return inFlightMessages.get() < maxInFlightMessages;
     }
 
     @Override
     public CompletableFuture<InternalResponse> executeAsync(final InternalRequest request) {
-        // TODO: refactor using Future composition
         final CompletableFuture<InternalResponse> rfuture = new CompletableFuture<>();
+        final Message message;
         try {
-            final Message message = createMessage(request);
-            send(message).whenComplete((m, ex) -> {
-                if (m != null) {
-                    final InternalResponse response;
-                    try {
-                        response = createResponse(m);
-                    } catch (final Exception e) {
-                        rfuture.completeExceptionally(e);
-                        return;
-                    }
-                    rfuture.complete(response);
-                } else  {
-                    Throwable e = ex instanceof CompletionException ? ex.getCause() : ex;
-                    rfuture.completeExceptionally(e);
-                }
-            });
+            message = createMessage(request);
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage(), e);
+            rfuture.completeExceptionally(e);
+            return rfuture;
+        }
+        if (tryAcquire()) {
+            dispatch(message, rfuture);
+            return rfuture;
+        }
+        if (queuedMessages.incrementAndGet() > maxQueuedMessages) {
+            queuedMessages.decrementAndGet();
+            rfuture.completeExceptionally(new ArangoDBBackpressureException(
+                    "Too many in-flight messages on connection " + metrics.getConnectionName() + " (max: " + maxInFlightMessages
+                            + "), request rejected"));
+            return rfuture;
+        }
+        final Runnable queued = () -> dispatch(message, rfuture);
+        queue.add(queued);
+        // frees the queue slot of requests timing out while queued
+        rfuture.whenComplete((r, e) -> {
+            if (e != null && queue.remove(queued)) {
+                queuedMessages.decrementAndGet();
+            }
+        });
+        // a slot could have been released between tryAcquire() and add()
+        drainQueue();
+        if (timeout == null || timeout == 0L) {
+            return rfuture;
+        } else {
+            return CompletableFutureUtils.orTimeout(rfuture, timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlightMessages.get();
+            if (current >= maxInFlightMessages) {
+                return false;
+            }
+        } while (!inFlightMessages.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void release() {
+        inFlightMessages.decrementAndGet();
+        if (!queue.isEmpty()) {
+            // avoid writing on the reader thread, which completes the response futures
+            BACKGROUND_EXECUTOR.execute(this::drainQueue);
+        }
+    }
+
+    private void drainQueue() {
+        while (!queue.isEmpty() && tryAcquire()) {
+            final Runnable next = queue.poll();
+            if (next == null) {
+                inFlightMessages.decrementAndGet();
+            } else {
+                queuedMessages.decrementAndGet();
+                next.run();
+            }
+        }
+    }
+
+    /**
+     * Sends the message, holding an in-flight slot that is released once the response has been received.
+     */
+    private void dispatch(final Message message, final CompletableFuture<InternalResponse> rfuture) {
+        if (rfuture.isDone()) {
+            // timed out while queued
+            release();
+            return;
+        }
+        final CompletableFuture<Message> sent;
+        try {
+            sent = send(message);
         } catch (Exception e) {
+            release();
             LOGGER.error(e.getMessage(), e);
             rfuture.completeExceptionally(e);
+            return;
         }
-        return rfuture;
+        sent.whenComplete((m, ex) -> {
+            release();
+            if (m != null) {
+                final InternalResponse response;
+                try {
+                    response = createResponse(m);
+                } catch (final Exception e) {
+                    rfuture.completeExceptionally(e);
+                    return;
+                }
+                rfuture.complete(response);
+            } else {
+                Throwable e = ex instanceof CompletionException ? ex.getCause() : ex;
+                rfuture.completeExceptionally(e);
+            }
+        });
+    }
+
+    private static Map<String, String> defaultHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("accept", "application/x-velocypack");
+        headers.put("content-type", "application/x-velocypack");
+        headers.put("x-arango-driver", X_ARANGO_DRIVER);
+        return headers;
     }
 
     private Message createMessage(final InternalRequest request) throws VPackParserException {
-        request.putHeaderParam("accept", "application/x-velocypack");
-        request.putHeaderParam("content-type", "application/x-velocypack");
-        request.putHeaderParam("x-arango-driver", X_ARANGO_DRIVER);
         final long id = mId.incrementAndGet();
-        return new Message(id, serde.serialize(request), request.getBody());
+        final byte[] head;
+        if (request.getClass() == InternalRequest.class) {
+            head = HEADER_ENCODER.encode(request);
+        } else {
+            // authentication requests have custom serializers
+            head = serde.serialize(request);
+        }
+        return new Message(id, head, request.getBody());
     }
 
     private CompletableFuture<Message> send(final Message message) {
@@ -1,5 +1,7 @@
 package com.arangodb.vst.internal.utils;
 
+import com.arangodb.internal.util.HashedWheelTimer;
+
 import java.util.concurrent.*;
 
 public class CompletableFutureUtils {
@@ -7,17 +9,15 @@ public class CompletableFutureUtils {
     private CompletableFutureUtils() {
     }
 
-    private static final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = Executors.defaultThreadFactory().newThread(r);
-                t.setDaemon(true);
-                return t;
-            }
-    );
-
+    /**
+     * Request timeouts are mostly cancelled before expiring, so they are scheduled on a hashed wheel with O(1)
+     * scheduling and cancellation, rather than on a {@link ScheduledExecutorService}, whose delay queue would retain
+     * the cancelled tasks until their deadline.
+     */
     public static <T> CompletableFuture<T> orTimeout(CompletableFuture<T> completableFuture, long timeout, TimeUnit unit) {
-        ScheduledFuture<?> timeoutTask = timeoutScheduler.schedule(() ->
+        HashedWheelTimer.Timeout timeoutTask = HashedWheelTimer.shared().newTimeout(() ->
                 completableFuture.completeExceptionally(new TimeoutException()), timeout, unit);
-        completableFuture.whenComplete((v, e) -> timeoutTask.cancel(false));
+        completableFuture.whenComplete((v, e) -> timeoutTask.cancel());
         return completableFuture;
     }
 